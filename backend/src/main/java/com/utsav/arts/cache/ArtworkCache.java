@@ -0,0 +1,88 @@
+package com.utsav.arts.cache;
+
+import com.utsav.arts.models.ArtCategory;
+import com.utsav.arts.models.Artwork;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * In-process read-through cache for artwork reads.
+ *
+ * <p>Keeps two bounded caches: single artworks by ID and artwork lists by category.
+ * Entries expire after a configurable TTL and are evicted explicitly when an artwork
+ * is written.</p>
+ *
+ * <p>Cached entities are shared between requests and must be treated as read-only.
+ * Write paths load their own managed copy from the repository.</p>
+ */
+@Component
+public class ArtworkCache {
+
+    private final TtlCache<Integer, Artwork> byId;
+    private final TtlCache<ArtCategory, List<Artwork>> byCategory;
+
+    /**
+     * Creates the artwork caches from configuration.
+     *
+     * @param maxArtworks   Maximum number of single artworks kept in memory
+     * @param maxCategories Maximum number of category lists kept in memory
+     * @param ttlSeconds    Time-to-live of each entry in seconds
+     */
+    public ArtworkCache(
+            @Value("${app.cache.artworks.max-entries:5000}") int maxArtworks,
+            @Value("${app.cache.artworks.max-categories:32}") int maxCategories,
+            @Value("${app.cache.artworks.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.byId = new TtlCache<>("artworks.byId", maxArtworks, ttlSeconds * 1000);
+        this.byCategory = new TtlCache<>("artworks.byCategory", maxCategories, ttlSeconds * 1000);
+    }
+
+    /**
+     * Returns the artwork with the given ID, loading it on a miss.
+     * Missing artworks are not cached.
+     *
+     * @param id     Artwork ID
+     * @param loader Loads the artwork from the database
+     * @return Optional containing the artwork if it exists
+     */
+    public Optional<Artwork> findById(int id, Supplier<Optional<Artwork>> loader) {
+        return Optional.ofNullable(byId.get(id, () -> loader.get().orElse(null)));
+    }
+
+    /**
+     * Returns the artworks of a category, loading them on a miss.
+     *
+     * @param category Category to list
+     * @param loader   Loads the artworks from the database
+     * @return Unmodifiable list of artworks in the category
+     */
+    public List<Artwork> findByCategory(ArtCategory category, Supplier<List<Artwork>> loader) {
+        return byCategory.get(category, () -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * Evicts everything derived from the given artwork.
+     * All category lists are dropped because the artwork may have moved between categories.
+     * Callers evict after their write has committed, so a concurrent reader can never
+     * re-cache the row as it was before the write.
+     *
+     * @param id ID of the artwork that was created, updated or deleted
+     */
+    public void evict(int id) {
+        byId.invalidate(id);
+        byCategory.invalidateAll();
+    }
+
+    /**
+     * Returns hit/miss/eviction statistics for both caches.
+     *
+     * @return Statistics snapshot per cache
+     */
+    public List<CacheStats> stats() {
+        return List.of(byId.stats(), byCategory.stats());
+    }
+}
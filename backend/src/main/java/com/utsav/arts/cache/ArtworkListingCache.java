@@ -0,0 +1,279 @@
+package com.utsav.arts.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utsav.arts.mappers.ArtworkMapper;
+import com.utsav.arts.models.ArtCategory;
+import com.utsav.arts.models.Artwork;
+import com.utsav.arts.repository.ArtworkRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Response-level cache for the public artwork listings.
+ *
+ * <p>Holds, per listing (all artworks, or one category), the ready-to-send UTF-8 JSON
+ * array and a strong ETag computed from those bytes. Each artwork is serialized once
+ * into a JSON fragment; a listing body is the concatenation of its fragments in ID order.
+ * When an artwork is written only that artwork's fragment is re-serialized and the
+ * affected listings are re-concatenated, so serving a listing never maps or serializes
+ * entities. Each listing also tracks a Last-Modified time, which only moves forward: it
+ * is the time this node first served the current body, and is carried over unchanged
+ * when a rebuild produces the same body. Deriving it from artwork update times instead
+ * would make it go backwards when the newest artwork is deleted.</p>
+ *
+ * <p>Reads are lock-free. Writes and lazy builds are serialized on this instance;
+ * a build that overlaps a write is discarded instead of installed. Writes reach the cache
+ * from after-commit callbacks, which concurrent transactions may run in any order, so each
+ * fragment keeps the artwork version it was serialized from and a write that is not newer
+ * is ignored. A deleted artwork leaves a tombstone for one TTL, so a late update of it
+ * cannot bring it back.</p>
+ *
+ * <p>Only writes made on this node are applied, so every listing is rebuilt from the
+ * database once it is older than the TTL; that bounds how long writes on other nodes stay
+ * invisible. Listings with more than {@code max-artworks} artworks are served but not
+ * kept, which bounds the memory held to a few listings of that size.</p>
+ */
+@Component
+public class ArtworkListingCache {
+
+    private static final String ALL = "*";
+
+    private final ArtworkRepository artworkRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxArtworks;
+    private final long ttlNanos;
+
+    private final Map<String, Listing> listings = new ConcurrentHashMap<>();
+
+    // Artworks written within the last TTL, guarded by this instance
+    private final Map<Integer, RecentWrite> recentWrites = new HashMap<>();
+
+    // Bumped on every write; builds started under an older generation are discarded
+    private long generation;
+
+    /**
+     * Constructs the listing cache.
+     *
+     * @param artworkRepository Repository used to build a listing on first access
+     * @param objectMapper      Mapper used to serialize artwork fragments
+     * @param maxArtworks       Largest listing kept in memory, in artworks
+     * @param ttlSeconds        Age in seconds after which a listing is rebuilt
+     */
+    public ArtworkListingCache(ArtworkRepository artworkRepository, ObjectMapper objectMapper,
+                               @Value("${app.cache.listings.max-artworks:5000}") int maxArtworks,
+                               @Value("${app.cache.listings.ttl-seconds:60}") long ttlSeconds) {
+        this.artworkRepository = artworkRepository;
+        this.objectMapper = objectMapper;
+        this.maxArtworks = maxArtworks;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    /**
+     * Returns the serialized listing of all artworks.
+     *
+     * @return Serialized body and ETag
+     */
+    public CachedListing findAll() {
+        return get(ALL, null);
+    }
+
+    /**
+     * Returns the serialized listing of one category.
+     *
+     * @param category Category to list
+     * @return Serialized body and ETag
+     */
+    public CachedListing findByCategory(ArtCategory category) {
+        return get(category.name(), category);
+    }
+
+    /**
+     * Applies a created or updated artwork to every loaded listing.
+     * Must be called after the write has committed, with the artwork as committed.
+     * Ignored if a newer version of the artwork, or its deletion, was already applied.
+     *
+     * @param artwork The written artwork
+     */
+    public synchronized void apply(Artwork artwork) {
+        forgetOldWrites();
+        RecentWrite last = recentWrites.get(artwork.getId());
+        if (last != null && (last.deleted() || last.version() >= artwork.getVersion())) {
+            return;
+        }
+        recentWrites.put(artwork.getId(), new RecentWrite(artwork.getVersion(), false, System.nanoTime()));
+
+        generation++;
+        Fragment fragment = new Fragment(artwork.getVersion(), serialize(artwork));
+        for (Map.Entry<String, Listing> entry : listings.entrySet()) {
+            String key = entry.getKey();
+            Listing listing = entry.getValue();
+            Fragment existing = listing.fragments.get(artwork.getId());
+            if (existing != null && existing.version() >= artwork.getVersion()) {
+                // Built from the database after this write committed
+                continue;
+            }
+            if (key.equals(ALL) || key.equals(artwork.getCategory().name())) {
+                listing.fragments.put(artwork.getId(), fragment);
+                if (listing.fragments.size() > maxArtworks) {
+                    // Grew past the bound; rebuilt and served uncached from now on
+                    listings.remove(key);
+                    continue;
+                }
+                listing.assemble(listing.current);
+            } else if (listing.fragments.remove(artwork.getId()) != null) {
+                // The artwork moved to another category
+                listing.assemble(listing.current);
+            }
+        }
+    }
+
+    /**
+     * Removes a deleted artwork from every loaded listing.
+     * Must be called after the delete has committed.
+     *
+     * @param id ID of the deleted artwork
+     */
+    public synchronized void remove(int id) {
+        forgetOldWrites();
+        recentWrites.put(id, new RecentWrite(Long.MAX_VALUE, true, System.nanoTime()));
+
+        generation++;
+        for (Listing listing : listings.values()) {
+            if (listing.fragments.remove(id) != null) {
+                listing.assemble(listing.current);
+            }
+        }
+    }
+
+    // ---------------- INTERNAL ----------------
+
+    /** Drops writes older than the TTL, after which every listing was rebuilt; the caller holds the lock. */
+    private void forgetOldWrites() {
+        long now = System.nanoTime();
+        recentWrites.values().removeIf(write -> now - write.at() >= ttlNanos);
+    }
+
+    private CachedListing get(String key, ArtCategory category) {
+        Listing expired = listings.get(key);
+        if (expired != null) {
+            if (System.nanoTime() - expired.builtAt < ttlNanos) {
+                return expired.current;
+            }
+            synchronized (this) {
+                listings.remove(key, expired);
+            }
+        }
+
+        long buildGeneration;
+        synchronized (this) {
+            buildGeneration = generation;
+        }
+
+        // Build outside the lock so a slow query does not block writers
+        List<Artwork> artworks = category == null
+                ? artworkRepository.findAll()
+                : artworkRepository.findByCategory(category);
+        Listing built = new Listing();
+        for (Artwork artwork : artworks) {
+            built.fragments.put(artwork.getId(), new Fragment(artwork.getVersion(), serialize(artwork)));
+        }
+        built.assemble(expired == null ? null : expired.current);
+
+        synchronized (this) {
+            if (buildGeneration == generation && artworks.size() <= maxArtworks) {
+                Listing existing = listings.putIfAbsent(key, built);
+                return existing != null ? existing.current : built.current;
+            }
+        }
+        // A write raced with this build, or the listing is too large; serve it once but do not keep it
+        return built.current;
+    }
+
+    private byte[] serialize(Artwork artwork) {
+        try {
+            return objectMapper.writeValueAsBytes(ArtworkMapper.toResponseDTO(artwork));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String strongEtag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * The fragments of one listing and its currently published body.
+     */
+    private static class Listing {
+
+        private final TreeMap<Integer, Fragment> fragments = new TreeMap<>();
+        private final long builtAt = System.nanoTime();
+        private volatile CachedListing current;
+
+        private void assemble(CachedListing previous) {
+            int size = 2 + Math.max(0, fragments.size() - 1);
+            for (Fragment fragment : fragments.values()) {
+                size += fragment.json().length;
+            }
+            byte[] body = new byte[size];
+            int pos = 0;
+            body[pos++] = '[';
+            for (Fragment fragment : fragments.values()) {
+                if (pos > 1) {
+                    body[pos++] = ',';
+                }
+                System.arraycopy(fragment.json(), 0, body, pos, fragment.json().length);
+                pos += fragment.json().length;
+            }
+            body[pos] = ']';
+            String etag = strongEtag(body);
+            current = new CachedListing(body, etag, lastModified(previous, etag));
+        }
+
+        private static long lastModified(CachedListing previous, String etag) {
+            if (previous == null) {
+                return truncateToSeconds(System.currentTimeMillis());
+            }
+            if (previous.etag().equals(etag)) {
+                return previous.lastModified();
+            }
+            // Last-Modified has second precision, so each change must move it by at least a second
+            return Math.max(truncateToSeconds(System.currentTimeMillis()), previous.lastModified() + 1000);
+        }
+
+        private static long truncateToSeconds(long millis) {
+            return millis - millis % 1000;
+        }
+    }
+
+    /** One artwork serialized as JSON, with the version it was serialized from. */
+    private record Fragment(long version, byte[] json) {}
+
+    /** The last write of an artwork applied on this node, at {@code System.nanoTime()}. */
+    private record RecentWrite(long version, boolean deleted, long at) {}
+
+    /**
+     * A ready-to-send listing body and its strong ETag.
+     *
+     * @param body         UTF-8 JSON array of artworks
+     * @param etag         Quoted strong entity tag of the body
+     * @param lastModified Epoch millis, whole seconds, of the last change seen by this node
+     */
+    public record CachedListing(byte[] body, String etag, long lastModified) {}
+}
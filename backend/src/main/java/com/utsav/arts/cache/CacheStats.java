@@ -0,0 +1,54 @@
+package com.utsav.arts.cache;
+
+/**
+ * Point-in-time statistics of a {@link TtlCache}.
+ *
+ * <p><strong>Fields:</strong>
+ * <ul>
+ *   <li>name – cache name</li>
+ *   <li>size / maxSize – current and maximum number of entries</li>
+ *   <li>hits / misses – lookups answered from memory / from the database</li>
+ *   <li>evictions – entries dropped because the cache was full</li>
+ *   <li>expirations – entries dropped because their TTL elapsed</li>
+ *   <li>invalidations – entries dropped by explicit eviction after a write</li>
+ *   <li>hitRatio – hits divided by total lookups</li>
+ * </ul>
+ * </p>
+ */
+public class CacheStats {
+
+    private final String name;
+    private final int size;
+    private final int maxSize;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final long invalidations;
+
+    public CacheStats(String name, int size, int maxSize, long hits, long misses,
+                      long evictions, long expirations, long invalidations) {
+        this.name = name;
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.invalidations = invalidations;
+    }
+
+    public String getName() { return name; }
+    public int getSize() { return size; }
+    public int getMaxSize() { return maxSize; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public long getExpirations() { return expirations; }
+    public long getInvalidations() { return invalidations; }
+
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,522 @@
+package com.utsav.arts.cache;
+
+import com.utsav.arts.configurations.CartStoreProperties;
+import com.utsav.arts.models.Artwork;
+import com.utsav.arts.models.Cart;
+import com.utsav.arts.models.CartItem;
+import com.utsav.arts.models.User;
+import com.utsav.arts.repository.CartItemRepository;
+import com.utsav.arts.repository.CartRepository;
+import com.utsav.arts.services.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Optional in-memory write-behind store for active carts.
+ *
+ * <p>With {@code app.cart.store.enabled}, a cart is kept in memory once read, and quantity
+ * changes (set, increase, decrease, remove) are applied in memory only. Changed lines are
+ * written back by {@link #flushDirty()} every flush interval, one statement per line
+ * however often it was clicked. Carts left idle are written back and dropped by
+ * {@link #evictIdle()}. When disabled, every method goes straight to the repositories.</p>
+ *
+ * <p>Writes that bypass the store (adding an artwork, bulk changes, clearing, checkout)
+ * call {@link #writeThrough(int)} or {@link #discard(int)} first, so the database holds
+ * the cart's latest state while they run and the cart is reloaded once they commit.</p>
+ *
+ * <p>Writes on this node drop the carts they affect: the write-through methods above, and
+ * {@link #evictArtwork(int)} when an artwork's price or details change. Writes from
+ * elsewhere (another node, or a statement that bypasses the store) are caught by comparing
+ * the cart's version, and the versions of its artworks, with those it was loaded at, in one
+ * indexed query. That check runs on a read at most once per {@code revalidate-interval}, so
+ * clicks in between are served from memory alone; a cart that fails it is written back and
+ * reloaded. Independently of that check, a cart is reloaded once it was loaded more than
+ * {@code max-age} ago, however often it is used.</p>
+ *
+ * <p>Returned carts and items are fresh copies; their artworks and users are shared
+ * between requests and must be treated as read-only. Changes held in memory are only
+ * visible to the node holding them until they are written back, so the store should only
+ * be enabled on a single node or behind sticky sessions.</p>
+ */
+@Component
+public class CartStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartStore.class);
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final CartStoreProperties properties;
+
+    private final ConcurrentHashMap<Integer, CartEntry> carts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Integer> cartIdByUser = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Integer> cartIdByItem = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CartStore(CartRepository cartRepository, CartItemRepository cartItemRepository,
+                     CartStoreProperties properties) {
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Tells whether carts are kept in memory.
+     *
+     * @return true if the store is enabled
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // ---------------- READS ----------------
+
+    /**
+     * Returns a cart with its items, loading it into memory on a miss.
+     *
+     * @param cartId Cart ID
+     * @return Optional containing the cart if it exists
+     */
+    public Optional<Cart> findById(int cartId) {
+        if (!isEnabled()) return cartRepository.findById(cartId);
+        return Optional.ofNullable(entry(cartId)).map(CartStore::snapshot);
+    }
+
+    /**
+     * Returns the cart of a user, loading it into memory on a miss.
+     *
+     * @param userId User ID
+     * @return Optional containing the cart if the user has one
+     */
+    public Optional<Cart> findByUserId(int userId) {
+        if (!isEnabled()) return cartRepository.findByUserId(userId);
+
+        Integer cartId = cartIdByUser.get(userId);
+        if (cartId != null) {
+            return findById(cartId);
+        }
+        misses.incrementAndGet();
+        return cartRepository.findByUserId(userId).map(this::admit).map(CartStore::snapshot);
+    }
+
+    /**
+     * Returns a cart item, as part of its cart loaded into memory.
+     *
+     * @param itemId Cart item ID
+     * @return Optional containing the item if it exists
+     */
+    public Optional<CartItem> findItem(int itemId) {
+        if (!isEnabled()) return cartItemRepository.findById(itemId);
+
+        Integer cartId = cartIdOfItem(itemId);
+        if (cartId == null) return Optional.empty();
+        return findById(cartId).flatMap(cart -> cart.getItems().stream()
+                .filter(item -> item.getId() == itemId)
+                .findFirst());
+    }
+
+    /**
+     * Returns the items of a cart.
+     *
+     * @param cartId Cart ID
+     * @return Items of the cart, empty if it does not exist
+     */
+    public List<CartItem> findItemsByCartId(int cartId) {
+        if (!isEnabled()) return cartItemRepository.findByCartId(cartId);
+        return findById(cartId).map(Cart::getItems).orElse(List.of());
+    }
+
+    /**
+     * Returns the ID of the user owning a cart, from memory if the cart is held there and
+     * otherwise with a lookup of the owner column only.
+     *
+     * @param cartId Cart ID
+     * @return Optional containing the owner's user ID if the cart exists
+     */
+    public Optional<Integer> findOwnerId(int cartId) {
+        CartEntry entry = carts.get(cartId);
+        if (entry != null) {
+            return Optional.of(entry.user.getId());
+        }
+        return cartRepository.findOwnerId(cartId);
+    }
+
+    /**
+     * Returns the ID of the user owning a cart item, from memory if its cart is held there
+     * and otherwise with a lookup of the owner column only.
+     *
+     * @param itemId Cart item ID
+     * @return Optional containing the owner's user ID if the cart item exists
+     */
+    public Optional<Integer> findItemOwnerId(int itemId) {
+        Integer cartId = cartIdByItem.get(itemId);
+        CartEntry entry = cartId == null ? null : carts.get(cartId);
+        if (entry != null) {
+            return Optional.of(entry.user.getId());
+        }
+        return cartItemRepository.findOwnerId(itemId);
+    }
+
+    // ---------------- QUANTITY CHANGES ----------------
+
+    /**
+     * Sets a cart item's quantity; zero removes the item.
+     *
+     * @param itemId   Cart item ID
+     * @param quantity New quantity
+     * @return true if the cart item exists
+     * @see CartItemRepository#setQuantity(int, int)
+     */
+    public boolean setQuantity(int itemId, int quantity) {
+        if (!isEnabled()) return cartItemRepository.setQuantity(itemId, quantity);
+        return changeQuantity(itemId, current -> quantity);
+    }
+
+    /**
+     * Changes a cart item's quantity by {@code delta}; the item is removed at zero.
+     *
+     * @param itemId Cart item ID
+     * @param delta  Quantity change (may be negative)
+     * @return true if the cart item exists
+     * @see CartItemRepository#adjustQuantity(int, int)
+     */
+    public boolean adjustQuantity(int itemId, int delta) {
+        if (!isEnabled()) return cartItemRepository.adjustQuantity(itemId, delta);
+        return changeQuantity(itemId, current -> current + delta);
+    }
+
+    // ---------------- WRITE-THROUGH ----------------
+
+    /**
+     * Writes a cart's pending changes to the database now and drops the cart from memory
+     * once the current transaction commits. Called before writing the cart directly.
+     *
+     * @param cartId Cart ID
+     * @throws RuntimeException if the pending changes cannot be written
+     */
+    public void writeThrough(int cartId) {
+        if (!isEnabled()) return;
+
+        CartEntry entry = carts.get(cartId);
+        if (entry != null) {
+            synchronized (entry) {
+                writeBack(entry);
+            }
+        }
+        TransactionCallbacks.afterCommit(() -> evict(cartId, invalidations));
+    }
+
+    /**
+     * Same as {@link #writeThrough(int)} for the cart of a user, e.g. before checkout.
+     *
+     * @param userId User ID
+     */
+    public void writeThroughUser(int userId) {
+        if (!isEnabled()) return;
+
+        Integer cartId = cartIdByUser.get(userId);
+        if (cartId != null) {
+            writeThrough(cartId);
+        }
+    }
+
+    /**
+     * Drops a cart's pending changes and the cart itself once the current transaction
+     * commits. Called before clearing or deleting the cart. If the transaction rolls back,
+     * the pending changes are kept and written back as usual.
+     *
+     * @param cartId Cart ID
+     */
+    public void discard(int cartId) {
+        if (!isEnabled()) return;
+
+        TransactionCallbacks.afterCommit(() -> {
+            CartEntry entry = carts.get(cartId);
+            if (entry != null) {
+                synchronized (entry) {
+                    entry.pending.clear();
+                }
+            }
+            evict(cartId, invalidations);
+        });
+    }
+
+    /**
+     * Drops every held cart containing an artwork once the current transaction commits,
+     * writing back its pending changes, so the next read shows the artwork's new price.
+     * Called when an artwork is updated.
+     *
+     * @param artworkId Artwork ID
+     */
+    public void evictArtwork(int artworkId) {
+        if (!isEnabled()) return;
+
+        TransactionCallbacks.afterCommit(() -> {
+            for (CartEntry entry : carts.values()) {
+                boolean contains;
+                synchronized (entry) {
+                    contains = entry.lines.values().stream().anyMatch(line -> line.artwork().getId() == artworkId);
+                }
+                if (contains) {
+                    evict(entry.cartId, invalidations);
+                }
+            }
+        });
+    }
+
+    // ---------------- WRITE-BEHIND ----------------
+
+    /**
+     * Writes the pending changes of every cart back to the database. A cart that fails
+     * keeps its changes and is retried on the next flush.
+     *
+     * @return Number of carts written
+     */
+    public int flushDirty() {
+        int flushed = 0;
+        for (CartEntry entry : carts.values()) {
+            synchronized (entry) {
+                if (entry.removed || entry.pending.isEmpty()) continue;
+                try {
+                    writeBack(entry);
+                    flushed++;
+                } catch (RuntimeException e) {
+                    logger.warn("Could not write back cart {}, retrying on next flush", entry.cartId, e);
+                }
+            }
+        }
+        return flushed;
+    }
+
+    /**
+     * Writes back and drops carts idle for longer than the idle TTL or loaded longer ago
+     * than the max age, then the least recently used carts while more than the maximum
+     * are kept.
+     *
+     * @return Number of carts dropped
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        long idleCutoff = now - properties.getIdleTtl().toNanos();
+        long ageCutoff = now - properties.getMaxAge().toNanos();
+        List<CartEntry> entries = new ArrayList<>(carts.values());
+
+        int evicted = 0;
+        for (CartEntry entry : entries) {
+            boolean expired = entry.lastAccess - idleCutoff < 0 || entry.loadedAt - ageCutoff < 0;
+            if (expired && evict(entry.cartId, expirations)) {
+                evicted++;
+            }
+        }
+
+        int overflow = carts.size() - properties.getMaxCarts();
+        if (overflow > 0) {
+            entries.sort(Comparator.comparingLong(entry -> entry.lastAccess));
+            for (CartEntry entry : entries) {
+                if (overflow <= 0) break;
+                if (evict(entry.cartId, evictions)) {
+                    evicted++;
+                    overflow--;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Returns hit/miss/eviction statistics of the store.
+     *
+     * @return Statistics snapshot
+     */
+    public CacheStats stats() {
+        return new CacheStats("carts", carts.size(), properties.getMaxCarts(), hits.get(), misses.get(),
+                evictions.get(), expirations.get(), invalidations.get());
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        if (carts.isEmpty()) return;
+        logger.info("Wrote back {} carts on shutdown", flushDirty());
+    }
+
+    // ---------------- INTERNAL ----------------
+
+    /**
+     * Returns the cart's entry, loading the cart on a miss; null if the cart does not exist.
+     * A held entry that is too old, or found out of date when revalidated, is written back
+     * and reloaded.
+     */
+    private CartEntry entry(int cartId) {
+        CartEntry entry = carts.get(cartId);
+        if (entry != null) {
+            long now = System.nanoTime();
+            if (now - entry.loadedAt >= properties.getMaxAge().toNanos()) {
+                evict(cartId, expirations);
+            } else if (now - entry.validatedAt < properties.getRevalidateInterval().toNanos() || isCurrent(entry)) {
+                hits.incrementAndGet();
+                entry.lastAccess = now;
+                return entry;
+            } else {
+                evict(cartId, invalidations);
+            }
+        }
+        misses.incrementAndGet();
+        return cartRepository.findById(cartId).map(this::admit).orElse(null);
+    }
+
+    /** Tells whether neither the cart nor any artwork in it was written since the entry was loaded. */
+    private boolean isCurrent(CartEntry entry) {
+        long version;
+        List<Integer> artworkIds = new ArrayList<>();
+        long artworkVersions = 0;
+        synchronized (entry) {
+            if (entry.removed) return false;
+            version = entry.version;
+            for (Line line : entry.lines.values()) {
+                artworkIds.add(line.artwork().getId());
+                artworkVersions += line.artwork().getVersion();
+            }
+        }
+        long expectedArtworkVersions = artworkVersions;
+        long checkedAt = System.nanoTime();
+        boolean current = cartRepository.findVersion(entry.cartId, artworkIds)
+                .map(found -> found.cart() == version && found.artworks() == expectedArtworkVersions)
+                .orElse(false);
+        if (current) {
+            entry.validatedAt = checkedAt;
+        }
+        return current;
+    }
+
+    /** Adds a loaded cart, unless a concurrent load won; the kept entry is returned. */
+    private CartEntry admit(Cart cart) {
+        return carts.computeIfAbsent(cart.getId(), id -> {
+            CartEntry entry = new CartEntry(cart);
+            cartIdByUser.put(entry.user.getId(), id);
+            entry.lines.keySet().forEach(itemId -> cartIdByItem.put(itemId, id));
+            return entry;
+        });
+    }
+
+    private Integer cartIdOfItem(int itemId) {
+        Integer cartId = cartIdByItem.get(itemId);
+        if (cartId != null) return cartId;
+        return cartItemRepository.findCartId(itemId).orElse(null);
+    }
+
+    private boolean changeQuantity(int itemId, IntUnaryOperator change) {
+        Integer cartId = cartIdOfItem(itemId);
+        if (cartId == null) return false;
+
+        // Retried if the entry is evicted between lookup and lock
+        while (true) {
+            CartEntry entry = entry(cartId);
+            if (entry == null) return false;
+            synchronized (entry) {
+                if (entry.removed) continue;
+
+                Line line = entry.lines.get(itemId);
+                if (line == null) return false;
+                int quantity = Math.max(change.applyAsInt(line.quantity()), 0);
+                if (quantity == 0) {
+                    entry.lines.remove(itemId);
+                    cartIdByItem.remove(itemId, cartId);
+                } else {
+                    entry.lines.put(itemId, new Line(line.artwork(), quantity));
+                }
+                entry.pending.put(itemId, quantity);
+                return true;
+            }
+        }
+    }
+
+    /** Writes the entry's pending changes; the caller holds the entry's lock. */
+    private void writeBack(CartEntry entry) {
+        if (entry.pending.isEmpty()) return;
+        // Item ID order, so concurrent write-backs lock rows in the same order.
+        // Each written item bumps the cart version; any other bump is a write from elsewhere
+        entry.version += cartItemRepository.writeQuantities(new TreeMap<>(entry.pending));
+        entry.pending.clear();
+    }
+
+    /** Writes back and drops a cart. A cart that cannot be written back is kept. */
+    private boolean evict(int cartId, AtomicLong counter) {
+        CartEntry entry = carts.get(cartId);
+        if (entry == null) return false;
+        synchronized (entry) {
+            if (entry.removed) return false;
+            try {
+                writeBack(entry);
+            } catch (RuntimeException e) {
+                logger.warn("Could not write back cart {}, keeping it in memory", cartId, e);
+                return false;
+            }
+            entry.removed = true;
+            carts.remove(cartId, entry);
+            cartIdByUser.remove(entry.user.getId(), cartId);
+            entry.lines.keySet().forEach(itemId -> cartIdByItem.remove(itemId, cartId));
+        }
+        counter.incrementAndGet();
+        return true;
+    }
+
+    private static Cart snapshot(CartEntry entry) {
+        synchronized (entry) {
+            return entry.toCart();
+        }
+    }
+
+    /** A cart held in memory; guarded by its own lock. */
+    private static final class CartEntry {
+        final int cartId;
+        final User user;
+        final Map<Integer, Line> lines = new LinkedHashMap<>();
+        final Map<Integer, Integer> pending = new HashMap<>(); // item ID -> quantity, 0 = delete
+        final long loadedAt = System.nanoTime();
+        volatile long lastAccess = loadedAt;
+        volatile long validatedAt = loadedAt;
+        long version; // Cart version matching the lines held, once pending changes are written
+        boolean removed;
+
+        CartEntry(Cart cart) {
+            this.cartId = cart.getId();
+            this.user = cart.getUser();
+            this.version = cart.getVersion();
+            for (CartItem item : cart.getItems()) {
+                lines.put(item.getId(), new Line(item.getArtwork(), item.getQuantity()));
+            }
+        }
+
+        Cart toCart() {
+            Cart cart = new Cart(user);
+            cart.setId(cartId);
+            lines.forEach((itemId, line) -> {
+                CartItem item = new CartItem(cart, line.artwork(), line.quantity());
+                item.setId(itemId);
+                cart.getItems().add(item);
+            });
+            cart.recalculateTotals();
+            return cart;
+        }
+    }
+
+    private record Line(Artwork artwork, int quantity) {}
+}
@@ -0,0 +1,134 @@
+package com.utsav.arts.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Small in-process read-through cache with a hard size bound and a per-entry time-to-live.
+ *
+ * <p>Entries are kept in access order, so when the cache is full the least recently
+ * used entry is evicted. Loads run outside the lock; a load that overlaps an
+ * invalidation is returned to its caller but not stored, so a write can never be
+ * followed by a stale value being cached.</p>
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public class TtlCache<K, V> {
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    // Bumped on every invalidation; loads started under an older generation are not stored
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Creates a cache.
+     *
+     * @param name       Name reported in the statistics
+     * @param maxEntries Maximum number of entries kept before the least recently used is evicted
+     * @param ttlMillis  Time-to-live of each entry in milliseconds
+     */
+    public TtlCache(String name, int maxEntries, long ttlMillis) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached value for the key, loading and caching it on a miss.
+     * A {@code null} result from the loader is returned but never cached.
+     *
+     * @param key    Cache key
+     * @param loader Loads the value from the backing store
+     * @return The cached or freshly loaded value, possibly null
+     */
+    public V get(K key, Supplier<V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.loadedAt < ttlNanos) {
+                    hits.incrementAndGet();
+                    return entry.value;
+                }
+                entries.remove(key);
+                expirations.incrementAndGet();
+            }
+            loadGeneration = generation;
+        }
+
+        misses.incrementAndGet();
+        V value = loader.get();
+        if (value == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                entries.put(key, new Entry<>(value, System.nanoTime()));
+                evictOverflow();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes a single key.
+     *
+     * @param key Cache key
+     */
+    public synchronized void invalidate(K key) {
+        generation++;
+        if (entries.remove(key) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return Current statistics
+     */
+    public CacheStats stats() {
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return new CacheStats(name, size, maxEntries, hits.get(), misses.get(),
+                evictions.get(), expirations.get(), invalidations.get());
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAt) {}
+}
@@ -0,0 +1,64 @@
+package com.utsav.arts.configurations;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the bulk artwork import.
+ *
+ * <p>
+ * Image uploads of all running imports share one pool of {@code concurrency} threads,
+ * and still count against the global {@code app.upload.max-concurrent} limit. Artworks are inserted
+ * in transactions of {@code batch-size} rows.
+ * </p>
+ *
+ * <p>
+ * Example configuration:
+ * <pre>
+ * app.import.concurrency=4
+ * app.import.batch-size=50
+ * app.import.max-rows=2000
+ * app.import.max-archive-size=2GB
+ * app.import.max-image-size=30MB
+ * </pre>
+ * </p>
+ */
+@Component
+@ConfigurationProperties(prefix = "app.import")
+@Validated
+public class ArtworkImportProperties {
+
+    @Min(1)
+    private int concurrency = 4;
+
+    @Min(1)
+    private int batchSize = 50;
+
+    @Min(1)
+    private int maxRows = 2000;
+
+    @NotNull
+    private DataSize maxArchiveSize = DataSize.ofGigabytes(2);
+
+    @NotNull
+    private DataSize maxImageSize = DataSize.ofMegabytes(30);
+
+    public int getConcurrency() { return concurrency; }
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public int getMaxRows() { return maxRows; }
+    public void setMaxRows(int maxRows) { this.maxRows = maxRows; }
+
+    public DataSize getMaxArchiveSize() { return maxArchiveSize; }
+    public void setMaxArchiveSize(DataSize maxArchiveSize) { this.maxArchiveSize = maxArchiveSize; }
+
+    public DataSize getMaxImageSize() { return maxImageSize; }
+    public void setMaxImageSize(DataSize maxImageSize) { this.maxImageSize = maxImageSize; }
+}
@@ -0,0 +1,75 @@
+package com.utsav.arts.configurations;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-memory write-behind cart store.
+ *
+ * <p>
+ * When enabled, active carts are served from memory and quantity changes are written
+ * back to the database every {@code flushInterval}. Carts untouched for {@code idleTtl}
+ * are written back and dropped; beyond {@code maxCarts}, the least recently used are.
+ * A held cart is checked against the database at most once per {@code revalidateInterval},
+ * and reloaded once it was loaded {@code maxAge} ago however often it is used.
+ * The store is per process, so it must only be enabled on a single node or behind
+ * sticky sessions.
+ * </p>
+ *
+ * <p>
+ * Example configuration:
+ * <pre>
+ * app.cart.store.enabled=true
+ * app.cart.store.flush-interval=5s
+ * app.cart.store.idle-ttl=30m
+ * app.cart.store.revalidate-interval=2s
+ * app.cart.store.max-age=5m
+ * app.cart.store.max-carts=10000
+ * </pre>
+ * </p>
+ */
+@Component
+@ConfigurationProperties(prefix = "app.cart.store")
+@Validated
+public class CartStoreProperties {
+
+    private boolean enabled = false;                           // Off: every cart operation hits the database
+
+    @NotNull
+    private Duration flushInterval = Duration.ofSeconds(5);    // Longest a change stays memory-only
+
+    @NotNull
+    private Duration idleTtl = Duration.ofMinutes(30);         // Idle carts are written back and dropped
+
+    @NotNull
+    private Duration revalidateInterval = Duration.ofSeconds(2); // Longest a write from elsewhere goes unseen
+
+    @NotNull
+    private Duration maxAge = Duration.ofMinutes(5);           // Active carts are reloaded at least this often
+
+    @Min(1)
+    private int maxCarts = 10_000;                             // Soft bound, enforced every flush
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getFlushInterval() { return flushInterval; }
+    public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+
+    public Duration getIdleTtl() { return idleTtl; }
+    public void setIdleTtl(Duration idleTtl) { this.idleTtl = idleTtl; }
+
+    public Duration getRevalidateInterval() { return revalidateInterval; }
+    public void setRevalidateInterval(Duration revalidateInterval) { this.revalidateInterval = revalidateInterval; }
+
+    public Duration getMaxAge() { return maxAge; }
+    public void setMaxAge(Duration maxAge) { this.maxAge = maxAge; }
+
+    public int getMaxCarts() { return maxCarts; }
+    public void setMaxCarts(int maxCarts) { this.maxCarts = maxCarts; }
+}
@@ -0,0 +1,65 @@
+package com.utsav.arts.configurations;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for HTTP caching of the public read-only endpoints.
+ *
+ * <p>
+ * Each property is the {@code max-age} sent in the {@code Cache-Control} header of one
+ * endpoint group. A zero duration sends {@code no-cache}, which still lets clients keep
+ * the body and revalidate it with {@code If-None-Match}.
+ * </p>
+ *
+ * <p>
+ * Example configuration:
+ * <pre>
+ * app.http-cache.artwork-max-age=60s
+ * app.http-cache.listing-max-age=30s
+ * app.http-cache.page-max-age=30s
+ * app.http-cache.metadata-max-age=1d
+ * </pre>
+ * </p>
+ */
+@Component
+@ConfigurationProperties(prefix = "app.http-cache")
+@Validated
+public class HttpCacheProperties {
+
+    private Duration artworkMaxAge = Duration.ofSeconds(60);   // GET /api/artworks/{id}
+    private Duration listingMaxAge = Duration.ofSeconds(30);   // GET /api/artworks, /category/{category}
+    private Duration pageMaxAge = Duration.ofSeconds(30);      // GET /api/artworks/page
+    private Duration metadataMaxAge = Duration.ofDays(1);      // GET /api/meta/art-categories
+
+    public Duration getArtworkMaxAge() { return artworkMaxAge; }
+    public void setArtworkMaxAge(Duration artworkMaxAge) { this.artworkMaxAge = artworkMaxAge; }
+
+    public Duration getListingMaxAge() { return listingMaxAge; }
+    public void setListingMaxAge(Duration listingMaxAge) { this.listingMaxAge = listingMaxAge; }
+
+    public Duration getPageMaxAge() { return pageMaxAge; }
+    public void setPageMaxAge(Duration pageMaxAge) { this.pageMaxAge = pageMaxAge; }
+
+    public Duration getMetadataMaxAge() { return metadataMaxAge; }
+    public void setMetadataMaxAge(Duration metadataMaxAge) { this.metadataMaxAge = metadataMaxAge; }
+
+    public CacheControl artwork() { return toCacheControl(artworkMaxAge); }
+
+    public CacheControl listing() { return toCacheControl(listingMaxAge); }
+
+    public CacheControl page() { return toCacheControl(pageMaxAge); }
+
+    public CacheControl metadata() { return toCacheControl(metadataMaxAge); }
+
+    private static CacheControl toCacheControl(Duration maxAge) {
+        if (maxAge == null || maxAge.isZero() || maxAge.isNegative()) {
+            return CacheControl.noCache();
+        }
+        return CacheControl.maxAge(maxAge).cachePublic();
+    }
+}
@@ -0,0 +1,44 @@
+package com.utsav.arts.configurations;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the automatic cancellation of unpaid orders.
+ *
+ * <p>
+ * A PENDING order older than {@code pendingTtl} is cancelled and its reserved stock is
+ * released. Orders are cancelled {@code batchSize} at a time, one short transaction each.
+ * </p>
+ *
+ * <p>
+ * Example configuration:
+ * <pre>
+ * app.orders.expiry.interval=1m
+ * app.orders.expiry.pending-ttl=30m
+ * app.orders.expiry.batch-size=200
+ * </pre>
+ * </p>
+ */
+@Component
+@ConfigurationProperties(prefix = "app.orders.expiry")
+@Validated
+public class OrderExpiryProperties {
+
+    @NotNull
+    private Duration pendingTtl = Duration.ofMinutes(30);      // Time allowed to complete payment
+
+    @Min(1)
+    private int batchSize = 200;                               // Orders cancelled per transaction
+
+    public Duration getPendingTtl() { return pendingTtl; }
+    public void setPendingTtl(Duration pendingTtl) { this.pendingTtl = pendingTtl; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+}
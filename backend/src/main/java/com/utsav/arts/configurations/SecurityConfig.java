@@ -36,6 +36,7 @@ import java.util.Map;
  *     <li>/api/users (POST) → OWNER only</li>
  *     <li>/api/users/** (GET) → public</li>
  *     <li>/api/stripe/webhook → public</li>
+ *     <li>/api/files/** (GET) → public (locally stored images)</li>
  *     <li>All other endpoints → authenticated users only</li>
  * </ul>
  */
@@ -125,6 +126,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/artworks/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/files/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/users/register").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/users/verify").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/users/resend-verification").permitAll()
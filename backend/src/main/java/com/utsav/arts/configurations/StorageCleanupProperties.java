@@ -0,0 +1,84 @@
+package com.utsav.arts.configurations;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the background deletion of orphaned stored files.
+ *
+ * <p>
+ * Failed deletes are retried after {@code initialBackoff}, doubling per attempt up to
+ * {@code maxBackoff}, until {@code maxAttempts} is reached.
+ * </p>
+ *
+ * <p>
+ * Example configuration:
+ * <pre>
+ * app.storage.cleanup.interval=30s
+ * app.storage.cleanup.batch-size=100
+ * app.storage.cleanup.lease=5m
+ * app.storage.cleanup.max-attempts=10
+ * app.storage.cleanup.initial-backoff=30s
+ * app.storage.cleanup.max-backoff=6h
+ * app.storage.cleanup.orphan-grace=15m
+ * </pre>
+ * </p>
+ */
+@Component
+@ConfigurationProperties(prefix = "app.storage.cleanup")
+@Validated
+public class StorageCleanupProperties {
+
+    @Min(1)
+    private int batchSize = 100;                               // Deletions claimed per run
+
+    @NotNull
+    private Duration lease = Duration.ofMinutes(5);            // Exclusive claim on a batch
+
+    @Min(1)
+    private int maxAttempts = 10;
+
+    @NotNull
+    private Duration initialBackoff = Duration.ofSeconds(30);
+
+    @NotNull
+    private Duration maxBackoff = Duration.ofHours(6);
+
+    @NotNull
+    private Duration orphanGrace = Duration.ofMinutes(15);     // Upload-to-persist window before reclaiming
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public Duration getLease() { return lease; }
+    public void setLease(Duration lease) { this.lease = lease; }
+
+    public int getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+
+    public Duration getInitialBackoff() { return initialBackoff; }
+    public void setInitialBackoff(Duration initialBackoff) { this.initialBackoff = initialBackoff; }
+
+    public Duration getMaxBackoff() { return maxBackoff; }
+    public void setMaxBackoff(Duration maxBackoff) { this.maxBackoff = maxBackoff; }
+
+    public Duration getOrphanGrace() { return orphanGrace; }
+    public void setOrphanGrace(Duration orphanGrace) { this.orphanGrace = orphanGrace; }
+
+    /**
+     * Delay before the next attempt after {@code attempts} failed ones (1-based).
+     *
+     * @param attempts number of failed attempts so far
+     * @return exponential backoff, capped at {@code maxBackoff}
+     */
+    public Duration backoffAfter(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
@@ -0,0 +1,60 @@
+package com.utsav.arts.configurations;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the purge of accounts that were never verified.
+ *
+ * <p>
+ * Accounts still unverified {@code unverifiedTtl} after sign-up are deleted
+ * {@code batchSize} at a time. The purge runs on one node at a time: the scheduler lock
+ * is held for at most {@code lockAtMostFor} if the node dies, and for at least
+ * {@code lockAtLeastFor} so replicas whose clocks fire late do not run it again.
+ * </p>
+ *
+ * <p>
+ * Example configuration:
+ * <pre>
+ * app.users.cleanup.cron=0 0 0 * * ?
+ * app.users.cleanup.unverified-ttl=24h
+ * app.users.cleanup.batch-size=500
+ * app.users.cleanup.lock-at-most-for=1h
+ * app.users.cleanup.lock-at-least-for=1m
+ * </pre>
+ * </p>
+ */
+@Component
+@ConfigurationProperties(prefix = "app.users.cleanup")
+@Validated
+public class UserCleanupProperties {
+
+    @NotNull
+    private Duration unverifiedTtl = Duration.ofHours(24);     // Time allowed to verify an account
+
+    @Min(1)
+    private int batchSize = 500;                               // Accounts deleted per transaction
+
+    @NotNull
+    private Duration lockAtMostFor = Duration.ofHours(1);      // Lock expiry if the owning node dies
+
+    @NotNull
+    private Duration lockAtLeastFor = Duration.ofMinutes(1);   // Minimum hold after a run finishes
+
+    public Duration getUnverifiedTtl() { return unverifiedTtl; }
+    public void setUnverifiedTtl(Duration unverifiedTtl) { this.unverifiedTtl = unverifiedTtl; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public Duration getLockAtMostFor() { return lockAtMostFor; }
+    public void setLockAtMostFor(Duration lockAtMostFor) { this.lockAtMostFor = lockAtMostFor; }
+
+    public Duration getLockAtLeastFor() { return lockAtLeastFor; }
+    public void setLockAtLeastFor(Duration lockAtLeastFor) { this.lockAtLeastFor = lockAtLeastFor; }
+}
@@ -1,36 +1,77 @@
 package com.utsav.arts.controllers;
 
+import com.utsav.arts.cache.ArtworkCache;
+import com.utsav.arts.cache.CacheStats;
+import com.utsav.arts.cache.CartStore;
+import com.utsav.arts.configurations.HttpCacheProperties;
 import com.utsav.arts.models.ArtCategory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 /**
  * Controller that provides metadata endpoints related to artworks.
  *
- * <p>Currently, it provides a list of all available art categories.
+ * <p>Provides a list of all available art categories and the artwork and cart cache statistics.
  *
  * <p>Endpoints:
  * <ul>
  *     <li>GET /api/meta/art-categories → Returns list of all ArtCategory enum names</li>
+ *     <li>GET /api/meta/cache-stats → Returns artwork and cart cache hit/miss/eviction counters (OWNER only)</li>
  * </ul>
  */
 @RestController
 @RequestMapping("/api/meta")
 public class ArtMetadataController {
 
+    // The category list only changes with a deployment, so it gets a fixed ETag
+    private static final List<String> ART_CATEGORIES = Arrays.stream(ArtCategory.values())
+            .map(Enum::name)
+            .toList();
+    private static final String ART_CATEGORIES_ETAG =
+            "categories-" + Integer.toHexString(ART_CATEGORIES.hashCode());
+
+    private final ArtworkCache artworkCache;
+    private final CartStore cartStore;
+    private final HttpCacheProperties httpCacheProperties;
+
+    public ArtMetadataController(ArtworkCache artworkCache, CartStore cartStore,
+                                 HttpCacheProperties httpCacheProperties) {
+        this.artworkCache = artworkCache;
+        this.cartStore = cartStore;
+        this.httpCacheProperties = httpCacheProperties;
+    }
+
     /**
      * Retrieves all available art categories.
+     * Sent with a long-lived Cache-Control policy and a fixed ETag for revalidation.
      *
      * @return List of art category names as strings
      */
     @GetMapping("/art-categories")
-    public List<String> getArtCategories() {
-        return Arrays.stream(ArtCategory.values())
-                .map(Enum::name)
-                .toList();
+    public ResponseEntity<List<String>> getArtCategories() {
+        return ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.metadata())
+                .eTag(ART_CATEGORIES_ETAG)
+                .body(ART_CATEGORIES);
+    }
+
+    /**
+     * Retrieves the statistics of the in-process artwork caches and the cart store.
+     *
+     * @return One statistics entry per cache
+     */
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('OWNER')")
+    public List<CacheStats> getCacheStats() {
+        List<CacheStats> stats = new ArrayList<>(artworkCache.stats());
+        stats.add(cartStore.stats());
+        return stats;
     }
 }
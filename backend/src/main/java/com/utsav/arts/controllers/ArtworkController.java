@@ -1,10 +1,27 @@
 package com.utsav.arts.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utsav.arts.cache.ArtworkListingCache;
+import com.utsav.arts.cache.ArtworkListingCache.CachedListing;
+import com.utsav.arts.configurations.HttpCacheProperties;
+import com.utsav.arts.dtos.artworkDTO.ArtworkImportEventDTO;
+import com.utsav.arts.dtos.artworkDTO.ArtworkPageResponseDTO;
 import com.utsav.arts.dtos.artworkDTO.ArtworkRequestDTO;
 import com.utsav.arts.dtos.artworkDTO.ArtworkResponseDTO;
+import com.utsav.arts.dtos.artworkDTO.ArtworkSearchResponseDTO;
+import com.utsav.arts.dtos.artworkDTO.ArtworkStockDTO;
+import com.utsav.arts.dtos.artworkDTO.ArtworkSummaryDTO;
+import com.utsav.arts.exceptions.InvalidRequestException;
 import com.utsav.arts.exceptions.ResourceNotFoundException;
 import com.utsav.arts.mappers.ArtworkMapper;
+import com.utsav.arts.models.ArtCategory;
 import com.utsav.arts.models.Artwork;
+import com.utsav.arts.models.ArtworkSort;
+import com.utsav.arts.repository.ArtworkPageQuery;
+import com.utsav.arts.services.ArtworkImportJob;
+import com.utsav.arts.services.ArtworkImportService;
+import com.utsav.arts.services.ArtworkPage;
+import com.utsav.arts.services.ArtworkSearchResult;
 import com.utsav.arts.services.ArtworkService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -13,8 +30,20 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -23,13 +52,23 @@ import java.util.stream.Collectors;
  * <p>Provides CRUD operations for artworks, including creation, update, retrieval, and deletion.
  * Certain operations are restricted to users with the OWNER role.
  *
+ * <p>Read endpoints send a configurable {@code Cache-Control} policy (see {@link HttpCacheProperties}).
+ * Single artworks carry a version-based ETag and Last-Modified; listings carry a content-based
+ * ETag and a Last-Modified that never moves backwards; keyset pages carry a weak ETag over
+ * their items' versions. Conditional requests that still match are answered with 304 Not Modified.
+ *
  * <p>Endpoints:
  * <ul>
  *     <li>POST /api/artworks → Create a new artwork (OWNER only)</li>
+ *     <li>POST /api/artworks/import → Bulk import artworks from a ZIP archive, streaming NDJSON progress (OWNER only)</li>
  *     <li>PUT /api/artworks/{id} → Update an artwork (OWNER only)</li>
+ *     <li>PUT /api/artworks/{id}/stock → Set the units available for sale (OWNER only)</li>
  *     <li>GET /api/artworks/{id} → Get artwork by ID</li>
  *     <li>GET /api/artworks → Get all artworks</li>
+ *     <li>GET /api/artworks/page → Get one keyset page of artworks, with optional filters</li>
+ *     <li>GET /api/artworks/search → Full-text search artworks with category facets</li>
  *     <li>GET /api/artworks/category/{category} → Get artworks by category</li>
+ *     <li>GET /api/artworks/category/{category}/by-price → Get artwork summaries of a category, cheapest first</li>
  *     <li>DELETE /api/artworks/{id} → Delete artwork by ID (OWNER only)</li>
  * </ul>
  */
@@ -37,10 +76,24 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/artworks")
 public class ArtworkController {
 
+    private static final int DEFAULT_PAGE_SIZE = 24;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_OFFSET = 10_000;
+
     private final ArtworkService artworkService;
+    private final ArtworkListingCache artworkListingCache;
+    private final HttpCacheProperties httpCacheProperties;
+    private final ArtworkImportService artworkImportService;
+    private final ObjectMapper objectMapper;
 
-    public ArtworkController(ArtworkService artworkService) {
+    public ArtworkController(ArtworkService artworkService, ArtworkListingCache artworkListingCache,
+                             HttpCacheProperties httpCacheProperties, ArtworkImportService artworkImportService,
+                             ObjectMapper objectMapper) {
         this.artworkService = artworkService;
+        this.artworkListingCache = artworkListingCache;
+        this.httpCacheProperties = httpCacheProperties;
+        this.artworkImportService = artworkImportService;
+        this.objectMapper = objectMapper;
     }
 
     // ---------------- CREATE ----------------
@@ -67,6 +120,38 @@ public class ArtworkController {
         );
     }
 
+    /**
+     * Imports many artworks at once from a ZIP archive sent as the raw request body.
+     * The archive holds the images and a {@code manifest.json} (see {@link ArtworkImportService}).
+     *
+     * <p>The archive and manifest are checked before the response starts, so a malformed
+     * archive is still answered with 400. Per-row progress is then streamed back as NDJSON,
+     * one {@link ArtworkImportEventDTO} per line, ending with a DONE line.</p>
+     *
+     * @param archive ZIP archive
+     * @return Stream of import events
+     */
+    @PostMapping(value = "/import", consumes = {"application/zip", MediaType.APPLICATION_OCTET_STREAM_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<StreamingResponseBody> importArchive(InputStream archive) {
+        ArtworkImportJob job = artworkImportService.open(archive);
+
+        StreamingResponseBody body = out -> artworkImportService.run(job, event -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(event));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                // Client went away; aborts the import, unsaved uploads are reclaimed
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     // ---------------- UPDATE ----------------
     /**
      * Updates an existing artwork by ID. Image upload is optional.
@@ -91,9 +176,25 @@ public class ArtworkController {
         );
     }
 
+    /**
+     * Sets how many units of an artwork are available for sale.
+     *
+     * @param id       Artwork ID
+     * @param stockDTO New stock
+     * @return The stock that was set
+     */
+    @PutMapping("/{id}/stock")
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<ArtworkStockDTO> setStock(@PathVariable int id, @RequestBody @Valid ArtworkStockDTO stockDTO) {
+        artworkService.setStock(id, stockDTO.getStock());
+        return ResponseEntity.ok(stockDTO);
+    }
+
     // ---------------- READ ----------------
     /**
      * Retrieves artwork by its ID.
+     * The ETag is derived from the artwork version, so a matching {@code If-None-Match}
+     * is answered with 304 Not Modified.
      *
      * @param id Artwork ID
      * @return ArtworkResponseDTO if found
@@ -103,40 +204,162 @@ public class ArtworkController {
         Artwork artwork = artworkService.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Artwork not found with id: " + id));
 
-        return ResponseEntity.ok(ArtworkMapper.toResponseDTO(artwork));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.artwork())
+                .eTag(artwork.getId() + "-" + artwork.getVersion());
+        if (artwork.getUpdatedAt() != null) {
+            response.lastModified(artwork.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant());
+        }
+        return response.body(ArtworkMapper.toResponseDTO(artwork));
     }
 
     /**
      * Retrieves all artworks.
+     * The body is served pre-serialized from {@link ArtworkListingCache} with a strong ETag,
+     * so a matching {@code If-None-Match} is answered with 304 Not Modified.
      *
-     * @return List of ArtworkResponseDTO
+     * @return JSON array of ArtworkResponseDTO
      */
     @GetMapping
-    public ResponseEntity<List<ArtworkResponseDTO>> findAll() {
-        List<ArtworkResponseDTO> artworks = artworkService.findAll()
+    public ResponseEntity<byte[]> findAll() {
+        return toListingResponse(artworkListingCache.findAll());
+    }
+
+    /**
+     * Retrieves one page of artworks using keyset (cursor) pagination.
+     * Pass the returned {@code nextCursor} back unchanged, together with the same
+     * filters and sort, to fetch the following page. The page carries a weak ETag over
+     * the IDs and versions of its items, so a matching {@code If-None-Match} is answered
+     * with 304 Not Modified.
+     *
+     * @param category Optional category filter (case-insensitive)
+     * @param minPrice Optional inclusive lower price bound
+     * @param maxPrice Optional inclusive upper price bound
+     * @param label    Optional exact label filter
+     * @param sort     Ordering: "id" (default) or "price"
+     * @param cursor   Opaque token from the previous page, omitted for the first page
+     * @param limit    Page size, between 1 and 100
+     * @return ArtworkPageResponseDTO with the page items and the next cursor
+     * @throws InvalidRequestException if a filter, the sort, the limit or the cursor is invalid
+     */
+    @GetMapping("/page")
+    public ResponseEntity<ArtworkPageResponseDTO> findPage(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String label,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit
+    ) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new InvalidRequestException("minPrice cannot be greater than maxPrice");
+        }
+
+        ArtworkPageQuery query = new ArtworkPageQuery();
+        query.setCategory(category == null ? null : parseCategory(category));
+        query.setMinPrice(minPrice);
+        query.setMaxPrice(maxPrice);
+        query.setLabel(label == null || label.isBlank() ? null : label);
+        query.setLimit(limit);
+        try {
+            query.setSort(ArtworkSort.valueOf(sort.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid sort: " + sort);
+        }
+
+        ArtworkPage page = artworkService.findPage(query, cursor);
+
+        ArtworkPageResponseDTO response = new ArtworkPageResponseDTO();
+        response.setItems(page.getItems()
+                .stream()
+                .map(ArtworkMapper::toResponseDTO)
+                .collect(Collectors.toList()));
+        response.setNextCursor(page.getNextCursor());
+        response.setHasMore(page.hasMore());
+
+        return ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.page())
+                .eTag(pageEtag(page))
+                .body(response);
+    }
+
+    /**
+     * Full-text searches artworks by title, label and description.
+     * Each word is matched as a prefix and all words must match. Results are ranked by relevance.
+     *
+     * @param q        Search text
+     * @param category Optional category filter (case-insensitive); facets always cover all categories
+     * @param limit    Page size, between 1 and 100
+     * @param offset   Number of ranked results to skip, at most 10000
+     * @return ArtworkSearchResponseDTO with ranked items and per-category counts
+     * @throws InvalidRequestException if the text, category, limit or offset is invalid
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ArtworkSearchResponseDTO> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "0") int offset
+    ) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (offset < 0 || offset > MAX_SEARCH_OFFSET) {
+            throw new InvalidRequestException("Offset must be between 0 and " + MAX_SEARCH_OFFSET);
+        }
+
+        ArtworkSearchResult result = artworkService.search(
+                q, category == null ? null : parseCategory(category), limit, offset);
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        result.getCategoryCounts().forEach((key, value) -> counts.put(key.name(), value));
+
+        ArtworkSearchResponseDTO response = new ArtworkSearchResponseDTO();
+        response.setItems(result.getItems()
                 .stream()
                 .map(ArtworkMapper::toResponseDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+        response.setCategoryCounts(counts);
+        response.setTotal(result.getTotal());
 
-        return ResponseEntity.ok(artworks);
+        return ResponseEntity.ok(response);
     }
 
     /**
      * Retrieves artworks by category.
+     * Served pre-serialized from {@link ArtworkListingCache}, like {@link #findAll()}.
      *
-     * @param category Category name
-     * @return List of ArtworkResponseDTO filtered by category
+     * @param category Category name (case-insensitive)
+     * @return JSON array of ArtworkResponseDTO filtered by category
+     * @throws InvalidRequestException if the category is invalid
      */
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<ArtworkResponseDTO>> findByCategory(
+    public ResponseEntity<byte[]> findByCategory(
             @PathVariable String category
     ) {
-        List<ArtworkResponseDTO> artworks = artworkService.findByCategory(category)
-                .stream()
-                .map(ArtworkMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return toListingResponse(artworkListingCache.findByCategory(parseCategory(category)));
+    }
+
+    /**
+     * Retrieves lightweight summaries of a category's artworks ordered by ascending price.
+     *
+     * @param category Category name (case-insensitive)
+     * @return List of ArtworkSummaryDTO ordered by price, then ID
+     * @throws InvalidRequestException if the category is invalid
+     */
+    @GetMapping("/category/{category}/by-price")
+    public ResponseEntity<List<ArtworkSummaryDTO>> findByCategoryOrderByPrice(
+            @PathVariable String category
+    ) {
+        List<ArtworkSummaryDTO> summaries = artworkService.findSummariesByCategory(parseCategory(category));
 
-        return ResponseEntity.ok(artworks);
+        return ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.listing())
+                .body(summaries);
     }
 
     // ---------------- DELETE ----------------
@@ -153,4 +376,39 @@ public class ArtworkController {
         artworkService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // ---------------- HELPERS ----------------
+    private ResponseEntity<byte[]> toListingResponse(CachedListing listing) {
+        // Spring answers 304 itself when If-None-Match matches the ETag set here
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(httpCacheProperties.listing())
+                .eTag(listing.etag())
+                .lastModified(listing.lastModified())
+                .body(listing.body());
+    }
+
+    // Weak: equal tags mean the same artworks at the same versions, not byte-identical bodies
+    private static String pageEtag(ArtworkPage page) {
+        StringBuilder key = new StringBuilder();
+        for (Artwork artwork : page.getItems()) {
+            key.append(artwork.getId()).append('-').append(artwork.getVersion()).append(',');
+        }
+        key.append(page.getNextCursor());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Unknown categories are rejected here with 400, before any cache or database access
+    private ArtCategory parseCategory(String category) {
+        try {
+            return ArtCategory.valueOf(category.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid category: " + category);
+        }
+    }
+}
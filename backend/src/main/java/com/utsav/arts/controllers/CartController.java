@@ -11,6 +11,7 @@ import com.utsav.arts.services.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -72,13 +73,14 @@ public class CartController {
     // ---------------- READ ----------------
     /**
      * Retrieves a cart by its ID.
+     * Ownership is checked on the fetched cart, so no separate owner lookup is needed.
      *
      * @param id Cart ID
      * @return CartResponseDTO
      * @throws ResourceNotFoundException if the cart does not exist
      */
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('OWNER') or @cartService.isOwner(#id, authentication.principal.id)")
+    @PostAuthorize("hasRole('OWNER') or returnObject.body.userId == authentication.principal.id")
     public ResponseEntity<CartResponseDTO> findById(
             @PathVariable int id
     ) {
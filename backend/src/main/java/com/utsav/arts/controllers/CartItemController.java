@@ -1,9 +1,12 @@
 package com.utsav.arts.controllers;
 
+import com.utsav.arts.dtos.cartDTO.CartResponseDTO;
 import com.utsav.arts.dtos.cartItemDTO.CartItemRequestDTO;
 import com.utsav.arts.dtos.cartItemDTO.CartItemResponseDTO;
+import com.utsav.arts.dtos.cartItemDTO.CartPatchRequestDTO;
 import com.utsav.arts.exceptions.ResourceNotFoundException;
 import com.utsav.arts.mappers.CartItemMapper;
+import com.utsav.arts.mappers.CartMapper;
 import com.utsav.arts.models.Artwork;
 import com.utsav.arts.models.Cart;
 import com.utsav.arts.models.CartItem;
@@ -35,6 +38,7 @@ import java.util.stream.Collectors;
  *     <li>DELETE /api/cart-items/cart/{cartId} → Delete all items in a cart</li>
  *     <li>PATCH /api/cart-items/{id}/increase → Increase item quantity by 1</li>
  *     <li>PATCH /api/cart-items/{id}/decrease → Decrease item quantity by 1</li>
+ *     <li>PATCH /api/cart-items/cart/{cartId} → Apply several line changes, return the cart</li>
  * </ul>
  */
 @RestController
@@ -107,6 +111,23 @@ public class CartItemController {
         return ResponseEntity.ok(CartItemMapper.toResponseDTO(updatedItem));
     }
 
+    // ---------------- BULK CHANGES ----------------
+    /**
+     * Applies several add/set/remove line changes to a cart in one transaction.
+     *
+     * @param cartId Cart ID
+     * @param requestDTO CartPatchRequestDTO with the changes, in order
+     * @return The resulting cart with its items and totals
+     * @throws ResourceNotFoundException if the cart or an added artwork does not exist
+     */
+    @PatchMapping("/cart/{cartId}")
+    @PreAuthorize("hasRole('OWNER') or @cartService.isOwner(#cartId, authentication.principal.id)")
+    public ResponseEntity<CartResponseDTO> applyChanges(@PathVariable int cartId,
+                                                        @Valid @RequestBody CartPatchRequestDTO requestDTO) {
+        Cart cart = cartItemService.applyChanges(cartId, requestDTO.getChanges());
+        return ResponseEntity.ok(CartMapper.toResponseDTO(cart));
+    }
+
     // ---------------- READ ----------------
     /**
      * Retrieves a cart item by ID.
@@ -0,0 +1,180 @@
+package com.utsav.arts.controllers;
+
+import com.utsav.arts.exceptions.ResourceNotFoundException;
+import com.utsav.arts.storage.LocalFileStorageImpl;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Controller serving files stored by {@link LocalFileStorageImpl}.
+ * Only registered when {@code app.storage.type=local}.
+ *
+ * <p>File names are content hashes, so a file never changes: responses are cacheable
+ * forever and the hash doubles as ETag. Bodies are sent zero-copy through the servlet
+ * container's sendfile support when available (Tomcat NIO); otherwise they are copied
+ * through the response output stream, since it is not a channel the kernel can write
+ * to directly. Single byte ranges ({@code Range: bytes=a-b}) are honoured.</p>
+ *
+ * <p>Endpoints:
+ * <ul>
+ *     <li>GET /api/files/{name} → Returns the file, or the requested byte range (public)</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/files")
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class FileController {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    // Tomcat request attributes for sendfile
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalFileStorageImpl localFileStorage;
+
+    public FileController(LocalFileStorageImpl localFileStorage) {
+        this.localFileStorage = localFileStorage;
+    }
+
+    // ---------------- READ ----------------
+
+    /**
+     * Serves a stored file, or a single byte range of it.
+     *
+     * @param name     Public file name (content hash with extension)
+     * @param request  Current request, used for Range / If-None-Match and sendfile support
+     * @param response Response the file is written to
+     * @throws ResourceNotFoundException if no such file exists
+     */
+    @GetMapping("/{name}")
+    public void serve(@PathVariable String name, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path path = localFileStorage.resolve(name)
+                .filter(Files::isRegularFile)
+                .orElseThrow(() -> new ResourceNotFoundException("File not found: " + name));
+
+        ETag etag = ETag.create(name.substring(0, name.indexOf('.')));
+        response.setHeader(HttpHeaders.ETAG, etag.formattedTag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = Files.size(path);
+        long start = 0;
+        long end = length - 1;
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(MediaTypeFactory.getMediaType(name)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(count);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // The connector writes the file to the socket itself once the request completes
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += file.transferTo(position, end + 1 - position, out);
+            }
+        }
+    }
+
+    // ---------------- HELPERS ----------------
+
+    /**
+     * Tells whether an If-None-Match header matches the file's ETag: a list of tags, weak
+     * or strong, compared weakly as RFC 9110 requires, or {@code *} since the file exists.
+     */
+    private static boolean matchesAny(String ifNoneMatch, ETag etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(tag -> tag.isWildcard() || tag.compare(etag, false));
+    }
+
+    /**
+     * Parses a Range header against the file length.
+     *
+     * @return {start, end} for a satisfiable single range, an empty array when the header
+     * should be ignored (multiple ranges or another unit), or null when unsatisfiable
+     */
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) return null;
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            }
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
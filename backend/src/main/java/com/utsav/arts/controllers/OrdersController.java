@@ -11,6 +11,7 @@ import com.utsav.arts.services.OrdersService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -78,9 +79,10 @@ public class OrdersController {
     // ---------------- READ ----------------
     /**
      * Retrieves an order by ID.
+     * Ownership is checked on the fetched order, so no separate owner lookup is needed.
      */
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('OWNER') or @ordersService.isOwner(#id, authentication.principal.id)")
+    @PostAuthorize("hasRole('OWNER') or returnObject.body.userId == authentication.principal.id")
     public ResponseEntity<OrdersResponseDTO> findById(@PathVariable int id) {
         // Use orElseThrow to trigger GlobalExceptionHandler's JSON response
         Orders order = ordersService.findById(id)
@@ -95,12 +97,8 @@ public class OrdersController {
     @GetMapping
     @PreAuthorize("hasRole('OWNER')")
     public ResponseEntity<List<OrdersResponseDTO>> findAll() {
-        List<OrdersResponseDTO> orders = ordersService.findAll()
-                .stream()
-                .map(OrdersMapper::toDTO)
-                .toList();
-
-        return ResponseEntity.ok(orders);
+        // Projected straight from JPQL; no managed entities for the whole order table
+        return ResponseEntity.ok(ordersService.findAllSummaries());
     }
 
     /**
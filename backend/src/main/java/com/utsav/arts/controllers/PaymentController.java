@@ -6,16 +6,15 @@ import com.utsav.arts.dtos.paymentDTO.PaymentResponseDTO;
 import com.utsav.arts.exceptions.InvalidRequestException;
 import com.utsav.arts.exceptions.ResourceNotFoundException;
 import com.utsav.arts.mappers.PaymentMapper;
-import com.utsav.arts.models.Orders;
 import com.utsav.arts.models.Payment;
 import com.utsav.arts.models.PaymentStatus;
-import com.utsav.arts.stripepayment.StripeService;
 import com.utsav.arts.services.OrdersService;
 import com.utsav.arts.services.PaymentService;
 import com.utsav.arts.services.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -52,18 +51,17 @@ public class PaymentController {
     private final PaymentService paymentService;
     private final UserService userService;
     private final OrdersService ordersService;
-    private final StripeService stripeService;
 
-    public PaymentController(PaymentService paymentService, UserService userService, OrdersService ordersService, StripeService stripeService) {
+    public PaymentController(PaymentService paymentService, UserService userService, OrdersService ordersService) {
         this.paymentService = paymentService;
         this.userService = userService;
         this.ordersService = ordersService;
-        this.stripeService = stripeService;
     }
 
     // ---------------- READ ----------------
     /**
      * Retrieves a payment by its ID.
+     * Ownership is checked on the fetched payment, so no separate owner lookup is needed.
      *
      * @param id Payment ID
      * @return {@link PaymentResponseDTO} for the requested payment
@@ -71,7 +69,7 @@ public class PaymentController {
      * @apiNote Accessible by OWNER or the payment owner
      */
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('OWNER') or @paymentService.isPaymentOwner(#id, authentication.principal.id)")
+    @PostAuthorize("hasRole('OWNER') or returnObject.body.userId == authentication.principal.id")
     public ResponseEntity<PaymentResponseDTO> findById(@PathVariable int id) {
         Payment payment = paymentService.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment record not found with id: " + id));
@@ -153,23 +151,22 @@ public class PaymentController {
     @GetMapping
     @PreAuthorize("hasRole('OWNER')")
     public ResponseEntity<List<PaymentResponseDTO>> findAll() {
-        List<PaymentResponseDTO> payments = paymentService.findAll()
-                .stream()
-                .map(PaymentMapper::toResponseDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(payments);
+        // Projected straight from JPQL; no managed entities for the whole payment table
+        return ResponseEntity.ok(paymentService.findAllSummaries());
     }
 
     // ---------------- CREATE PAYMENT INTENT ----------------
     /**
      * Creates a Stripe PaymentIntent for a given order.
      *
-     * <p>Verifies that the authenticated user owns the order.
+     * <p>Verifies that the authenticated user owns the order and that the order is still
+     * PENDING. A retried checkout gets the order's open PaymentIntent back.
      *
      * @param requestDTO DTO containing order ID and currency
      * @param authentication Authentication object with current user details
      * @return Map containing the Stripe {@code clientSecret} for frontend payment processing
      * @throws ResourceNotFoundException if the order does not exist
+     * @throws InvalidRequestException if the order is not awaiting payment
      * @apiNote Accessible by OWNER or USER
      */
     @PostMapping("/intent")
@@ -188,16 +185,11 @@ public class PaymentController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        // Fetch order (server-side truth)
-        Orders order = ordersService.findById(requestDTO.getOrderId())
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
-
-        // Create Stripe PaymentIntent
-        String clientSecret = stripeService.createPaymentIntent(
-                order.getTotalPrice(),
-                requestDTO.getCurrency(),
-                order.getId(),
-                userId
+        // Amount and status come from the order (server-side truth)
+        String clientSecret = paymentService.createPaymentIntent(
+                requestDTO.getOrderId(),
+                userId,
+                requestDTO.getCurrency()
         );
 
         return ResponseEntity.ok(Map.of("clientSecret", clientSecret));
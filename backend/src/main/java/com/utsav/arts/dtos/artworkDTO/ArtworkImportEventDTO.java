@@ -0,0 +1,75 @@
+package com.utsav.arts.dtos.artworkDTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of the NDJSON progress stream of a bulk artwork import.
+ *
+ * <p>Each manifest row produces exactly one {@code CREATED} or {@code FAILED} event, in
+ * completion order; the stream ends with a single {@code DONE} event carrying the totals.</p>
+ *
+ * <p><strong>Fields:</strong>
+ * <ul>
+ *   <li>status – CREATED, FAILED or DONE</li>
+ *   <li>row – zero-based manifest row (row events only)</li>
+ *   <li>artworkId – ID of the created artwork (CREATED only)</li>
+ *   <li>error – reason the row was rejected (FAILED only)</li>
+ *   <li>created – number of created artworks (DONE only)</li>
+ *   <li>failed – number of failed rows (DONE only)</li>
+ * </ul>
+ * </p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ArtworkImportEventDTO {
+
+    private String status;
+    private Integer row;
+    private Integer artworkId;
+    private String error;
+    private Integer created;
+    private Integer failed;
+
+    public ArtworkImportEventDTO() {}
+
+    public static ArtworkImportEventDTO created(int row, int artworkId) {
+        ArtworkImportEventDTO event = new ArtworkImportEventDTO();
+        event.status = "CREATED";
+        event.row = row;
+        event.artworkId = artworkId;
+        return event;
+    }
+
+    public static ArtworkImportEventDTO failed(int row, String error) {
+        ArtworkImportEventDTO event = new ArtworkImportEventDTO();
+        event.status = "FAILED";
+        event.row = row;
+        event.error = error;
+        return event;
+    }
+
+    public static ArtworkImportEventDTO done(int created, int failed) {
+        ArtworkImportEventDTO event = new ArtworkImportEventDTO();
+        event.status = "DONE";
+        event.created = created;
+        event.failed = failed;
+        return event;
+    }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Integer getRow() { return row; }
+    public void setRow(Integer row) { this.row = row; }
+
+    public Integer getArtworkId() { return artworkId; }
+    public void setArtworkId(Integer artworkId) { this.artworkId = artworkId; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public Integer getCreated() { return created; }
+    public void setCreated(Integer created) { this.created = created; }
+
+    public Integer getFailed() { return failed; }
+    public void setFailed(Integer failed) { this.failed = failed; }
+}
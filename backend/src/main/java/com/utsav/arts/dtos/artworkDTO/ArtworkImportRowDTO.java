@@ -0,0 +1,26 @@
+package com.utsav.arts.dtos.artworkDTO;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * One entry of the {@code manifest.json} of a bulk import archive.
+ *
+ * <p>Carries the same validated fields as {@link ArtworkRequestDTO}, plus the name of
+ * the image entry inside the archive.</p>
+ *
+ * <p><strong>Fields:</strong>
+ * <ul>
+ *   <li>image – path of the image file inside the ZIP archive</li>
+ * </ul>
+ * </p>
+ */
+public class ArtworkImportRowDTO extends ArtworkRequestDTO {
+
+    @NotBlank(message = "Image is required")
+    private String image;
+
+    public ArtworkImportRowDTO() {}
+
+    public String getImage() { return image; }
+    public void setImage(String image) { this.image = image; }
+}
@@ -0,0 +1,32 @@
+package com.utsav.arts.dtos.artworkDTO;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object used to send one page of the artwork catalog to clients.
+ *
+ * <p><strong>Fields:</strong>
+ * <ul>
+ *   <li>items – artworks on this page</li>
+ *   <li>nextCursor – opaque token for the next page, or null on the last page</li>
+ *   <li>hasMore – whether another page exists</li>
+ * </ul>
+ * </p>
+ */
+public class ArtworkPageResponseDTO {
+
+    private List<ArtworkResponseDTO> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public ArtworkPageResponseDTO() {}
+
+    public List<ArtworkResponseDTO> getItems() { return items; }
+    public void setItems(List<ArtworkResponseDTO> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
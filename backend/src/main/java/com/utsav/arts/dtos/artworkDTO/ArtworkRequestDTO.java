@@ -17,6 +17,7 @@ import java.math.BigDecimal;
  *   <li>category – artwork category (enum)</li>
  *   <li>label – optional tag or label</li>
  *   <li>price – artwork price</li>
+ *   <li>stock – optional units for sale on creation, 1 by default; ignored on update</li>
  * </ul>
  * </p>
  */
@@ -33,12 +34,17 @@ public class ArtworkRequestDTO {
     @NotNull(message = "Category is required")
     private ArtCategory category;
 
+    @Size(max = 100, message = "Label cannot exceed 100 characters")
     private String label; // Optional field
 
     @NotNull(message = "Price is required")
     @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than zero")
+    @Digits(integer = 8, fraction = 2, message = "Price must have at most 8 digits and 2 decimals")
     private BigDecimal price;
 
+    @Min(value = 0, message = "Stock cannot be negative")
+    private Integer stock; // Optional field
+
     public ArtworkRequestDTO() {}
 
     // Getters & Setters
@@ -56,4 +62,7 @@ public class ArtworkRequestDTO {
 
     public BigDecimal getPrice() { return price; }
     public void setPrice(BigDecimal price) { this.price = price; }
+
+    public Integer getStock() { return stock; }
+    public void setStock(Integer stock) { this.stock = stock; }
 }
\ No newline at end of file
@@ -18,7 +18,10 @@ import java.math.BigDecimal;
  *   <li>category – artwork category</li>
  *   <li>label – optional label or tag</li>
  *   <li>price – artwork price</li>
- *   <li>imgUrl – public image URL</li>
+ *   <li>imgUrl – public URL of the original image</li>
+ *   <li>thumbnailUrl – public URL of the grid-sized image</li>
+ *   <li>mediumUrl – public URL of the detail-page image</li>
+ *   <li>fullUrl – public URL of the full-size recompressed image</li>
  * </ul>
  * </p>
  */
@@ -31,6 +34,9 @@ public class ArtworkResponseDTO {
     private String label;
     private BigDecimal price;
     private String imgUrl;
+    private String thumbnailUrl;
+    private String mediumUrl;
+    private String fullUrl;
 
     public ArtworkResponseDTO() {}
 
@@ -54,4 +60,13 @@ public class ArtworkResponseDTO {
 
     public String getImgUrl() { return imgUrl; }
     public void setImgUrl(String imgUrl) { this.imgUrl = imgUrl; }
+
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+
+    public String getMediumUrl() { return mediumUrl; }
+    public void setMediumUrl(String mediumUrl) { this.mediumUrl = mediumUrl; }
+
+    public String getFullUrl() { return fullUrl; }
+    public void setFullUrl(String fullUrl) { this.fullUrl = fullUrl; }
 }
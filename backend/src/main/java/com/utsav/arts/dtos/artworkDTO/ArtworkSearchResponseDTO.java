@@ -0,0 +1,33 @@
+package com.utsav.arts.dtos.artworkDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object used to send artwork search results to clients.
+ *
+ * <p><strong>Fields:</strong>
+ * <ul>
+ *   <li>items – matching artworks on this page, best match first</li>
+ *   <li>categoryCounts – number of matches per category name (facets)</li>
+ *   <li>total – total number of matches across all categories</li>
+ * </ul>
+ * </p>
+ */
+public class ArtworkSearchResponseDTO {
+
+    private List<ArtworkResponseDTO> items;
+    private Map<String, Long> categoryCounts;
+    private long total;
+
+    public ArtworkSearchResponseDTO() {}
+
+    public List<ArtworkResponseDTO> getItems() { return items; }
+    public void setItems(List<ArtworkResponseDTO> items) { this.items = items; }
+
+    public Map<String, Long> getCategoryCounts() { return categoryCounts; }
+    public void setCategoryCounts(Map<String, Long> categoryCounts) { this.categoryCounts = categoryCounts; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+}
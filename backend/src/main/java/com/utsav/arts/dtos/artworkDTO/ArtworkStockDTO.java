@@ -0,0 +1,30 @@
+package com.utsav.arts.dtos.artworkDTO;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Data Transfer Object for reading and setting the stock of an artwork.
+ *
+ * <p><strong>Fields:</strong>
+ * <ul>
+ *   <li>stock – units available for sale (1 for an original)</li>
+ * </ul>
+ * </p>
+ */
+public class ArtworkStockDTO {
+
+    @NotNull(message = "Stock is required")
+    @Min(value = 0, message = "Stock cannot be negative")
+    private Integer stock;
+
+    public ArtworkStockDTO() {}
+
+    public ArtworkStockDTO(Integer stock) {
+        this.stock = stock;
+    }
+
+    // Getters & Setters
+    public Integer getStock() { return stock; }
+    public void setStock(Integer stock) { this.stock = stock; }
+}
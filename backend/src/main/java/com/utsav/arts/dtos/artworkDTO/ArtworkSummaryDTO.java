@@ -0,0 +1,62 @@
+package com.utsav.arts.dtos.artworkDTO;
+
+import com.utsav.arts.models.ArtCategory;
+
+import java.math.BigDecimal;
+
+/**
+ * Lightweight Data Transfer Object used for artwork grid listings.
+ *
+ * <p>Selected directly by JPQL constructor expression, so no entity is loaded
+ * or tracked by the persistence context.</p>
+ *
+ * <p><strong>Fields:</strong>
+ * <ul>
+ *   <li>id – artwork identifier</li>
+ *   <li>title – artwork title</li>
+ *   <li>category – artwork category</li>
+ *   <li>price – artwork price</li>
+ *   <li>imgUrl – public URL of the original image</li>
+ *   <li>thumbnailUrl – public URL of the grid-sized image, falls back to imgUrl</li>
+ * </ul>
+ * </p>
+ */
+public class ArtworkSummaryDTO {
+
+    private int id;
+    private String title;
+    private ArtCategory category;
+    private BigDecimal price;
+    private String imgUrl;
+    private String thumbnailUrl;
+
+    public ArtworkSummaryDTO() {}
+
+    public ArtworkSummaryDTO(int id, String title, ArtCategory category, BigDecimal price,
+                             String imgUrl, String thumbnailUrl) {
+        this.id = id;
+        this.title = title;
+        this.category = category;
+        this.price = price;
+        this.imgUrl = imgUrl;
+        this.thumbnailUrl = thumbnailUrl != null ? thumbnailUrl : imgUrl;
+    }
+
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public ArtCategory getCategory() { return category; }
+    public void setCategory(ArtCategory category) { this.category = category; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public String getImgUrl() { return imgUrl; }
+    public void setImgUrl(String imgUrl) { this.imgUrl = imgUrl; }
+
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+}
@@ -0,0 +1,44 @@
+package com.utsav.arts.dtos.cartItemDTO;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Data Transfer Object describing one change to a cart line, as part of a
+ * {@link CartPatchRequestDTO}.
+ *
+ * <p><strong>Fields:</strong>
+ * <ul>
+ *   <li>op – ADD to raise the quantity, SET to replace it, REMOVE to drop the line</li>
+ *   <li>artworkId – ID of the artwork whose line changes</li>
+ *   <li>quantity – amount to add (at least 1) or new quantity (0 removes); ignored by REMOVE</li>
+ * </ul>
+ * </p>
+ */
+public class CartLineChangeDTO {
+
+    /** Kind of change applied to a cart line. */
+    public enum Operation { ADD, SET, REMOVE }
+
+    @NotNull(message = "Operation is required")
+    private Operation op;
+
+    @NotNull(message = "Artwork ID is required")
+    @Min(value = 1, message = "Artwork ID must be a valid positive number")
+    private Integer artworkId;
+
+    @Min(value = 0, message = "Quantity cannot be negative")
+    private int quantity;
+
+    public CartLineChangeDTO() {}
+
+    // Getters & Setters
+    public Operation getOp() { return op; }
+    public void setOp(Operation op) { this.op = op; }
+
+    public Integer getArtworkId() { return artworkId; }
+    public void setArtworkId(Integer artworkId) { this.artworkId = artworkId; }
+
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+}
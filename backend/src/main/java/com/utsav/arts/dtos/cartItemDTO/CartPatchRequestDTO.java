@@ -0,0 +1,30 @@
+package com.utsav.arts.dtos.cartItemDTO;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object used to receive several cart line changes that are applied
+ * together, e.g. when merging a guest cart on login or re-ordering a previous order.
+ *
+ * <p><strong>Fields:</strong>
+ * <ul>
+ *   <li>changes – line changes, applied in the given order</li>
+ * </ul>
+ * </p>
+ */
+public class CartPatchRequestDTO {
+
+    @NotEmpty(message = "At least one change is required")
+    @Size(max = 200, message = "At most 200 changes can be applied at once")
+    private List<@Valid CartLineChangeDTO> changes;
+
+    public CartPatchRequestDTO() {}
+
+    // Getters & Setters
+    public List<CartLineChangeDTO> getChanges() { return changes; }
+    public void setChanges(List<CartLineChangeDTO> changes) { this.changes = changes; }
+}
@@ -26,6 +26,16 @@ public class OrderItemResponseDTO {
 
     public OrderItemResponseDTO() {}
 
+    public OrderItemResponseDTO(int id, int artworkId, String artworkTitle, String artworkImgUrl,
+                                int quantity, BigDecimal priceAtPurchase) {
+        this.id = id;
+        this.artworkId = artworkId;
+        this.artworkTitle = artworkTitle;
+        this.artworkImgUrl = artworkImgUrl;
+        this.quantity = quantity;
+        this.priceAtPurchase = priceAtPurchase;
+    }
+
     // Getters and Setters
     public int getId() { return id; }
     public void setId(int id) { this.id = id; }
@@ -1,5 +1,7 @@
 package com.utsav.arts.dtos.ordersDTO;
 
+import com.utsav.arts.models.OrderStatus;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -31,6 +33,20 @@ public class OrdersResponseDTO {
 
     public OrdersResponseDTO() {}
 
+    /**
+     * Projection constructor used by JPQL {@code SELECT new} queries.
+     * Items are attached afterwards.
+     */
+    public OrdersResponseDTO(int id, int userId, BigDecimal totalPrice, String address,
+                             OrderStatus status, LocalDateTime orderedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.totalPrice = totalPrice;
+        this.address = address;
+        this.status = status != null ? status.name() : null;
+        this.orderedAt = orderedAt;
+    }
+
     // Getters and Setters
     public int getId() { return id; }
     public void setId(int id) { this.id = id; }
@@ -1,5 +1,7 @@
 package com.utsav.arts.dtos.paymentDTO;
 
+import com.utsav.arts.models.PaymentStatus;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -34,6 +36,23 @@ public class PaymentResponseDTO {
 
     public PaymentResponseDTO() {}
 
+    /**
+     * Projection constructor used by JPQL {@code SELECT new} queries.
+     */
+    public PaymentResponseDTO(int id, int orderId, int userId, BigDecimal amount, String currency,
+                              String method, PaymentStatus status, String transactionId,
+                              LocalDateTime createdAt) {
+        this.id = id;
+        this.orderId = orderId;
+        this.userId = userId;
+        this.amount = amount;
+        this.currency = currency;
+        this.method = method;
+        this.status = status != null ? status.name() : null;
+        this.transactionId = transactionId;
+        this.createdAt = createdAt;
+    }
+
     public int getId() { return id; }
     public void setId(int id) { this.id = id; }
 
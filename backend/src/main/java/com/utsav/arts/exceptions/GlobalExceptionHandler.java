@@ -1,10 +1,13 @@
 package com.utsav.arts.exceptions;
 
+import jakarta.persistence.OptimisticLockException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.util.HashMap;
@@ -21,7 +24,11 @@ import java.util.Map;
  * <ul>
  *   <li>ResourceNotFoundException → 404 Not Found</li>
  *   <li>ResourceAlreadyExistsException → 409 Conflict</li>
+ *   <li>OutOfStockException → 409 Conflict</li>
+ *   <li>OptimisticLockException / ObjectOptimisticLockingFailureException → 409 Conflict</li>
  *   <li>InvalidRequestException → 400 Bad Request</li>
+ *   <li>MaxUploadSizeExceededException → 413 Content Too Large</li>
+ *   <li>StorageUnavailableException → 503 Service Unavailable</li>
  *   <li>MethodArgumentNotValidException → 400 Bad Request with validation details</li>
  *   <li>AccessDeniedException → 403 Forbidden</li>
  *   <li>Generic Exception → 500 Internal Server Error</li>
@@ -42,12 +49,36 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage());
     }
 
+    /** Handles OutOfStockException and returns 409 status with message */
+    @ExceptionHandler(OutOfStockException.class)
+    public ResponseEntity<Map<String, Object>> handleOutOfStock(OutOfStockException ex) {
+        return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    /** Handles writes based on a stale version of an entity and returns 409 status */
+    @ExceptionHandler({OptimisticLockException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<Map<String, Object>> handleOptimisticLock(Exception ex) {
+        return buildErrorResponse(HttpStatus.CONFLICT, "The resource was modified concurrently, please reload and retry");
+    }
+
     /** Handles InvalidRequestException and returns 400 status with message */
     @ExceptionHandler(InvalidRequestException.class)
     public ResponseEntity<Map<String, Object>> handleInvalidRequest(InvalidRequestException ex) {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    /** Handles uploads above the configured multipart limits and returns 413 status */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleMaxUploadSize(MaxUploadSizeExceededException ex) {
+        return buildErrorResponse(HttpStatus.PAYLOAD_TOO_LARGE, "Uploaded file is too large");
+    }
+
+    /** Handles StorageUnavailableException and returns 503 status with message */
+    @ExceptionHandler(StorageUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleStorageUnavailable(StorageUnavailableException ex) {
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
     /**
      * Handles validation errors from @Valid annotated request bodies.
      * Aggregates all field error messages into a single comma-separated string.
@@ -0,0 +1,19 @@
+package com.utsav.arts.exceptions;
+
+import java.util.List;
+
+/**
+ * Exception thrown when an order asks for more units of an artwork than are in stock.
+ * Returns HTTP 409 (Conflict) when handled globally.
+ */
+public class OutOfStockException extends RuntimeException {
+
+    private final List<Integer> artworkIds;
+
+    public OutOfStockException(List<Integer> artworkIds) {
+        super("Not enough stock for artwork(s): " + artworkIds);
+        this.artworkIds = List.copyOf(artworkIds);
+    }
+
+    public List<Integer> getArtworkIds() { return artworkIds; }
+}
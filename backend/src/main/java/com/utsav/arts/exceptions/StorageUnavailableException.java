@@ -0,0 +1,12 @@
+package com.utsav.arts.exceptions;
+
+/**
+ * Exception thrown when file storage cannot accept more work right now,
+ * e.g. because all upload slots are busy.
+ * Returns HTTP 503 (Service Unavailable) when handled globally.
+ */
+public class StorageUnavailableException extends RuntimeException {
+    public StorageUnavailableException(String message) {
+        super(message);
+    }
+}
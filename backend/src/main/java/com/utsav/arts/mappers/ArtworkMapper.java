@@ -27,6 +27,9 @@ public class ArtworkMapper {
         artwork.setCategory(dto.getCategory());
         artwork.setLabel(dto.getLabel());
         artwork.setPrice(dto.getPrice());
+        if (dto.getStock() != null) {
+            artwork.setStock(dto.getStock());
+        }
         return artwork;
     }
 
@@ -44,6 +47,14 @@ public class ArtworkMapper {
         dto.setLabel(artwork.getLabel());
         dto.setPrice(artwork.getPrice());
         dto.setImgUrl(artwork.getImgUrl());
+        // Artworks uploaded before variants existed only have the original
+        dto.setThumbnailUrl(orOriginal(artwork.getThumbnailUrl(), artwork));
+        dto.setMediumUrl(orOriginal(artwork.getMediumUrl(), artwork));
+        dto.setFullUrl(orOriginal(artwork.getFullUrl(), artwork));
         return dto;
     }
-}
\ No newline at end of file
+
+    private static String orOriginal(String variantUrl, Artwork artwork) {
+        return variantUrl != null ? variantUrl : artwork.getImgUrl();
+    }
+}
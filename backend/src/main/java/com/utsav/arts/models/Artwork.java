@@ -3,16 +3,20 @@ package com.utsav.arts.models;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * Represents an artwork that can be listed and sold in the gallery.
+ * The {@code search_vector} column used for full-text search is generated by
+ * Postgres from title, label and description, and is intentionally not mapped.
  */
 @Entity
 @Table(name = "artworks")
 public class Artwork {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "artworks_seq")
+    @SequenceGenerator(name = "artworks_seq", sequenceName = "artworks_id_seq", allocationSize = 50)
     private int id;
 
     @Column(nullable = false)
@@ -28,8 +32,42 @@ public class Artwork {
 
     private BigDecimal price;
 
+    /** Original upload, kept unchanged. */
     private String imgUrl;
 
+    /** Resized derivatives of the original, see {@link com.utsav.arts.storage.ImageVariant}. */
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+
+    @Column(name = "medium_url")
+    private String mediumUrl;
+
+    @Column(name = "full_url")
+    private String fullUrl;
+
+    /** SHA-256 of the original, key of the shared {@link ImageAsset}; null for older uploads. */
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
+    /**
+     * Units available for sale. Never written by entity updates: sales and stock changes go
+     * through {@link com.utsav.arts.repository.StockRepository}'s atomic statements.
+     */
+    @Column(nullable = false, updatable = false, columnDefinition = "INT NOT NULL DEFAULT 1")
+    private int stock = 1;
+
+    /**
+     * Optimistic-lock version, incremented on every update.
+     * Also used as the HTTP ETag of the artwork.
+     */
+    @Version
+    @Column(columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long version;
+
+    /** Time of the last create or update, sent as HTTP Last-Modified. */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     /** Default constructor for JPA */
     public Artwork() {}
 
@@ -67,4 +105,30 @@ public class Artwork {
 
     public String getImgUrl() { return imgUrl; }
     public void setImgUrl(String imgUrl) { this.imgUrl = imgUrl; }
+
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+
+    public String getMediumUrl() { return mediumUrl; }
+    public void setMediumUrl(String mediumUrl) { this.mediumUrl = mediumUrl; }
+
+    public String getFullUrl() { return fullUrl; }
+    public void setFullUrl(String fullUrl) { this.fullUrl = fullUrl; }
+
+    public String getImageHash() { return imageHash; }
+    public void setImageHash(String imageHash) { this.imageHash = imageHash; }
+
+    public int getStock() { return stock; }
+    public void setStock(int stock) { this.stock = stock; }
+
+    public long getVersion() { return version; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    // ---------------- JPA Callbacks ----------------
+    @PrePersist
+    @PreUpdate
+    private void touch() {
+        updatedAt = LocalDateTime.now();
+    }
 }
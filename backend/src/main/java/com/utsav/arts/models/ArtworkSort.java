@@ -0,0 +1,11 @@
+package com.utsav.arts.models;
+
+/**
+ * Enum representing the supported orderings of a paginated artwork listing.
+ * Each ordering is a keyset ordering, so pages are resumed from the last row
+ * of the previous page instead of an offset.
+ */
+public enum ArtworkSort {
+    ID,     // Ascending id (roughly insertion order)
+    PRICE   // Ascending price, ties broken by ascending id
+}
@@ -7,7 +7,8 @@ import java.util.List;
 
 /**
  * Represents a shopping cart for a user, containing multiple CartItems.
- * Provides auto-calculation of total items and total price.
+ * Stores total items and total price, computed on creation and then kept up to date
+ * incrementally as items change.
  */
 @Entity
 public class Cart {
@@ -27,6 +28,14 @@ public class Cart {
 
     private BigDecimal totalPrice;
 
+    /**
+     * Optimistic-lock version, also incremented by the atomic item updates in
+     * {@link com.utsav.arts.repository.CartItemRepository}.
+     */
+    @Version
+    @Column(columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long version;
+
     /** Default constructor for JPA */
     public Cart() {}
 
@@ -54,6 +63,8 @@ public class Cart {
     public int getTotalItems() { return totalItems; }
     public BigDecimal getTotalPrice() { return totalPrice; }
 
+    public long getVersion() { return version; }
+
     /**
      * Recalculates the total items and total price of the cart.
      */
@@ -77,8 +88,8 @@ public class Cart {
     }
 
     // ---------------- JPA Callbacks ----------------
+    // Only on insert: afterwards totals are maintained incrementally by the cart item service
     @PrePersist
-    @PreUpdate
     private void preSave() {
         recalculateTotals();
     }
@@ -6,10 +6,12 @@ import jakarta.persistence.*;
  * Represents a single item inside a shopping cart.
  */
 @Entity
+@Table(name = "cart_items")
 public class CartItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_items_seq")
+    @SequenceGenerator(name = "cart_items_seq", sequenceName = "cart_items_id_seq", allocationSize = 1)
     private int id;
 
     @ManyToOne
@@ -0,0 +1,80 @@
+package com.utsav.arts.models;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored image (original plus variants), deduplicated by the SHA-256 of the uploaded bytes.
+ *
+ * <p>Artworks reference an asset through {@link Artwork#getImageHash()}. {@code refCount}
+ * tracks how many artworks do; once it drops to zero the row is removed and its files
+ * are queued for deletion in the same transaction.</p>
+ */
+@Entity
+@Table(name = "image_assets")
+public class ImageAsset {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "original_url", nullable = false)
+    private String originalUrl;
+
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+
+    @Column(name = "medium_url")
+    private String mediumUrl;
+
+    @Column(name = "full_url")
+    private String fullUrl;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /** Default constructor for JPA */
+    public ImageAsset() {}
+
+    /**
+     * Constructs an ImageAsset with all URLs.
+     */
+    public ImageAsset(String contentHash, String originalUrl, String thumbnailUrl, String mediumUrl, String fullUrl) {
+        this.contentHash = contentHash;
+        this.originalUrl = originalUrl;
+        this.thumbnailUrl = thumbnailUrl;
+        this.mediumUrl = mediumUrl;
+        this.fullUrl = fullUrl;
+    }
+
+    // Getters and Setters
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public String getOriginalUrl() { return originalUrl; }
+    public void setOriginalUrl(String originalUrl) { this.originalUrl = originalUrl; }
+
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+
+    public String getMediumUrl() { return mediumUrl; }
+    public void setMediumUrl(String mediumUrl) { this.mediumUrl = mediumUrl; }
+
+    public String getFullUrl() { return fullUrl; }
+    public void setFullUrl(String fullUrl) { this.fullUrl = fullUrl; }
+
+    public int getRefCount() { return refCount; }
+    public void setRefCount(int refCount) { this.refCount = refCount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    // ---------------- JPA Callbacks ----------------
+    @PrePersist
+    private void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -16,7 +16,8 @@ import java.util.List;
 public class Orders {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_id_seq", allocationSize = 1)
     private int id;
 
     @ManyToOne
@@ -37,6 +38,10 @@ public class Orders {
     @Column(name = "ordered_at")
     private LocalDateTime orderedAt;
 
+    // Latest Stripe PaymentIntent created for this order; set only while PENDING
+    @Column(name = "payment_intent_id")
+    private String paymentIntentId;
+
     /** Default constructor for JPA */
     public Orders() {}
 
@@ -62,6 +67,9 @@ public class Orders {
     public LocalDateTime getOrderedAt() { return orderedAt; }
     public void setOrderedAt(LocalDateTime orderedAt) { this.orderedAt = orderedAt; }
 
+    public String getPaymentIntentId() { return paymentIntentId; }
+    public void setPaymentIntentId(String paymentIntentId) { this.paymentIntentId = paymentIntentId; }
+
     /**
      * Adds an item to this order and sets the relationship properly.
      *
@@ -8,6 +8,7 @@ public enum PaymentStatus {
     SUCCESS, // Payment completed successfully
     FAILED, // Payment failed
     REFUNDED, // Payment was refunded
+    REFUND_REQUIRED, // Paid for an order that could no longer be paid; automatic refund failed
     CANCELLED; // Payment was canceled
 
     /**
@@ -19,7 +20,7 @@ public enum PaymentStatus {
     public boolean canTransitionTo(PaymentStatus next) {
         return switch (this) {
             case PENDING -> next == SUCCESS || next == FAILED || next == CANCELLED;
-            case SUCCESS -> next == REFUNDED;
+            case SUCCESS, REFUND_REQUIRED -> next == REFUNDED;
             case FAILED, CANCELLED, REFUNDED -> false; // terminal
         };
     }
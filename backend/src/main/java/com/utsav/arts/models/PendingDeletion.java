@@ -0,0 +1,82 @@
+package com.utsav.arts.models;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored file that is waiting to be deleted from file storage.
+ *
+ * <p>Rows are written in the same transaction as the database change that orphaned the
+ * file (outbox pattern), so a rolled-back change never loses its image. A background
+ * worker deletes the files in batches after commit, retrying failures with backoff.
+ * Rows whose {@code nextAttemptAt} is null have exhausted their retries and are kept
+ * for inspection only. Rows with {@code deletingSince} set are being unlinked and can no
+ * longer be cancelled.</p>
+ */
+@Entity
+@Table(name = "pending_deletions")
+public class PendingDeletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Column(name = "file_url", nullable = false)
+    private String fileUrl;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    /** Earliest time the worker may (re)try the delete; null once given up. */
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    /** When the worker committed to unlinking the file; null while the deletion can be cancelled. */
+    @Column(name = "deleting_since")
+    private LocalDateTime deletingSince;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /** Default constructor for JPA */
+    public PendingDeletion() {}
+
+    /**
+     * Constructs a pending deletion that is due at the given time.
+     */
+    public PendingDeletion(String fileUrl, LocalDateTime nextAttemptAt) {
+        this.fileUrl = fileUrl;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    // Getters and Setters
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public String getFileUrl() { return fileUrl; }
+    public void setFileUrl(String fileUrl) { this.fileUrl = fileUrl; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public LocalDateTime getDeletingSince() { return deletingSince; }
+    public void setDeletingSince(LocalDateTime deletingSince) { this.deletingSince = deletingSince; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    // ---------------- JPA Callbacks ----------------
+    @PrePersist
+    private void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
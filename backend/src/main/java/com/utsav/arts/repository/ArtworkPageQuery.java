@@ -0,0 +1,53 @@
+package com.utsav.arts.repository;
+
+import com.utsav.arts.models.ArtCategory;
+import com.utsav.arts.models.ArtworkSort;
+
+import java.math.BigDecimal;
+
+/**
+ * Describes a single page request against the artwork catalog.
+ *
+ * <p>Holds the optional filters (category, price range, label), the ordering,
+ * the page size and the keyset position to resume from. A {@code null} filter
+ * means "no restriction". The keyset position ({@code afterId} / {@code afterPrice})
+ * is empty for the first page.</p>
+ */
+public class ArtworkPageQuery {
+
+    private ArtCategory category;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private String label;
+    private ArtworkSort sort = ArtworkSort.ID;
+    private int limit;
+
+    private Integer afterId;
+    private BigDecimal afterPrice;
+
+    public ArtworkPageQuery() {}
+
+    public ArtCategory getCategory() { return category; }
+    public void setCategory(ArtCategory category) { this.category = category; }
+
+    public BigDecimal getMinPrice() { return minPrice; }
+    public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+
+    public String getLabel() { return label; }
+    public void setLabel(String label) { this.label = label; }
+
+    public ArtworkSort getSort() { return sort; }
+    public void setSort(ArtworkSort sort) { this.sort = sort; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+
+    public Integer getAfterId() { return afterId; }
+    public void setAfterId(Integer afterId) { this.afterId = afterId; }
+
+    public BigDecimal getAfterPrice() { return afterPrice; }
+    public void setAfterPrice(BigDecimal afterPrice) { this.afterPrice = afterPrice; }
+}
@@ -1,8 +1,11 @@
 package com.utsav.arts.repository;
 
+import com.utsav.arts.dtos.artworkDTO.ArtworkSummaryDTO;
+import com.utsav.arts.models.ArtCategory;
 import com.utsav.arts.models.Artwork;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -20,6 +23,15 @@ public interface ArtworkRepository {
      */
     Artwork save(Artwork artwork);
 
+    /**
+     * Inserts many new artworks, sent to the database as JDBC batches and flushed
+     * before returning.
+     *
+     * @param artworks New artworks, without IDs
+     * @return The same artworks with IDs assigned
+     */
+    List<Artwork> saveAll(List<Artwork> artworks);
+
     /**
      * Updates an existing artwork entity in the database.
      *
@@ -49,7 +61,49 @@ public interface ArtworkRepository {
      * @param category The category to filter artworks by
      * @return List of Artwork entities in the given category
      */
-    List<Artwork> findByCategory(String category);
+    List<Artwork> findByCategory(ArtCategory category);
+
+    /**
+     * Finds lightweight summaries of the artworks in a category, cheapest first.
+     * <p>
+     * Only columns held by {@code idx_artworks_category} are selected, and the index order
+     * matches the ORDER BY, so Postgres can answer with an index-only scan and no sort step.
+     *
+     * @param category The category to filter artworks by
+     * @return Summaries ordered by price, then ID; artworks without a price come last
+     */
+    List<ArtworkSummaryDTO> findSummariesByCategoryOrderByPrice(ArtCategory category);
+
+    /**
+     * Retrieves one keyset page of artworks matching the given filters.
+     * <p>
+     * At most {@code query.getLimit() + 1} rows are returned so the caller can tell
+     * whether another page exists without issuing a count query.
+     *
+     * @param query Filters, ordering, page size and keyset position
+     * @return Artworks after the keyset position, in the requested order
+     */
+    List<Artwork> findPage(ArtworkPageQuery query);
+
+    /**
+     * Full-text searches artworks through the {@code search_vector} GIN index,
+     * ordered by relevance (title matches weigh more than label, label more than description).
+     *
+     * @param tsQuery  Postgres {@code to_tsquery('simple', ...)} expression
+     * @param category Optional category restriction, or null for all categories
+     * @param limit    Maximum number of results
+     * @param offset   Number of ranked results to skip
+     * @return Matching artworks, best match first
+     */
+    List<Artwork> search(String tsQuery, ArtCategory category, int limit, int offset);
+
+    /**
+     * Counts full-text matches per category, for search facets.
+     *
+     * @param tsQuery Postgres {@code to_tsquery('simple', ...)} expression
+     * @return Number of matching artworks per category; categories without matches are absent
+     */
+    Map<ArtCategory, Long> countSearchMatchesByCategory(String tsQuery);
 
     /**
      * Deletes an artwork by its ID.
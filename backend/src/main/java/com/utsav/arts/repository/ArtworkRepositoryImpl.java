@@ -1,18 +1,28 @@
 package com.utsav.arts.repository;
 
+import com.utsav.arts.dtos.artworkDTO.ArtworkSummaryDTO;
+import com.utsav.arts.models.ArtCategory;
 import com.utsav.arts.models.Artwork;
+import com.utsav.arts.models.ArtworkSort;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Implementation of {@link ArtworkRepository} using JPA {@link EntityManager}.
  * <p>
  * Provides concrete CRUD operations for {@link Artwork} entities in the database.
+ * List queries are marked read-only, so Hibernate keeps no dirty-checking snapshot
+ * for the returned rows; they only feed caches and DTO mapping.
  */
 @Repository
 @Transactional
@@ -33,6 +43,21 @@ public class ArtworkRepositoryImpl implements ArtworkRepository {
         return artwork;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Artwork> saveAll(List<Artwork> artworks) {
+        if (artworks.isEmpty()) return artworks;
+
+        // Sequence IDs are allocated in memory, so Hibernate sends the INSERTs as JDBC batches
+        for (Artwork artwork : artworks) {
+            entityManager.persist(artwork);
+        }
+        entityManager.flush();
+        return artworks;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -55,24 +80,154 @@ public class ArtworkRepositoryImpl implements ArtworkRepository {
     @Override
     public List<Artwork> findAll() {
         return entityManager.createQuery(
-                "SELECT a FROM Artwork a",
-                Artwork.class
-        ).getResultList();
+                        "SELECT a FROM Artwork a",
+                        Artwork.class
+                )
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<Artwork> findByCategory(String category) {
+    public List<Artwork> findByCategory(ArtCategory category) {
         return entityManager.createQuery(
                         "SELECT a FROM Artwork a WHERE a.category = :category",
                         Artwork.class
                 )
                 .setParameter("category", category)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ArtworkSummaryDTO> findSummariesByCategoryOrderByPrice(ArtCategory category) {
+        return entityManager.createQuery("""
+                        SELECT new com.utsav.arts.dtos.artworkDTO.ArtworkSummaryDTO(
+                            a.id, a.title, a.category, a.price, a.imgUrl, a.thumbnailUrl)
+                        FROM Artwork a
+                        WHERE a.category = :category
+                        ORDER BY a.price, a.id
+                        """, ArtworkSummaryDTO.class)
+                .setParameter("category", category)
+                .getResultList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Artwork> findPage(ArtworkPageQuery query) {
+        boolean byPrice = query.getSort() == ArtworkSort.PRICE;
+        StringBuilder jpql = new StringBuilder("SELECT a FROM Artwork a WHERE 1 = 1");
+
+        if (query.getCategory() != null) {
+            jpql.append(" AND a.category = :category");
+        }
+        if (query.getMinPrice() != null) {
+            jpql.append(" AND a.price >= :minPrice");
+        }
+        if (query.getMaxPrice() != null) {
+            jpql.append(" AND a.price <= :maxPrice");
+        }
+        if (query.getLabel() != null) {
+            jpql.append(" AND a.label = :label");
+        }
+
+        // Keyset predicate: resume strictly after the last row of the previous page
+        if (byPrice) {
+            // Rows without a price cannot be placed on the price keyset
+            jpql.append(" AND a.price IS NOT NULL");
+            if (query.getAfterId() != null) {
+                jpql.append(" AND (a.price > :afterPrice OR (a.price = :afterPrice AND a.id > :afterId))");
+            }
+            jpql.append(" ORDER BY a.price, a.id");
+        } else {
+            if (query.getAfterId() != null) {
+                jpql.append(" AND a.id > :afterId");
+            }
+            jpql.append(" ORDER BY a.id");
+        }
+
+        TypedQuery<Artwork> typedQuery = entityManager.createQuery(jpql.toString(), Artwork.class);
+
+        if (query.getCategory() != null) {
+            typedQuery.setParameter("category", query.getCategory());
+        }
+        if (query.getMinPrice() != null) {
+            typedQuery.setParameter("minPrice", query.getMinPrice());
+        }
+        if (query.getMaxPrice() != null) {
+            typedQuery.setParameter("maxPrice", query.getMaxPrice());
+        }
+        if (query.getLabel() != null) {
+            typedQuery.setParameter("label", query.getLabel());
+        }
+        if (query.getAfterId() != null) {
+            typedQuery.setParameter("afterId", query.getAfterId());
+            if (byPrice) {
+                typedQuery.setParameter("afterPrice", query.getAfterPrice());
+            }
+        }
+
+        return typedQuery
+                .setMaxResults(query.getLimit() + 1)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
                 .getResultList();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Artwork> search(String tsQuery, ArtCategory category, int limit, int offset) {
+        String sql = """
+                SELECT a.*
+                FROM artworks a, to_tsquery('simple', :query) q
+                WHERE a.search_vector @@ q
+                """
+                + (category != null ? " AND a.category = :category" : "")
+                + " ORDER BY ts_rank_cd(a.search_vector, q) DESC, a.id"
+                + " LIMIT :limit OFFSET :offset";
+
+        Query query = entityManager.createNativeQuery(sql, Artwork.class)
+                .setParameter("query", tsQuery)
+                .setParameter("limit", limit)
+                .setParameter("offset", offset)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (category != null) {
+            query.setParameter("category", category.name());
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<ArtCategory, Long> countSearchMatchesByCategory(String tsQuery) {
+        List<Object[]> rows = entityManager.createNativeQuery("""
+                        SELECT a.category, COUNT(*)
+                        FROM artworks a
+                        WHERE a.search_vector @@ to_tsquery('simple', :query)
+                        GROUP BY a.category
+                        """)
+                .setParameter("query", tsQuery)
+                .getResultList();
+
+        Map<ArtCategory, Long> counts = new EnumMap<>(ArtCategory.class);
+        for (Object[] row : rows) {
+            counts.put(ArtCategory.valueOf((String) row[0]), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
     /**
      * {@inheritDoc}
      */
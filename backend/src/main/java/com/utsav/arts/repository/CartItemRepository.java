@@ -3,6 +3,7 @@ package com.utsav.arts.repository;
 import com.utsav.arts.models.CartItem;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -37,6 +38,22 @@ public interface CartItemRepository {
      */
     Optional<CartItem> findById(int id);
 
+    /**
+     * Finds the ID of the user owning a cart item, without loading it.
+     *
+     * @param id the cart item ID
+     * @return an Optional containing the owner's user ID if the cart item exists
+     */
+    Optional<Integer> findOwnerId(int id);
+
+    /**
+     * Finds the ID of the cart holding a cart item, without loading it.
+     *
+     * @param id the cart item ID
+     * @return an Optional containing the cart ID if the cart item exists
+     */
+    Optional<Integer> findCartId(int id);
+
     /**
      * Retrieves all cart items belonging to a specific cart.
      *
@@ -56,6 +73,70 @@ public interface CartItemRepository {
      */
     Optional<CartItem> findByCartIdAndArtworkId(int cartId, int artworkId);
 
+    /**
+     * Adds an artwork to a cart, or raises its quantity if it is already there, and
+     * recomputes the cart totals at current prices in the same statement. The cart is
+     * locked first, so concurrent adds of the same artwork are summed, never lost, and an
+     * existing line is updated without drawing a new ID.
+     *
+     * @param cartItem new item with cart, artwork and quantity set
+     * @return the same item, with the stored ID and resulting total quantity
+     */
+    CartItem addOrIncrement(CartItem cartItem);
+
+    /**
+     * Changes a cart item's quantity by {@code delta} and recomputes the cart totals at
+     * current prices, in one statement after locking the cart. The item is removed once
+     * its quantity reaches zero.
+     *
+     * @param id    the cart item ID
+     * @param delta quantity change (may be negative)
+     * @return true if the cart item exists
+     */
+    boolean adjustQuantity(int id, int delta);
+
+    /**
+     * Sets a cart item's quantity and recomputes the cart totals at current prices, in one
+     * statement after locking the cart. A quantity of zero removes the item.
+     *
+     * @param id       the cart item ID
+     * @param quantity new quantity, zero to remove
+     * @return true if the cart item exists
+     */
+    boolean setQuantity(int id, int quantity);
+
+    /**
+     * Sets the quantities of several cart items, each like {@link #setQuantity(int, int)},
+     * in a transaction of its own that commits before this method returns. Items that no
+     * longer exist are skipped.
+     *
+     * @param quantities new quantity per cart item ID, zero to remove
+     * @return number of items written; each bumped the cart version by one
+     */
+    int writeQuantities(Map<Integer, Integer> quantities);
+
+    /**
+     * Adds to, or with {@code replace} sets, the quantity of an artwork's line in a cart,
+     * creating the line if needed. Cart totals are not touched; callers applying several
+     * lines recompute them once with {@link CartRepository#recalculateTotals(int)}.
+     * Callers must hold the cart lock ({@link CartRepository#lockById(int)}).
+     *
+     * @param cartId    the cart ID
+     * @param artworkId the artwork ID
+     * @param quantity  amount to add, or the new quantity if {@code replace}; at least 1
+     * @param replace   whether to set instead of add
+     * @return true if the artwork exists
+     */
+    boolean mergeLine(int cartId, int artworkId, int quantity, boolean replace);
+
+    /**
+     * Removes an artwork's line from a cart, if present. Cart totals are not touched.
+     *
+     * @param cartId    the cart ID
+     * @param artworkId the artwork ID
+     */
+    void deleteLine(int cartId, int artworkId);
+
     /**
      * Deletes a cart item by its ID.
      *
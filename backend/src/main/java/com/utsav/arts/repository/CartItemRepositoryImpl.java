@@ -8,6 +8,7 @@ import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -40,6 +41,28 @@ public class CartItemRepositoryImpl implements CartItemRepository {
         return entityManager.merge(cartItem);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Integer> findOwnerId(int id) {
+        return entityManager.createQuery("SELECT ci.cart.user.id FROM CartItem ci WHERE ci.id = :id", Integer.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Integer> findCartId(int id) {
+        return entityManager.createQuery("SELECT ci.cart.id FROM CartItem ci WHERE ci.id = :id", Integer.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -81,6 +104,103 @@ public class CartItemRepositoryImpl implements CartItemRepository {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CartItem addOrIncrement(CartItem cartItem) {
+        lockCart(cartItem.getCart().getId());
+        // With the cart locked no one else can add the line, so it is updated if present and
+        // only inserted otherwise; an upsert would draw an ID from the sequence every time
+        List<?> line = writeLineAndTotals(cartItem, """
+                UPDATE cart_items SET quantity = quantity + :quantity
+                WHERE cart_id = :cartId AND artwork_id = :artworkId
+                RETURNING id, quantity
+                """);
+        if (line.isEmpty()) {
+            line = writeLineAndTotals(cartItem, """
+                    INSERT INTO cart_items (cart_id, artwork_id, quantity)
+                    VALUES (:cartId, :artworkId, :quantity)
+                    RETURNING id, quantity
+                    """);
+        }
+        Object[] row = (Object[]) line.get(0);
+        cartItem.setId(((Number) row[0]).intValue());
+        cartItem.setQuantity(((Number) row[1]).intValue());
+        return cartItem;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean adjustQuantity(int id, int delta) {
+        return changeQuantity(id, "GREATEST(ci.quantity + :value, 0)", delta);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean setQuantity(int id, int quantity) {
+        return changeQuantity(id, "CAST(:value AS INT)", quantity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public int writeQuantities(Map<Integer, Integer> quantities) {
+        int written = 0;
+        for (Map.Entry<Integer, Integer> quantity : quantities.entrySet()) {
+            if (setQuantity(quantity.getKey(), quantity.getValue())) {
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean mergeLine(int cartId, int artworkId, int quantity, boolean replace) {
+        // Update first and insert only a missing line, like addOrIncrement; the caller holds the cart lock
+        int updated = entityManager.createNativeQuery("""
+                        UPDATE cart_items SET quantity = %s
+                        WHERE cart_id = :cartId AND artwork_id = :artworkId
+                        """.formatted(replace ? ":quantity" : "quantity + :quantity"))
+                .setParameter("cartId", cartId)
+                .setParameter("artworkId", artworkId)
+                .setParameter("quantity", quantity)
+                .executeUpdate();
+        if (updated == 1) {
+            return true;
+        }
+        return entityManager.createNativeQuery("""
+                        INSERT INTO cart_items (cart_id, artwork_id, quantity)
+                        SELECT :cartId, a.id, :quantity FROM artworks a WHERE a.id = :artworkId
+                        """)
+                .setParameter("cartId", cartId)
+                .setParameter("artworkId", artworkId)
+                .setParameter("quantity", quantity)
+                .executeUpdate() == 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteLine(int cartId, int artworkId) {
+        entityManager.createQuery(
+                        "DELETE FROM CartItem ci WHERE ci.cart.id = :cartId AND ci.artwork.id = :artworkId"
+                )
+                .setParameter("cartId", cartId)
+                .setParameter("artworkId", artworkId)
+                .executeUpdate();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -103,4 +223,104 @@ public class CartItemRepositoryImpl implements CartItemRepository {
                 .setParameter("cartId", cartId)
                 .executeUpdate();
     }
+
+    /**
+     * Runs a statement writing one line of the item's cart, returning {@code id, quantity},
+     * and recomputes the cart totals in the same statement. All CTEs see the items as before
+     * the statement, so the other lines are summed and the written line is added with its
+     * new quantity. Nothing is changed if the statement returns no line.
+     */
+    private List<?> writeLineAndTotals(CartItem cartItem, String lineStatement) {
+        return entityManager.createNativeQuery("""
+                        WITH line AS (
+                        %s),
+                        others AS (
+                            SELECT SUM(ci.quantity) AS items,
+                                   SUM(ci.quantity * COALESCE(a.price, 0)) AS price
+                            FROM cart_items ci
+                            JOIN artworks a ON a.id = ci.artwork_id
+                            WHERE ci.cart_id = :cartId AND ci.artwork_id <> :artworkId
+                        ),
+                        totals AS (
+                            UPDATE cart c
+                            SET total_items = l.quantity + COALESCE(o.items, 0),
+                                total_price = l.quantity
+                                    * COALESCE((SELECT a.price FROM artworks a WHERE a.id = :artworkId), 0)
+                                    + COALESCE(o.price, 0),
+                                version = c.version + 1
+                            FROM line l, others o
+                            WHERE c.id = :cartId
+                        )
+                        SELECT id, quantity FROM line
+                        """.formatted(lineStatement))
+                .setParameter("cartId", cartItem.getCart().getId())
+                .setParameter("artworkId", cartItem.getArtwork().getId())
+                .setParameter("quantity", cartItem.getQuantity())
+                .getResultList();
+    }
+
+    /** Locks the cart row first, like every write to its items. */
+    private void lockCart(int cartId) {
+        entityManager.createNativeQuery("SELECT id FROM cart WHERE id = :id FOR UPDATE")
+                .setParameter("id", cartId)
+                .getResultList();
+    }
+
+    /**
+     * Locks the item's cart, then the item, and updates or deletes the item and recomputes
+     * the cart totals in one statement: the other lines are summed as before the statement
+     * and the changed line is added with its new quantity.
+     */
+    private boolean changeQuantity(int id, String newQuantity, int value) {
+        // Cart items may be cached in this persistence context; the statement bypasses it
+        entityManager.flush();
+        entityManager.createNativeQuery("""
+                        SELECT c.id FROM cart c
+                        WHERE c.id = (SELECT ci.cart_id FROM cart_items ci WHERE ci.id = :id)
+                        FOR UPDATE
+                        """)
+                .setParameter("id", id)
+                .getResultList();
+        List<?> changed = entityManager.createNativeQuery("""
+                        WITH target AS (
+                            SELECT ci.id, ci.cart_id, ci.quantity,
+                                   %s AS new_quantity,
+                                   COALESCE(a.price, 0) AS price
+                            FROM cart_items ci
+                            JOIN artworks a ON a.id = ci.artwork_id
+                            WHERE ci.id = :id
+                            FOR UPDATE OF ci
+                        ),
+                        updated AS (
+                            UPDATE cart_items ci SET quantity = t.new_quantity
+                            FROM target t
+                            WHERE ci.id = t.id AND t.new_quantity > 0
+                        ),
+                        deleted AS (
+                            DELETE FROM cart_items ci
+                            USING target t
+                            WHERE ci.id = t.id AND t.new_quantity = 0
+                        ),
+                        others AS (
+                            SELECT SUM(ci.quantity) AS items,
+                                   SUM(ci.quantity * COALESCE(a.price, 0)) AS price
+                            FROM cart_items ci
+                            JOIN artworks a ON a.id = ci.artwork_id
+                            JOIN target t ON ci.cart_id = t.cart_id AND ci.id <> t.id
+                        ),
+                        totals AS (
+                            UPDATE cart c
+                            SET total_items = t.new_quantity + COALESCE(o.items, 0),
+                                total_price = t.new_quantity * t.price + COALESCE(o.price, 0),
+                                version = c.version + 1
+                            FROM target t, others o
+                            WHERE c.id = t.cart_id
+                        )
+                        SELECT id FROM target
+                        """.formatted(newQuantity))
+                .setParameter("id", id)
+                .setParameter("value", value)
+                .getResultList();
+        return !changed.isEmpty();
+    }
 }
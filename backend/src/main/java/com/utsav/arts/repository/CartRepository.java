@@ -2,6 +2,7 @@ package com.utsav.arts.repository;
 
 import com.utsav.arts.models.Cart;
 
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -31,6 +32,14 @@ public interface CartRepository {
      */
     Optional<Cart> findById(int id);
 
+    /**
+     * Finds the ID of the user owning a cart, without loading it.
+     *
+     * @param id the cart ID
+     * @return an Optional containing the owner's user ID if the cart exists
+     */
+    Optional<Integer> findOwnerId(int id);
+
     /**
      * Finds the cart belonging to a specific user.
      * <p>
@@ -41,6 +50,52 @@ public interface CartRepository {
      */
     Optional<Cart> findByUserId(int userId);
 
+    /**
+     * Checks whether a cart exists, without loading it.
+     *
+     * @param id the cart ID
+     * @return true if the cart exists
+     */
+    boolean existsById(int id);
+
+    /**
+     * Reads the version of a cart and the summed versions of the given artworks, without
+     * loading either. A copy of the cart held in memory compares them with its own to tell
+     * whether the cart or any of its prices changed since it was loaded.
+     *
+     * @param id         the cart ID
+     * @param artworkIds IDs of the artworks in the held copy, may be empty
+     * @return an Optional containing the versions if the cart exists
+     */
+    Optional<CartVersion> findVersion(int id, Collection<Integer> artworkIds);
+
+    /**
+     * Locks a cart row until the end of the current transaction. Every write to a cart's
+     * items takes this lock before touching item rows, so concurrent writers queue on the
+     * cart instead of locking items and the cart in different orders.
+     *
+     * @param id the cart ID
+     * @return true if the cart exists
+     */
+    boolean lockById(int id);
+
+    /**
+     * Recomputes a cart's totals from its items in one UPDATE, e.g. after several lines
+     * were changed with {@link CartItemRepository#mergeLine}.
+     *
+     * @param cartId the cart ID
+     * @return true if the cart exists
+     */
+    boolean recalculateTotals(int cartId);
+
+    /**
+     * Sets a cart's totals to zero, e.g. when it is emptied.
+     *
+     * @param cartId the cart ID
+     * @return true if the cart exists
+     */
+    boolean resetTotals(int cartId);
+
     /**
      * Deletes a cart by its unique identifier.
      *
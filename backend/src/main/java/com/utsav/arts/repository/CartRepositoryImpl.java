@@ -7,6 +7,8 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -38,6 +40,17 @@ public class CartRepositoryImpl implements CartRepository {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Integer> findOwnerId(int id) {
+        return entityManager.createQuery("SELECT c.user.id FROM Cart c WHERE c.id = :id", Integer.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -88,6 +101,84 @@ public class CartRepositoryImpl implements CartRepository {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean existsById(int id) {
+        return entityManager.createQuery("SELECT COUNT(c) FROM Cart c WHERE c.id = :id", Long.class)
+                .setParameter("id", id)
+                .getSingleResult() > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<CartVersion> findVersion(int id, Collection<Integer> artworkIds) {
+        List<?> rows = entityManager.createNativeQuery("""
+                        SELECT c.version,
+                               (SELECT COALESCE(SUM(a.version), 0) FROM artworks a WHERE a.id IN (:artworkIds))
+                        FROM cart c
+                        WHERE c.id = :id
+                        """)
+                .setParameter("id", id)
+                // IN () is not valid SQL; no artwork has ID 0
+                .setParameter("artworkIds", artworkIds.isEmpty() ? List.of(0) : artworkIds)
+                .getResultList();
+        if (rows.isEmpty()) return Optional.empty();
+
+        Object[] row = (Object[]) rows.get(0);
+        return Optional.of(new CartVersion(((Number) row[0]).longValue(), ((Number) row[1]).longValue()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean lockById(int id) {
+        return !entityManager.createNativeQuery("SELECT id FROM cart WHERE id = :id FOR UPDATE")
+                .setParameter("id", id)
+                .getResultList()
+                .isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean recalculateTotals(int cartId) {
+        return entityManager.createNativeQuery("""
+                        UPDATE cart c
+                        SET total_items = COALESCE(t.items, 0),
+                            total_price = COALESCE(t.price, 0),
+                            version = c.version + 1
+                        FROM (
+                            SELECT SUM(ci.quantity) AS items,
+                                   SUM(ci.quantity * COALESCE(a.price, 0)) AS price
+                            FROM cart_items ci
+                            JOIN artworks a ON a.id = ci.artwork_id
+                            WHERE ci.cart_id = :id
+                        ) t
+                        WHERE c.id = :id
+                        """)
+                .setParameter("id", cartId)
+                .executeUpdate() == 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean resetTotals(int cartId) {
+        return entityManager.createQuery("""
+                        UPDATE Cart c SET c.totalItems = 0, c.totalPrice = 0, c.version = c.version + 1
+                        WHERE c.id = :id
+                        """)
+                .setParameter("id", cartId)
+                .executeUpdate() == 1;
+    }
+
     /**
      * {@inheritDoc}
      */
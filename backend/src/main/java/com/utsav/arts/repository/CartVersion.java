@@ -0,0 +1,11 @@
+package com.utsav.arts.repository;
+
+/**
+ * Current versions of a cart and of some of its artworks, as read by
+ * {@link CartRepository#findVersion}.
+ *
+ * @param cart     the cart's optimistic-lock version, bumped by every write to its items
+ * @param artworks sum of the artworks' optimistic-lock versions, which changes when any
+ *                 of them is updated or deleted
+ */
+public record CartVersion(long cart, long artworks) {}
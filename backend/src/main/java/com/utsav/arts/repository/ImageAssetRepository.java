@@ -0,0 +1,61 @@
+package com.utsav.arts.repository;
+
+import com.utsav.arts.models.ImageAsset;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for the deduplicated {@link ImageAsset} index.
+ *
+ * <p>Reference counts are only changed with single atomic statements, so concurrent
+ * acquires and releases of the same asset never lose an update.</p>
+ */
+public interface ImageAssetRepository {
+
+    /**
+     * Finds an asset by the SHA-256 of its original bytes.
+     *
+     * @param contentHash lowercase hex SHA-256
+     * @return an {@link Optional} containing the asset if stored
+     */
+    Optional<ImageAsset> findByHash(String contentHash);
+
+    /**
+     * Adds a reference to an existing asset.
+     *
+     * @param contentHash hash of the asset
+     * @return false if the asset no longer exists (it was released concurrently)
+     */
+    boolean acquireExisting(String contentHash);
+
+    /**
+     * Inserts a freshly uploaded asset with one reference, or, if an identical upload
+     * won the race, adds a reference to that one instead. The same transaction must cancel
+     * the queued deletions of the candidate's files, which fails while the deletion worker
+     * is unlinking one of them, so no asset can commit pointing at a file about to vanish.
+     *
+     * @param candidate the freshly uploaded asset
+     * @return the asset now stored for this hash, which may have other URLs than the candidate
+     */
+    ImageAsset acquireOrInsert(ImageAsset candidate);
+
+    /**
+     * Removes a reference from an asset, and the asset itself when it was the last one.
+     *
+     * @param contentHash hash of the asset
+     * @return the removed asset if it is no longer referenced, whose files must be deleted
+     */
+    Optional<ImageAsset> release(String contentHash);
+
+    /**
+     * Locks every asset that uses one of the given files, as original or as a variant,
+     * until the end of the current transaction. Acquires and releases of those assets
+     * wait until then.
+     *
+     * @param fileUrls public URLs of the files
+     * @return the locked assets
+     */
+    List<ImageAsset> lockByFileUrls(Collection<String> fileUrls);
+}
@@ -0,0 +1,113 @@
+package com.utsav.arts.repository;
+
+import com.utsav.arts.models.ImageAsset;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA-based implementation of {@link ImageAssetRepository}.
+ * Reference counting uses native PostgreSQL statements ({@code ON CONFLICT}, {@code RETURNING}).
+ */
+@Repository
+@Transactional
+public class ImageAssetRepositoryImpl implements ImageAssetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<ImageAsset> findByHash(String contentHash) {
+        return Optional.ofNullable(entityManager.find(ImageAsset.class, contentHash));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean acquireExisting(String contentHash) {
+        return entityManager.createNativeQuery("""
+                        UPDATE image_assets SET ref_count = ref_count + 1
+                        WHERE content_hash = :hash
+                        """)
+                .setParameter("hash", contentHash)
+                .executeUpdate() == 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImageAsset acquireOrInsert(ImageAsset candidate) {
+        return (ImageAsset) entityManager.createNativeQuery("""
+                        INSERT INTO image_assets
+                            (content_hash, original_url, thumbnail_url, medium_url, full_url, ref_count, created_at)
+                        VALUES (:hash, :original, :thumbnail, :medium, :full, 1, CURRENT_TIMESTAMP)
+                        ON CONFLICT (content_hash)
+                            DO UPDATE SET ref_count = image_assets.ref_count + 1
+                        RETURNING *
+                        """, ImageAsset.class)
+                .setParameter("hash", candidate.getContentHash())
+                .setParameter("original", candidate.getOriginalUrl())
+                .setParameter("thumbnail", candidate.getThumbnailUrl())
+                .setParameter("medium", candidate.getMediumUrl())
+                .setParameter("full", candidate.getFullUrl())
+                .getSingleResult();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<ImageAsset> release(String contentHash) {
+        // Locks the row until commit, so a concurrent acquire waits and then sees the outcome
+        List<Number> remaining = entityManager.createNativeQuery("""
+                        UPDATE image_assets SET ref_count = ref_count - 1
+                        WHERE content_hash = :hash AND ref_count > 0
+                        RETURNING ref_count
+                        """)
+                .setParameter("hash", contentHash)
+                .getResultList();
+        if (remaining.isEmpty() || remaining.get(0).intValue() > 0) {
+            return Optional.empty();
+        }
+
+        List<ImageAsset> removed = entityManager.createNativeQuery("""
+                        DELETE FROM image_assets
+                        WHERE content_hash = :hash AND ref_count = 0
+                        RETURNING *
+                        """, ImageAsset.class)
+                .setParameter("hash", contentHash)
+                .getResultList();
+        return removed.stream().findFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ImageAsset> lockByFileUrls(Collection<String> fileUrls) {
+        if (fileUrls.isEmpty()) return List.of();
+        return entityManager.createNativeQuery("""
+                        SELECT * FROM image_assets
+                        WHERE original_url IN (:urls)
+                           OR thumbnail_url IN (:urls)
+                           OR medium_url IN (:urls)
+                           OR full_url IN (:urls)
+                        ORDER BY content_hash
+                        FOR UPDATE
+                        """, ImageAsset.class)
+                .setParameter("urls", fileUrls)
+                .getResultList();
+    }
+}
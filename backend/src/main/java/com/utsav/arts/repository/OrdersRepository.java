@@ -1,8 +1,11 @@
 package com.utsav.arts.repository;
 
+import com.utsav.arts.dtos.ordersDTO.OrdersResponseDTO;
 import com.utsav.arts.models.OrderStatus;
 import com.utsav.arts.models.Orders;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +25,57 @@ public interface OrdersRepository {
      */
     Orders save(Orders order);
 
+    /**
+     * Creates a PENDING order from a user's cart in one statement: the order row and one
+     * order line per cart item, priced at the artworks' current prices, with the total
+     * computed by the database. Nothing is inserted when the cart is missing or empty.
+     *
+     * @param userId    ID of the ordering user
+     * @param address   Shipping address
+     * @param orderedAt Order timestamp
+     * @return ID of the new order, or empty if the cart had no items
+     */
+    Optional<Integer> insertFromCart(int userId, String address, LocalDateTime orderedAt);
+
+    /**
+     * Moves an order to a new status only if it still has the expected one.
+     * Concurrent transitions of the same order are therefore applied at most once.
+     *
+     * @param orderId ID of the order
+     * @param from    Status the order must currently have
+     * @param to      New status
+     * @return true if the order was updated
+     */
+    boolean transitionStatus(int orderId, OrderStatus from, OrderStatus to);
+
+    /**
+     * Cancels up to {@code limit} PENDING orders placed before {@code cutoff}.
+     * Orders locked by another transaction are skipped rather than waited for.
+     *
+     * @param cutoff Orders placed before this time are expired
+     * @param limit  Maximum number of orders to cancel
+     * @return IDs of the cancelled orders
+     */
+    List<Integer> expirePending(LocalDateTime cutoff, int limit);
+
+    /**
+     * Records the Stripe PaymentIntent paying an order, only while the order is PENDING.
+     * An order expired or cancelled concurrently is left untouched.
+     *
+     * @param orderId         ID of the order
+     * @param paymentIntentId ID of the PaymentIntent
+     * @return true if the order was still PENDING and now references the intent
+     */
+    boolean recordPaymentIntent(int orderId, String paymentIntentId);
+
+    /**
+     * Finds the Stripe PaymentIntents recorded for the given orders.
+     *
+     * @param orderIds IDs of the orders
+     * @return IDs of the recorded PaymentIntents; orders without one are skipped
+     */
+    List<String> findPaymentIntentIds(Collection<Integer> orderIds);
+
     /**
      * Updates an existing order.
      *
@@ -38,6 +92,14 @@ public interface OrdersRepository {
      */
     Optional<Orders> findById(int id);
 
+    /**
+     * Finds the ID of the user owning a order, without loading it.
+     *
+     * @param id the order ID
+     * @return an Optional containing the owner's user ID if the order exists
+     */
+    Optional<Integer> findOwnerId(int id);
+
     /**
      * Retrieves all orders in the system.
      *
@@ -45,6 +107,16 @@ public interface OrdersRepository {
      */
     List<Orders> findAll();
 
+    /**
+     * Retrieves all orders with their items as read-only DTO projections, newest first.
+     * <p>
+     * Uses one query for orders and one for items instead of hydrating managed entities,
+     * so no dirty-checking snapshots are kept and no per-row artwork or user lookups happen.
+     *
+     * @return a list of all orders as response DTOs
+     */
+    List<OrdersResponseDTO> findAllSummaries();
+
     /**
      * Retrieves all orders placed by a specific user.
      *
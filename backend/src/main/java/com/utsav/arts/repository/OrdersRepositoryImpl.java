@@ -1,5 +1,7 @@
 package com.utsav.arts.repository;
 
+import com.utsav.arts.dtos.ordersDTO.OrderItemResponseDTO;
+import com.utsav.arts.dtos.ordersDTO.OrdersResponseDTO;
 import com.utsav.arts.models.OrderStatus;
 import com.utsav.arts.models.Orders;
 import jakarta.persistence.EntityManager;
@@ -7,7 +9,13 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -31,7 +39,115 @@ public class OrdersRepositoryImpl implements OrdersRepository {
      */
     @Override
     public Orders save(Orders order) {
-        return entityManager.merge(order);
+        // persist cascades to the items; their INSERTs are batched at flush
+        entityManager.persist(order);
+        return order;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Data-modifying CTEs read the cart lines once and insert the order and all of its
+     * lines in a single round trip, however large the cart is.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Integer> insertFromCart(int userId, String address, LocalDateTime orderedAt) {
+        List<Number> ids = entityManager.createNativeQuery("""
+                        WITH lines AS (
+                            SELECT ci.artwork_id, ci.quantity, a.price
+                            FROM cart c
+                            JOIN cart_items ci ON ci.cart_id = c.id
+                            JOIN artworks a ON a.id = ci.artwork_id
+                            WHERE c.user_id = :userId
+                        ),
+                        new_order AS (
+                            INSERT INTO orders (user_id, total_price, address, status, ordered_at)
+                            SELECT :userId, SUM(price * quantity), :address, 'PENDING', :orderedAt
+                            FROM lines
+                            HAVING COUNT(*) > 0
+                            RETURNING id
+                        ),
+                        new_items AS (
+                            INSERT INTO order_items (order_id, artwork_id, quantity, price_at_purchase)
+                            SELECT o.id, l.artwork_id, l.quantity, l.price
+                            FROM new_order o CROSS JOIN lines l
+                        )
+                        SELECT id FROM new_order
+                        """)
+                .setParameter("userId", userId)
+                .setParameter("address", address)
+                .setParameter("orderedAt", orderedAt)
+                .getResultList();
+        return ids.stream().findFirst().map(Number::intValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean transitionStatus(int orderId, OrderStatus from, OrderStatus to) {
+        return entityManager.createQuery("""
+                        UPDATE Orders o SET o.status = :to
+                        WHERE o.id = :id AND o.status = :from
+                        """)
+                .setParameter("to", to)
+                .setParameter("id", orderId)
+                .setParameter("from", from)
+                .executeUpdate() == 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Integer> expirePending(LocalDateTime cutoff, int limit) {
+        List<Number> ids = entityManager.createNativeQuery("""
+                        UPDATE orders SET status = 'CANCELLED'
+                        WHERE id IN (
+                            SELECT id FROM orders
+                            WHERE status = 'PENDING' AND ordered_at < :cutoff
+                            ORDER BY ordered_at
+                            LIMIT :limit
+                            FOR UPDATE SKIP LOCKED
+                        )
+                        RETURNING id
+                        """)
+                .setParameter("cutoff", cutoff)
+                .setParameter("limit", limit)
+                .getResultList();
+        return ids.stream().map(Number::intValue).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean recordPaymentIntent(int orderId, String paymentIntentId) {
+        return entityManager.createQuery("""
+                        UPDATE Orders o SET o.paymentIntentId = :paymentIntentId
+                        WHERE o.id = :id AND o.status = :pending
+                        """)
+                .setParameter("paymentIntentId", paymentIntentId)
+                .setParameter("id", orderId)
+                .setParameter("pending", OrderStatus.PENDING)
+                .executeUpdate() == 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> findPaymentIntentIds(Collection<Integer> orderIds) {
+        if (orderIds.isEmpty()) return List.of();
+
+        return entityManager.createQuery("""
+                        SELECT o.paymentIntentId FROM Orders o
+                        WHERE o.id IN :ids AND o.paymentIntentId IS NOT NULL
+                        """, String.class)
+                .setParameter("ids", orderIds)
+                .getResultList();
     }
 
     /**
@@ -42,16 +158,33 @@ public class OrdersRepositoryImpl implements OrdersRepository {
         return entityManager.merge(order);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Integer> findOwnerId(int id) {
+        return entityManager.createQuery("SELECT o.user.id FROM Orders o WHERE o.id = :id", Integer.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
     /**
      * {@inheritDoc}
      * <p>
-     * Fetches order items eagerly to ensure the order is fully initialized.
+     * Fetches the user, order items and their artworks in one query, so mapping the order
+     * triggers no further selects.
      */
     @Override
     public Optional<Orders> findById(int id) {
         try {
-            Orders order = entityManager.createQuery(
-                            "SELECT o FROM Orders o LEFT JOIN FETCH o.orderItems WHERE o.id = :id",
+            Orders order = entityManager.createQuery("""
+                            SELECT o FROM Orders o
+                            JOIN FETCH o.user
+                            LEFT JOIN FETCH o.orderItems oi
+                            LEFT JOIN FETCH oi.artwork
+                            WHERE o.id = :id
+                            """,
                             Orders.class
                     ).setParameter("id", id)
                     .getSingleResult();
@@ -74,6 +207,43 @@ public class OrdersRepositoryImpl implements OrdersRepository {
         ).getResultList();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<OrdersResponseDTO> findAllSummaries() {
+        List<OrdersResponseDTO> orders = entityManager.createQuery("""
+                        SELECT new com.utsav.arts.dtos.ordersDTO.OrdersResponseDTO(
+                            o.id, o.user.id, o.totalPrice, o.address, o.status, o.orderedAt)
+                        FROM Orders o
+                        ORDER BY o.orderedAt DESC
+                        """, OrdersResponseDTO.class)
+                .getResultList();
+
+        Map<Integer, OrdersResponseDTO> byId = new HashMap<>();
+        for (OrdersResponseDTO order : orders) {
+            order.setItems(new ArrayList<>());
+            byId.put(order.getId(), order);
+        }
+
+        List<Object[]> itemRows = entityManager.createQuery("""
+                        SELECT oi.order.id, oi.id, a.id, a.title, a.imgUrl, oi.quantity, oi.priceAtPurchase
+                        FROM OrderItem oi JOIN oi.artwork a
+                        ORDER BY oi.id
+                        """, Object[].class)
+                .getResultList();
+
+        for (Object[] row : itemRows) {
+            OrdersResponseDTO order = byId.get((Integer) row[0]);
+            if (order != null) {
+                order.getItems().add(new OrderItemResponseDTO(
+                        (Integer) row[1], (Integer) row[2], (String) row[3], (String) row[4],
+                        (Integer) row[5], (BigDecimal) row[6]));
+            }
+        }
+        return orders;
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -1,5 +1,6 @@
 package com.utsav.arts.repository;
 
+import com.utsav.arts.dtos.paymentDTO.PaymentResponseDTO;
 import com.utsav.arts.models.Payment;
 import com.utsav.arts.models.PaymentStatus;
 
@@ -40,6 +41,14 @@ public interface PaymentRepository {
      */
     Optional<Payment> findById(int id);
 
+    /**
+     * Finds the ID of the user owning a payment, without loading it.
+     *
+     * @param id the payment ID
+     * @return an Optional containing the owner's user ID if the payment exists
+     */
+    Optional<Integer> findOwnerId(int id);
+
     /**
      * Finds a payment using its external transaction ID
      * (e.g., Stripe PaymentIntent ID).
@@ -80,6 +89,16 @@ public interface PaymentRepository {
      */
     List<Payment> findAll();
 
+    /**
+     * Retrieves all payments as read-only DTO projections, newest first.
+     * <p>
+     * No entities are loaded, so there is no dirty-checking snapshot per row and
+     * no extra query for the associated order or user.
+     *
+     * @return a list of all payments as response DTOs
+     */
+    List<PaymentResponseDTO> findAllSummaries();
+
     /**
      * Deletes a payment by its ID.
      *
@@ -1,5 +1,6 @@
 package com.utsav.arts.repository;
 
+import com.utsav.arts.dtos.paymentDTO.PaymentResponseDTO;
 import com.utsav.arts.models.Payment;
 import com.utsav.arts.models.PaymentStatus;
 import jakarta.persistence.EntityManager;
@@ -40,6 +41,17 @@ public class PaymentRepositoryImpl implements PaymentRepository {
         return entityManager.merge(payment);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Integer> findOwnerId(int id) {
+        return entityManager.createQuery("SELECT p.user.id FROM Payment p WHERE p.id = :id", Integer.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -117,6 +129,21 @@ public class PaymentRepositoryImpl implements PaymentRepository {
         ).getResultList();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<PaymentResponseDTO> findAllSummaries() {
+        return entityManager.createQuery("""
+                        SELECT new com.utsav.arts.dtos.paymentDTO.PaymentResponseDTO(
+                            p.id, p.order.id, p.user.id, p.amount, p.currency,
+                            p.method, p.status, p.transactionId, p.createdAt)
+                        FROM Payment p
+                        ORDER BY p.createdAt DESC
+                        """, PaymentResponseDTO.class)
+                .getResultList();
+    }
+
     /**
      * {@inheritDoc}
      */
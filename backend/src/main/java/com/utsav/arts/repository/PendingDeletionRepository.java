@@ -0,0 +1,90 @@
+package com.utsav.arts.repository;
+
+import com.utsav.arts.models.PendingDeletion;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the {@link PendingDeletion} queue.
+ */
+public interface PendingDeletionRepository {
+
+    /**
+     * Queues a file for deletion.
+     *
+     * @param deletion the pending deletion to persist
+     * @return the persisted pending deletion
+     */
+    PendingDeletion save(PendingDeletion deletion);
+
+    /**
+     * Claims up to {@code limit} due deletions for one worker.
+     *
+     * <p>Claimed rows are leased by pushing their {@code nextAttemptAt} forward by
+     * {@code lease}, so other workers (and later runs of this one) skip them until the
+     * lease expires. Rows already locked by a concurrent claim are skipped, not waited on.</p>
+     *
+     * @param limit maximum number of rows to claim
+     * @param lease how long the claim is exclusive
+     * @return the claimed deletions, oldest due first
+     */
+    List<PendingDeletion> claimDue(int limit, Duration lease);
+
+    /**
+     * Locks every queued deletion of the given files until the end of the current
+     * transaction, including deletions claimed by other workers and reservations.
+     *
+     * @param fileUrls public URLs of the files
+     * @return the locked deletions, by ID
+     */
+    List<PendingDeletion> lockByFileUrls(Collection<String> fileUrls);
+
+    /**
+     * Removes completed deletions from the queue.
+     *
+     * @param ids IDs of the deletions that succeeded
+     */
+    void deleteByIds(Collection<Integer> ids);
+
+    /**
+     * Removes every queued deletion of the given files that is not being carried out yet.
+     *
+     * @param fileUrls public URLs of the files
+     */
+    void deleteByFileUrls(Collection<String> fileUrls);
+
+    /**
+     * Marks deletions as being carried out, so they can no longer be cancelled.
+     *
+     * @param ids IDs of the deletions whose files are about to be unlinked
+     */
+    void markDeleting(Collection<Integer> ids);
+
+    /**
+     * Tells whether any of the given files is being unlinked.
+     *
+     * @param fileUrls public URLs of the files
+     * @return true if a deletion of one of them is marked as being carried out
+     */
+    boolean anyDeleting(Collection<String> fileUrls);
+
+    /**
+     * Moves the due time of deletions.
+     *
+     * @param ids           IDs of the deletions
+     * @param nextAttemptAt new due time
+     */
+    void reschedule(Collection<Integer> ids, LocalDateTime nextAttemptAt);
+
+    /**
+     * Records a failed attempt.
+     *
+     * @param id            ID of the failed deletion
+     * @param nextAttemptAt when to retry, or null to stop retrying
+     * @param error         short description of the failure
+     */
+    void markFailed(int id, LocalDateTime nextAttemptAt, String error);
+}
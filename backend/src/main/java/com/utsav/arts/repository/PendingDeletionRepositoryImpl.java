@@ -0,0 +1,155 @@
+package com.utsav.arts.repository;
+
+import com.utsav.arts.models.PendingDeletion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JPA-based implementation of {@link PendingDeletionRepository}.
+ */
+@Repository
+@Transactional
+public class PendingDeletionRepositoryImpl implements PendingDeletionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PendingDeletion save(PendingDeletion deletion) {
+        entityManager.persist(deletion);
+        return deletion;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PendingDeletion> claimDue(int limit, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        // One statement: pick due rows without blocking on concurrent claimers and lease them
+        return entityManager.createNativeQuery("""
+                        UPDATE pending_deletions d
+                        SET next_attempt_at = :leaseUntil
+                        WHERE d.id IN (
+                            SELECT id FROM pending_deletions
+                            WHERE next_attempt_at <= :now
+                            ORDER BY next_attempt_at
+                            LIMIT :limit
+                            FOR UPDATE SKIP LOCKED
+                        )
+                        RETURNING d.*
+                        """, PendingDeletion.class)
+                .setParameter("leaseUntil", now.plus(lease))
+                .setParameter("now", now)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PendingDeletion> lockByFileUrls(Collection<String> fileUrls) {
+        if (fileUrls.isEmpty()) return List.of();
+        return entityManager.createNativeQuery("""
+                        SELECT * FROM pending_deletions
+                        WHERE file_url IN (:urls)
+                        ORDER BY id
+                        FOR UPDATE
+                        """, PendingDeletion.class)
+                .setParameter("urls", fileUrls)
+                .getResultList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) return;
+        entityManager.createQuery("DELETE FROM PendingDeletion d WHERE d.id IN :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteByFileUrls(Collection<String> fileUrls) {
+        if (fileUrls.isEmpty()) return;
+        entityManager.createQuery("DELETE FROM PendingDeletion d WHERE d.fileUrl IN :urls AND d.deletingSince IS NULL")
+                .setParameter("urls", fileUrls)
+                .executeUpdate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void markDeleting(Collection<Integer> ids) {
+        if (ids.isEmpty()) return;
+        entityManager.createQuery("UPDATE PendingDeletion d SET d.deletingSince = :now WHERE d.id IN :ids")
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean anyDeleting(Collection<String> fileUrls) {
+        if (fileUrls.isEmpty()) return false;
+        return !entityManager.createQuery("""
+                        SELECT d.id FROM PendingDeletion d
+                        WHERE d.fileUrl IN :urls AND d.deletingSince IS NOT NULL
+                        """)
+                .setParameter("urls", fileUrls)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reschedule(Collection<Integer> ids, LocalDateTime nextAttemptAt) {
+        if (ids.isEmpty()) return;
+        entityManager.createQuery("UPDATE PendingDeletion d SET d.nextAttemptAt = :at WHERE d.id IN :ids")
+                .setParameter("at", nextAttemptAt)
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void markFailed(int id, LocalDateTime nextAttemptAt, String error) {
+        entityManager.createQuery("""
+                        UPDATE PendingDeletion d
+                        SET d.attempts = d.attempts + 1,
+                            d.nextAttemptAt = :nextAttemptAt,
+                            d.lastError = :error
+                        WHERE d.id = :id
+                        """)
+                .setParameter("nextAttemptAt", nextAttemptAt)
+                .setParameter("error", error)
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,40 @@
+package com.utsav.arts.repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository for the {@code scheduler_locks} table, which lets one node at a time run a
+ * scheduled job.
+ * <p>
+ * Lock times are computed with the database clock, so clock skew between nodes does not
+ * matter.
+ */
+public interface SchedulerLockRepository {
+
+    /**
+     * Takes the named lock if nobody holds it or the previous holder's lease has run out.
+     *
+     * @param name    Job name
+     * @param owner   Identifier of this node
+     * @param atMostFor Lease; the lock frees itself after this even if the holder dies
+     * @return the time the lock was taken, identifying this hold, or empty if it is held
+     */
+    Optional<LocalDateTime> tryAcquire(String name, String owner, Duration atMostFor);
+
+    /**
+     * Gives the lock back, keeping it held for at least {@code atLeastFor} after it was taken
+     * so other nodes whose schedules fire slightly later do not run the job again.
+     *
+     * <p>Does nothing unless the lock is still the hold returned by {@link #tryAcquire}: once
+     * the lease has run out and the lock was taken again, even by the same node, a late
+     * release must not cut the new hold short.</p>
+     *
+     * @param name       Job name
+     * @param owner      Identifier of this node; the lock is only released by its holder
+     * @param lockedAt   Time the lock was taken, as returned by {@link #tryAcquire}
+     * @param atLeastFor Minimum time the lock stays held since it was taken
+     */
+    void release(String name, String owner, LocalDateTime lockedAt, Duration atLeastFor);
+}
@@ -0,0 +1,65 @@
+package com.utsav.arts.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of {@link SchedulerLockRepository} with native upserts.
+ * <p>
+ * Each call commits on its own, so a lock is visible to other nodes while the job runs.
+ */
+@Repository
+@Transactional(Transactional.TxType.REQUIRES_NEW)
+public class SchedulerLockRepositoryImpl implements SchedulerLockRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<LocalDateTime> tryAcquire(String name, String owner, Duration atMostFor) {
+        // The conditional DO UPDATE leaves a live lock untouched and returns no row
+        List<LocalDateTime> lockedAt = entityManager.createNativeQuery("""
+                        INSERT INTO scheduler_locks (name, locked_until, locked_at, locked_by)
+                        VALUES (:name, LOCALTIMESTAMP + make_interval(secs => :seconds), LOCALTIMESTAMP, :owner)
+                        ON CONFLICT (name) DO UPDATE
+                            SET locked_until = EXCLUDED.locked_until,
+                                locked_at = EXCLUDED.locked_at,
+                                locked_by = EXCLUDED.locked_by
+                            WHERE scheduler_locks.locked_until <= EXCLUDED.locked_at
+                        RETURNING locked_at
+                        """, LocalDateTime.class)
+                .setParameter("name", name)
+                .setParameter("seconds", atMostFor.toMillis() / 1000.0)
+                .setParameter("owner", owner)
+                .getResultList();
+        return lockedAt.stream().findFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void release(String name, String owner, LocalDateTime lockedAt, Duration atLeastFor) {
+        entityManager.createNativeQuery("""
+                        UPDATE scheduler_locks
+                        SET locked_until = GREATEST(LOCALTIMESTAMP, locked_at + make_interval(secs => :seconds))
+                        WHERE name = :name AND locked_by = :owner AND locked_at = :lockedAt
+                        """)
+                .setParameter("seconds", atLeastFor.toMillis() / 1000.0)
+                .setParameter("name", name)
+                .setParameter("owner", owner)
+                .setParameter("lockedAt", lockedAt)
+                .executeUpdate();
+    }
+}
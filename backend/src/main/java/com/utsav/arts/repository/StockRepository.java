@@ -0,0 +1,41 @@
+package com.utsav.arts.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the stock counts of artworks.
+ * <p>
+ * Stock is only ever changed through the atomic statements below, never by writing an
+ * {@link com.utsav.arts.models.Artwork} entity, so a concurrent edit of an artwork can
+ * not undo a sale. All artwork rows a call touches are locked in ID order, so concurrent
+ * checkouts and cancellations never deadlock each other.
+ */
+public interface StockRepository {
+
+    /**
+     * Takes the quantities in a user's cart out of stock, all or nothing.
+     * On success the stock stays reserved until the transaction commits; on failure
+     * nothing is changed and the caller must abort.
+     *
+     * @param userId ID of the user checking out
+     * @return IDs of the artworks without enough stock; empty if everything was reserved
+     */
+    List<Integer> reserveForCart(int userId);
+
+    /**
+     * Puts the quantities of the orders' lines back into stock.
+     *
+     * @param orderIds IDs of cancelled or expired orders
+     */
+    void releaseForOrders(Collection<Integer> orderIds);
+
+    /**
+     * Sets the stock of an artwork.
+     *
+     * @param artworkId ID of the artwork
+     * @param stock     Units available for sale
+     * @return true if the artwork exists
+     */
+    boolean setStock(int artworkId, int stock);
+}
@@ -0,0 +1,126 @@
+package com.utsav.arts.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of {@link StockRepository} with native conditional updates.
+ * <p>
+ * Reserving locks only the artwork rows that still have enough stock. When an item sells
+ * out, later buyers see the zero in their snapshot and fail at once instead of queueing
+ * for the row lock, so a sold-out drop rejects the remaining buyers in milliseconds.
+ */
+@Repository
+@Transactional
+public class StockRepositoryImpl implements StockRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Integer> reserveForCart(int userId) {
+        // Locking the cart row blocks cart edits (they update its totals) until commit
+        List<Number> wanted = entityManager.createNativeQuery("""
+                        SELECT ci.artwork_id
+                        FROM cart c
+                        JOIN cart_items ci ON ci.cart_id = c.id
+                        WHERE c.user_id = :userId
+                        ORDER BY ci.artwork_id
+                        FOR UPDATE OF c
+                        """)
+                .setParameter("userId", userId)
+                .getResultList();
+        if (wanted.isEmpty()) return List.of();
+
+        // Rows re-checked under the lock; those short of stock are skipped, not waited on
+        List<Number> locked = entityManager.createNativeQuery("""
+                        SELECT a.id
+                        FROM artworks a
+                        JOIN cart_items ci ON ci.artwork_id = a.id
+                        JOIN cart c ON c.id = ci.cart_id
+                        WHERE c.user_id = :userId AND a.stock >= ci.quantity
+                        ORDER BY a.id
+                        FOR UPDATE OF a
+                        """)
+                .setParameter("userId", userId)
+                .getResultList();
+
+        List<Integer> missing = new ArrayList<>();
+        for (Number id : wanted) {
+            if (!containsId(locked, id.intValue())) {
+                missing.add(id.intValue());
+            }
+        }
+        if (!missing.isEmpty()) return missing;
+
+        entityManager.createNativeQuery("""
+                        UPDATE artworks a SET stock = a.stock - ci.quantity
+                        FROM cart_items ci
+                        JOIN cart c ON c.id = ci.cart_id
+                        WHERE c.user_id = :userId AND a.id = ci.artwork_id
+                        """)
+                .setParameter("userId", userId)
+                .executeUpdate();
+        return List.of();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void releaseForOrders(Collection<Integer> orderIds) {
+        if (orderIds.isEmpty()) return;
+
+        entityManager.createNativeQuery("""
+                        SELECT a.id
+                        FROM artworks a
+                        JOIN order_items oi ON oi.artwork_id = a.id
+                        WHERE oi.order_id IN (:orderIds)
+                        ORDER BY a.id
+                        FOR UPDATE OF a
+                        """)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+
+        entityManager.createNativeQuery("""
+                        UPDATE artworks a SET stock = a.stock + released.quantity
+                        FROM (
+                            SELECT artwork_id, SUM(quantity) AS quantity
+                            FROM order_items
+                            WHERE order_id IN (:orderIds)
+                            GROUP BY artwork_id
+                        ) released
+                        WHERE a.id = released.artwork_id
+                        """)
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean setStock(int artworkId, int stock) {
+        return entityManager.createNativeQuery("UPDATE artworks SET stock = :stock WHERE id = :id")
+                .setParameter("stock", stock)
+                .setParameter("id", artworkId)
+                .executeUpdate() == 1;
+    }
+
+    private static boolean containsId(List<Number> ids, int id) {
+        for (Number candidate : ids) {
+            if (candidate.intValue() == id) return true;
+        }
+        return false;
+    }
+}
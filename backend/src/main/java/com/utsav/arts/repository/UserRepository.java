@@ -2,6 +2,7 @@ package com.utsav.arts.repository;
 
 import com.utsav.arts.models.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -66,6 +67,19 @@ public interface UserRepository {
      */
     void deleteById(int id);
 
+    /**
+     * Deletes up to {@code limit} accounts that were never verified: their verification
+     * code expired before {@code now} and they were created before {@code cutoff}.
+     * Codes and carts go with them through ON DELETE CASCADE. Accounts that already have
+     * orders or payments are kept, and rows locked by a concurrent verification are skipped.
+     *
+     * @param now    Codes that expired before this time qualify
+     * @param cutoff Accounts created before this time qualify
+     * @param limit  Maximum number of accounts to delete
+     * @return Number of deleted accounts
+     */
+    int deleteUnverified(LocalDateTime now, LocalDateTime cutoff, int limit);
+
     /**
      * Checks whether a user exists with the given email address.
      *
@@ -7,6 +7,7 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -91,6 +92,32 @@ public class UserRepositoryImpl implements UserRepository {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteUnverified(LocalDateTime now, LocalDateTime cutoff, int limit) {
+        return entityManager.createNativeQuery("""
+                        DELETE FROM users
+                        WHERE id IN (
+                            SELECT u.id
+                            FROM users u
+                            JOIN verification_codes v ON v.user_id = u.id
+                            WHERE v.expiry_date < :now
+                              AND u.created_at < :cutoff
+                              AND u.enabled = false
+                              AND NOT EXISTS (SELECT 1 FROM orders o WHERE o.user_id = u.id)
+                              AND NOT EXISTS (SELECT 1 FROM payments p WHERE p.user_id = u.id)
+                            LIMIT :limit
+                            FOR UPDATE OF u SKIP LOCKED
+                        )
+                        """)
+                .setParameter("now", now)
+                .setParameter("cutoff", cutoff)
+                .setParameter("limit", limit)
+                .executeUpdate();
+    }
+
     /**
      * {@inheritDoc}
      */
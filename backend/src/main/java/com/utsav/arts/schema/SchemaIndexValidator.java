@@ -0,0 +1,90 @@
+package com.utsav.arts.schema;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Startup check that every index a hot query relies on exists in the database.
+ *
+ * <p>Indexes are created by the Flyway migrations in {@code db/migration}. A missing one
+ * does not break any query, it just turns an index scan into a sequential scan, so it
+ * would otherwise go unnoticed until the table is large. Startup fails instead, naming
+ * the missing indexes. Disabled with {@code app.schema.validate-indexes=false}.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.schema.validate-indexes", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexValidator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexValidator.class);
+
+    /** Indexes (and unique constraints backing lookups) expected in the current schema. */
+    private static final List<String> EXPECTED_INDEXES = List.of(
+            // artworks: category summaries, keyset paging, full-text search
+            "idx_artworks_category",
+            "idx_artworks_category_id",
+            "idx_artworks_price_id",
+            "idx_artworks_search",
+            // cart
+            "uq_cart_artwork",
+            "idx_cart_items_artwork_id",
+            // orders
+            "idx_orders_user_ordered",
+            "idx_orders_status_ordered",
+            "idx_order_items_order_id",
+            "idx_order_items_artwork_id",
+            // payments
+            "idx_payments_order_id",
+            "idx_payments_transaction_id",
+            "idx_payments_user_created",
+            "idx_payments_status_created",
+            // background jobs
+            "idx_verification_codes_expiry",
+            "idx_pending_deletions_due",
+            "idx_pending_deletions_file_url",
+            "idx_image_assets_original_url",
+            "idx_image_assets_thumbnail_url",
+            "idx_image_assets_medium_url",
+            "idx_image_assets_full_url"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaIndexValidator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Compares the expected indexes with those in the current schema.
+     *
+     * @param args Application arguments (unused)
+     * @throws IllegalStateException if any expected index is missing
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        Set<String> present = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()",
+                String.class));
+
+        List<String> missing = new ArrayList<>();
+        for (String index : EXPECTED_INDEXES) {
+            if (!present.contains(index)) {
+                missing.add(index);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Database is missing expected indexes " + missing
+                    + "; run the migrations or set app.schema.validate-indexes=false");
+        }
+        logger.info("All {} expected indexes are present", EXPECTED_INDEXES.size());
+    }
+}
@@ -0,0 +1,64 @@
+package com.utsav.arts.services;
+
+import com.utsav.arts.dtos.artworkDTO.ArtworkImportRowDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+/**
+ * A bulk import that was accepted by {@link ArtworkImportService#open} and is ready to run.
+ *
+ * <p>Holds the spooled archive and its parsed manifest. Closing the job deletes its
+ * working directory, including every file extracted from the archive.</p>
+ */
+public class ArtworkImportJob implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtworkImportJob.class);
+
+    private final Path workDir;
+    private final ZipFile archive;
+    private final List<ArtworkImportRowDTO> rows;
+
+    public ArtworkImportJob(Path workDir, ZipFile archive, List<ArtworkImportRowDTO> rows) {
+        this.workDir = workDir;
+        this.archive = archive;
+        this.rows = rows;
+    }
+
+    public Path getWorkDir() { return workDir; }
+
+    public ZipFile getArchive() { return archive; }
+
+    public List<ArtworkImportRowDTO> getRows() { return rows; }
+
+    @Override
+    public void close() {
+        try {
+            archive.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close import archive", e);
+        }
+        deleteRecursively(workDir);
+    }
+
+    static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete import file {}", path, e);
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Failed to clean up import directory {}", dir, e);
+        }
+    }
+}
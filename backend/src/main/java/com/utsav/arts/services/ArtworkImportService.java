@@ -0,0 +1,36 @@
+package com.utsav.arts.services;
+
+import com.utsav.arts.dtos.artworkDTO.ArtworkImportEventDTO;
+import com.utsav.arts.exceptions.InvalidRequestException;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for importing many artworks at once.
+ *
+ * <p>An import is a ZIP archive holding the images and a {@code manifest.json}: a JSON
+ * array of objects with the fields of an artwork request plus {@code image}, the path of
+ * the image inside the archive.</p>
+ */
+public interface ArtworkImportService {
+
+    /**
+     * Spools the archive to disk and parses its manifest.
+     *
+     * @param archive ZIP content
+     * @return The import, ready to {@link #run}
+     * @throws InvalidRequestException if the archive is too large, not a ZIP file, or its manifest is unreadable
+     */
+    ArtworkImportJob open(InputStream archive);
+
+    /**
+     * Runs an import: uploads the images in parallel and inserts the artworks in batches.
+     * Rows fail individually; a failed row never aborts the others. The job is closed afterwards.
+     *
+     * @param job      Import returned by {@link #open}
+     * @param listener Receives one event per row as it completes, then a final DONE event;
+     *                 always called from the thread running the import
+     */
+    void run(ArtworkImportJob job, Consumer<ArtworkImportEventDTO> listener);
+}
@@ -0,0 +1,338 @@
+package com.utsav.arts.services;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utsav.arts.configurations.ArtworkImportProperties;
+import com.utsav.arts.dtos.artworkDTO.ArtworkImportEventDTO;
+import com.utsav.arts.dtos.artworkDTO.ArtworkImportRowDTO;
+import com.utsav.arts.exceptions.InvalidRequestException;
+import com.utsav.arts.mappers.ArtworkMapper;
+import com.utsav.arts.models.Artwork;
+import com.utsav.arts.storage.ImageDerivativeService;
+import com.utsav.arts.storage.PathMultipartFile;
+import com.utsav.arts.storage.StoredImages;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Implementation of {@link ArtworkImportService}.
+ *
+ * <p>Images are extracted and uploaded on one pool of {@code app.import.concurrency}
+ * threads, shared by all running imports, so concurrent imports queue for the same threads
+ * instead of each starting its own. Every import keeps at most twice that many rows in
+ * flight, so extracted files do not pile up on disk. Completed uploads are inserted {@code app.import.batch-size} at a time through
+ * {@link ArtworkService#saveAllWithImages}, i.e. one transaction and one JDBC batch per
+ * batch instead of one per artwork. If a batch fails, its rows are retried one by one so
+ * only the offending rows are reported as failed.</p>
+ */
+@Service
+public class ArtworkImportServiceImpl implements ArtworkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtworkImportServiceImpl.class);
+    private static final String MANIFEST = "manifest.json";
+
+    private final ArtworkService artworkService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final StorageCleanupService storageCleanupService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ArtworkImportProperties properties;
+    private final ExecutorService uploadPool;
+
+    /**
+     * Constructs the ArtworkImportServiceImpl with required dependencies.
+     *
+     * @param artworkService         Service persisting the imported artworks
+     * @param imageDerivativeService Service storing images and their variants
+     * @param storageCleanupService  Reserves uploads until their artworks are saved
+     * @param objectMapper           Reads the manifest
+     * @param validator              Validates manifest rows like artwork requests
+     * @param properties             Concurrency, batch and size limits
+     */
+    public ArtworkImportServiceImpl(ArtworkService artworkService, ImageDerivativeService imageDerivativeService,
+                                    StorageCleanupService storageCleanupService,
+                                    ObjectMapper objectMapper, Validator validator,
+                                    ArtworkImportProperties properties) {
+        this.artworkService = artworkService;
+        this.imageDerivativeService = imageDerivativeService;
+        this.storageCleanupService = storageCleanupService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.properties = properties;
+        this.uploadPool = Executors.newFixedThreadPool(properties.getConcurrency(),
+                Thread.ofPlatform().name("artwork-import-", 1).daemon(true).factory());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ArtworkImportJob open(InputStream archive) {
+        Path workDir;
+        try {
+            workDir = Files.createTempDirectory("artwork-import-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ZipFile zip = null;
+        try {
+            Path zipPath = workDir.resolve("archive.zip");
+            copyLimited(archive, zipPath, properties.getMaxArchiveSize().toBytes(), "Archive");
+            zip = new ZipFile(zipPath.toFile());
+            return new ArtworkImportJob(workDir, zip, readManifest(zip));
+        } catch (ZipException e) {
+            cleanUp(zip, workDir);
+            throw new InvalidRequestException("Archive is not a valid ZIP file");
+        } catch (IOException e) {
+            cleanUp(zip, workDir);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            cleanUp(zip, workDir);
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run(ArtworkImportJob job, Consumer<ArtworkImportEventDTO> listener) {
+        Counter counter = new Counter(listener);
+        Set<Future<Upload>> inFlight = new HashSet<>();
+        try {
+            List<Integer> valid = validateRows(job, counter);
+
+            CompletionService<Upload> uploads = new ExecutorCompletionService<>(uploadPool);
+            Iterator<Integer> queue = valid.iterator();
+            int window = properties.getConcurrency() * 2;
+            while (inFlight.size() < window && queue.hasNext()) {
+                int row = queue.next();
+                inFlight.add(uploads.submit(() -> upload(job, row)));
+            }
+
+            List<Upload> batch = new ArrayList<>();
+            while (!inFlight.isEmpty()) {
+                Future<Upload> done = uploads.take();
+                inFlight.remove(done);
+                Upload upload = done.get();
+                if (queue.hasNext()) {
+                    int row = queue.next();
+                    inFlight.add(uploads.submit(() -> upload(job, row)));
+                }
+
+                if (upload.error() != null) {
+                    counter.failed(upload.row(), upload.error());
+                    continue;
+                }
+                batch.add(upload);
+                if (batch.size() >= properties.getBatchSize()) {
+                    persist(job, batch, counter);
+                    batch.clear();
+                }
+            }
+            persist(job, batch, counter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Artwork import interrupted");
+        } catch (ExecutionException e) {
+            // upload() catches its own failures, so this is unexpected
+            logger.error("Artwork import aborted", e);
+        } finally {
+            // Stop this import's uploads before its files disappear; the pool stays up
+            inFlight.forEach(upload -> upload.cancel(true));
+            job.close();
+        }
+        listener.accept(ArtworkImportEventDTO.done(counter.created, counter.failed));
+    }
+
+    @PreDestroy
+    void shutDownUploads() {
+        uploadPool.shutdownNow();
+    }
+
+    // ---------------- INTERNAL ----------------
+
+    private List<ArtworkImportRowDTO> readManifest(ZipFile zip) throws IOException {
+        ZipEntry entry = zip.getEntry(MANIFEST);
+        if (entry == null) {
+            throw new InvalidRequestException("Archive must contain " + MANIFEST);
+        }
+        List<ArtworkImportRowDTO> rows;
+        try (InputStream in = zip.getInputStream(entry)) {
+            rows = objectMapper.readValue(in, new TypeReference<List<ArtworkImportRowDTO>>() {});
+        } catch (IOException e) {
+            throw new InvalidRequestException("Manifest is not a valid JSON array of artworks");
+        }
+        if (rows == null || rows.isEmpty()) {
+            throw new InvalidRequestException("Manifest contains no artworks");
+        }
+        if (rows.size() > properties.getMaxRows()) {
+            throw new InvalidRequestException("Manifest exceeds the limit of " + properties.getMaxRows() + " artworks");
+        }
+        return rows;
+    }
+
+    /** Reports invalid rows right away and returns the indexes of the rows worth uploading. */
+    private List<Integer> validateRows(ArtworkImportJob job, Counter counter) {
+        List<Integer> valid = new ArrayList<>();
+        for (int row = 0; row < job.getRows().size(); row++) {
+            ArtworkImportRowDTO dto = job.getRows().get(row);
+            if (dto == null) {
+                counter.failed(row, "Row is empty");
+                continue;
+            }
+            Set<ConstraintViolation<ArtworkImportRowDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                counter.failed(row, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            } else if (job.getArchive().getEntry(dto.getImage()) == null) {
+                counter.failed(row, "Image not found in archive: " + dto.getImage());
+            } else {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    /** Runs on the pool: extracts one image and stores it. Never throws. */
+    private Upload upload(ArtworkImportJob job, int row) {
+        ArtworkImportRowDTO dto = job.getRows().get(row);
+        Path image = job.getWorkDir().resolve("row-" + row);
+        try {
+            ZipEntry entry = job.getArchive().getEntry(dto.getImage());
+            try (InputStream in = job.getArchive().getInputStream(entry)) {
+                copyLimited(in, image, properties.getMaxImageSize().toBytes(), "Image");
+            }
+            String filename = Path.of(dto.getImage()).getFileName().toString();
+            StoredImages images = imageDerivativeService.store(new PathMultipartFile(image, filename));
+            if (images.isFresh()) {
+                // Reclaimed unless the batch insert commits, even if the import is aborted
+                storageCleanupService.reserveDeletion(images.allUrls());
+            }
+            return new Upload(row, images, null);
+        } catch (InvalidRequestException e) {
+            return new Upload(row, null, e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Import row {} failed to upload", row, e);
+            return new Upload(row, null, "Image upload failed");
+        } finally {
+            try {
+                Files.deleteIfExists(image);
+            } catch (IOException e) {
+                logger.debug("Could not delete extracted image {}", image, e);
+            }
+        }
+    }
+
+    private void persist(ArtworkImportJob job, List<Upload> batch, Counter counter) {
+        if (batch.isEmpty()) return;
+
+        List<Artwork> artworks = new ArrayList<>(batch.size());
+        List<StoredImages> images = new ArrayList<>(batch.size());
+        for (Upload upload : batch) {
+            artworks.add(ArtworkMapper.toEntity(job.getRows().get(upload.row())));
+            images.add(upload.images());
+        }
+        try {
+            List<Artwork> saved = artworkService.saveAllWithImages(artworks, images);
+            for (int i = 0; i < batch.size(); i++) {
+                counter.created(batch.get(i).row(), saved.get(i).getId());
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                logger.warn("Import row {} failed to save", batch.get(0).row(), e);
+                counter.failed(batch.get(0).row(), "Artwork could not be saved");
+                return;
+            }
+            // One bad row (a constraint violation, a reused image released meanwhile) rolls back
+            // the whole batch; retry each row in its own transaction so only that row fails.
+            // The entities are rebuilt, since the failed attempt already assigned their IDs.
+            logger.warn("Import batch of {} artworks failed to save, retrying row by row", batch.size(), e);
+            for (Upload upload : batch) {
+                persist(job, List.of(upload), counter);
+            }
+        }
+    }
+
+    /** Copies at most {@code maxBytes}, so a zip bomb or oversized body fails early. */
+    private static void copyLimited(InputStream in, Path target, long maxBytes, String what) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new InvalidRequestException(what + " exceeds the size limit of " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private static void cleanUp(ZipFile zip, Path workDir) {
+        if (zip != null) {
+            try {
+                zip.close();
+            } catch (IOException e) {
+                logger.debug("Could not close import archive", e);
+            }
+        }
+        ArtworkImportJob.deleteRecursively(workDir);
+    }
+
+    /** Outcome of one row's upload: images on success, error otherwise. */
+    private record Upload(int row, StoredImages images, String error) {
+    }
+
+    /** Forwards row events and keeps the totals for the final event. */
+    private static class Counter {
+        private final Consumer<ArtworkImportEventDTO> listener;
+        private int created;
+        private int failed;
+
+        Counter(Consumer<ArtworkImportEventDTO> listener) {
+            this.listener = listener;
+        }
+
+        void created(int row, int artworkId) {
+            created++;
+            listener.accept(ArtworkImportEventDTO.created(row, artworkId));
+        }
+
+        void failed(int row, String error) {
+            failed++;
+            listener.accept(ArtworkImportEventDTO.failed(row, error));
+        }
+    }
+}
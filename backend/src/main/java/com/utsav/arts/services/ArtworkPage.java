@@ -0,0 +1,28 @@
+package com.utsav.arts.services;
+
+import com.utsav.arts.models.Artwork;
+
+import java.util.List;
+
+/**
+ * One page of artworks returned by {@link ArtworkService#findPage}.
+ *
+ * <p>{@code nextCursor} is an opaque token to pass back for the following page,
+ * or {@code null} when this is the last page.</p>
+ */
+public class ArtworkPage {
+
+    private final List<Artwork> items;
+    private final String nextCursor;
+
+    public ArtworkPage(List<Artwork> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Artwork> getItems() { return items; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean hasMore() { return nextCursor != null; }
+}
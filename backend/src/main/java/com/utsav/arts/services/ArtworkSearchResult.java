@@ -0,0 +1,32 @@
+package com.utsav.arts.services;
+
+import com.utsav.arts.models.ArtCategory;
+import com.utsav.arts.models.Artwork;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a full-text artwork search returned by {@link ArtworkService#search}.
+ *
+ * <p>{@code categoryCounts} are facet counts over all matches, ignoring the category
+ * restriction and the page window, so clients can show how many hits each category has.</p>
+ */
+public class ArtworkSearchResult {
+
+    private final List<Artwork> items;
+    private final Map<ArtCategory, Long> categoryCounts;
+
+    public ArtworkSearchResult(List<Artwork> items, Map<ArtCategory, Long> categoryCounts) {
+        this.items = items;
+        this.categoryCounts = categoryCounts;
+    }
+
+    public List<Artwork> getItems() { return items; }
+
+    public Map<ArtCategory, Long> getCategoryCounts() { return categoryCounts; }
+
+    public long getTotal() {
+        return categoryCounts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
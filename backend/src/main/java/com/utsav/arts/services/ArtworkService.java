@@ -1,8 +1,12 @@
 package com.utsav.arts.services;
 
+import com.utsav.arts.dtos.artworkDTO.ArtworkSummaryDTO;
 import com.utsav.arts.exceptions.InvalidRequestException;
 import com.utsav.arts.exceptions.ResourceNotFoundException;
+import com.utsav.arts.models.ArtCategory;
 import com.utsav.arts.models.Artwork;
+import com.utsav.arts.repository.ArtworkPageQuery;
+import com.utsav.arts.storage.StoredImages;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -36,6 +40,18 @@ public interface ArtworkService {
      */
     Artwork update(int id, Artwork updatedArtwork, MultipartFile imageFile);
 
+    /**
+     * Saves many new artworks whose images are already stored, in one transaction
+     * with a batched insert. Used by bulk imports.
+     * Fresh uploads must already be reserved with {@link StorageCleanupService#reserveDeletion},
+     * so they are reclaimed if this fails.
+     *
+     * @param artworks New artworks
+     * @param images   Stored images; {@code images.get(i)} belongs to {@code artworks.get(i)}
+     * @return The saved artworks with IDs assigned
+     */
+    List<Artwork> saveAllWithImages(List<Artwork> artworks, List<StoredImages> images);
+
     /**
      * Finds an artwork by its ID.
      *
@@ -54,10 +70,53 @@ public interface ArtworkService {
     /**
      * Retrieves artworks filtered by category.
      *
-     * @param category The category name to filter by
+     * @param category The category to filter by
      * @return A list of artworks matching the category
      */
-    List<Artwork> findByCategory(String category);
+    List<Artwork> findByCategory(ArtCategory category);
+
+    /**
+     * Retrieves lightweight summaries of a category's artworks, ordered by ascending price.
+     *
+     * @param category The category to filter by
+     * @return Summaries ordered by price, then ID
+     */
+    List<ArtworkSummaryDTO> findSummariesByCategory(ArtCategory category);
+
+    /**
+     * Retrieves one page of artworks using keyset pagination.
+     * The database work per page is bounded by the page size, regardless of catalog size.
+     *
+     * @param query  Filters, ordering and page size (the keyset position is taken from the cursor)
+     * @param cursor Opaque token returned with the previous page, or null for the first page
+     * @return The requested page and the cursor for the next one
+     * @throws InvalidRequestException if the cursor is malformed or was issued for a different ordering
+     */
+    ArtworkPage findPage(ArtworkPageQuery query, String cursor);
+
+    /**
+     * Searches artworks by keywords in their title, label and description.
+     * Every word must match, and each word also matches as a prefix ("imp" finds "impressionism").
+     * Results are ranked by relevance.
+     *
+     * @param text     Free-text search input
+     * @param category Optional category restriction, or null for all categories
+     * @param limit    Maximum number of results
+     * @param offset   Number of ranked results to skip
+     * @return Ranked matches plus per-category match counts
+     * @throws InvalidRequestException if the input contains no searchable words
+     */
+    ArtworkSearchResult search(String text, ArtCategory category, int limit, int offset);
+
+    /**
+     * Sets the number of units of an artwork available for sale.
+     * Pending orders keep their reserved units; this sets what is left for new orders.
+     *
+     * @param id    The ID of the artwork
+     * @param stock Units available for sale
+     * @throws ResourceNotFoundException if the artwork with the given ID does not exist
+     */
+    void setStock(int id, int stock);
 
     /**
      * Deletes an artwork by its ID.
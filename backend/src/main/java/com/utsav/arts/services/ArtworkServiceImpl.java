@@ -1,84 +1,194 @@
 package com.utsav.arts.services;
 
+import com.utsav.arts.cache.ArtworkCache;
+import com.utsav.arts.cache.ArtworkListingCache;
+import com.utsav.arts.cache.CartStore;
+import com.utsav.arts.dtos.artworkDTO.ArtworkSummaryDTO;
 import com.utsav.arts.exceptions.InvalidRequestException;
 import com.utsav.arts.exceptions.ResourceNotFoundException;
+import com.utsav.arts.models.ArtCategory;
 import com.utsav.arts.models.Artwork;
+import com.utsav.arts.models.ArtworkSort;
+import com.utsav.arts.models.ImageAsset;
+import com.utsav.arts.repository.ArtworkPageQuery;
 import com.utsav.arts.repository.ArtworkRepository;
-import com.utsav.arts.storage.FileStorageService;
+import com.utsav.arts.repository.ImageAssetRepository;
+import com.utsav.arts.repository.StockRepository;
+import com.utsav.arts.storage.ImageDerivativeService;
+import com.utsav.arts.storage.ImageVariant;
+import com.utsav.arts.storage.StoredImages;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Implementation of {@link ArtworkService}.
  * Handles business logic for creating, updating, retrieving, and deleting artworks,
- * including uploading and deleting artwork images from storage.
+ * including uploading artwork images together with their resized variants. Replaced and
+ * deleted images are queued in {@link StorageCleanupService} and removed after commit.
+ * Uploads happen before any database transaction is opened, so a slow upload never
+ * holds a pooled connection, and identical images are stored once and shared through
+ * the reference-counted {@link ImageAsset} index.
+ * Single-artwork and per-category reads are served from {@link ArtworkCache} and the
+ * serialized listings from {@link ArtworkListingCache}; every write updates both
+ * once its transaction commits.
  */
 @Service
 @Transactional
 public class ArtworkServiceImpl implements ArtworkService {
 
+    private static final Pattern SEARCH_WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int MAX_SEARCH_WORDS = 8;
+
     private final ArtworkRepository artworkRepository;
-    private final FileStorageService fileStorageService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ImageAssetRepository imageAssetRepository;
+    private final StorageCleanupService storageCleanupService;
+    private final ArtworkCache artworkCache;
+    private final ArtworkListingCache artworkListingCache;
+    private final CartStore cartStore;
+    private final StockRepository stockRepository;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Constructs the ArtworkServiceImpl with required dependencies.
      *
      * @param artworkRepository  Repository for CRUD operations on Artwork
-     * @param fileStorageService Service for handling image file storage
+     * @param imageDerivativeService Service storing images and their resized variants
+     * @param imageAssetRepository   Reference-counted index of deduplicated images
+     * @param storageCleanupService  Queue for deleting replaced images after commit
+     * @param artworkCache        Read-through cache for artwork reads
+     * @param artworkListingCache Serialized-response cache for the artwork listings
+     * @param cartStore           In-memory cart store, told about price changes
+     * @param stockRepository     Atomic updates of artwork stock
+     * @param transactionManager  Used to open write transactions only after uploads finished
      */
-    public ArtworkServiceImpl(ArtworkRepository artworkRepository, FileStorageService fileStorageService) {
+    public ArtworkServiceImpl(ArtworkRepository artworkRepository, ImageDerivativeService imageDerivativeService,
+                              ImageAssetRepository imageAssetRepository, StorageCleanupService storageCleanupService,
+                              ArtworkCache artworkCache, ArtworkListingCache artworkListingCache, CartStore cartStore,
+                              StockRepository stockRepository, PlatformTransactionManager transactionManager) {
         this.artworkRepository = artworkRepository;
-        this.fileStorageService = fileStorageService;
+        this.imageDerivativeService = imageDerivativeService;
+        this.imageAssetRepository = imageAssetRepository;
+        this.storageCleanupService = storageCleanupService;
+        this.artworkCache = artworkCache;
+        this.artworkListingCache = artworkListingCache;
+        this.cartStore = cartStore;
+        this.stockRepository = stockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
      * {@inheritDoc}
+     *
+     * <p>Runs without a surrounding transaction: the image is uploaded first, and a database
+     * transaction is only opened afterwards to persist the artwork. See {@link #persistWithImages}.</p>
      */
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public Artwork save(Artwork artwork, MultipartFile imageFile) {
         if (artwork.getTitle() == null || artwork.getTitle().isBlank()) {
             throw new InvalidRequestException("Artwork title cannot be empty");
         }
-        // Upload Image
-        if (imageFile != null && !imageFile.isEmpty()) {
-            String imageUrl = fileStorageService.upload(imageFile);
-            artwork.setImgUrl(imageUrl);
-        } else {
+        if (imageFile == null || imageFile.isEmpty()) {
             throw new InvalidRequestException("Image file is required");
         }
-        // Save Entity
-        return artworkRepository.save(artwork);
+        // Upload Image (no connection held), then save Entity
+        return storeAndPersist(imageFile, images -> {
+            applyImages(artwork, images);
+            Artwork saved = artworkRepository.save(artwork);
+            TransactionCallbacks.afterCommit(() -> {
+                artworkCache.evict(saved.getId());
+                artworkListingCache.apply(saved);
+            });
+            return saved;
+        });
     }
 
     /**
      * {@inheritDoc}
+     *
+     * <p>Like {@link #save}, a new image is uploaded before the database transaction opens.</p>
      */
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public Artwork update(int id, Artwork updatedArtwork, MultipartFile imageFile) {
-        Artwork existingArtwork = artworkRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Artwork not found with id: " + id));
-
-        // If a new image is provided, replace the old one
-        if (imageFile != null && !imageFile.isEmpty()) {
-            // Delete old image
-            fileStorageService.delete(existingArtwork.getImgUrl());
-            // Upload new image
-            String newImageUrl = fileStorageService.upload(imageFile);
-            existingArtwork.setImgUrl(newImageUrl);
+        // Fail fast before uploading anything for a missing artwork
+        if (artworkRepository.findById(id).isEmpty()) {
+            throw new ResourceNotFoundException("Artwork not found with id: " + id);
+        }
+
+        // If a new image is provided, upload it first; otherwise we keep the existing URLs
+        return storeAndPersist(imageFile, images -> {
+            // Re-read inside the transaction so concurrent changes are not overwritten
+            Artwork existingArtwork = artworkRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Artwork not found with id: " + id));
+            if (images != null) {
+                // The new image is already acquired, so re-uploading the same image nets out
+                releaseImages(existingArtwork);
+                applyImages(existingArtwork, images);
+            }
+            // Update other fields
+            existingArtwork.setTitle(updatedArtwork.getTitle());
+            existingArtwork.setDescription(updatedArtwork.getDescription());
+            existingArtwork.setCategory(updatedArtwork.getCategory());
+            existingArtwork.setLabel(updatedArtwork.getLabel());
+            existingArtwork.setPrice(updatedArtwork.getPrice());
+            Artwork saved = artworkRepository.update(existingArtwork);
+            // Held carts show the price they were loaded with
+            cartStore.evictArtwork(id);
+            TransactionCallbacks.afterCommit(() -> {
+                artworkCache.evict(id);
+                artworkListingCache.apply(saved);
+            });
+            return saved;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>References, inserts and cancellation of the upload reservations share one transaction.</p>
+     */
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public List<Artwork> saveAllWithImages(List<Artwork> artworks, List<StoredImages> images) {
+        if (artworks.size() != images.size()) {
+            throw new IllegalArgumentException("Every artwork needs exactly one set of images");
         }
-        // If imageFile is null, we keep the existing URL
-        // Update other fields
-        existingArtwork.setTitle(updatedArtwork.getTitle());
-        existingArtwork.setDescription(updatedArtwork.getDescription());
-        existingArtwork.setCategory(updatedArtwork.getCategory());
-        existingArtwork.setLabel(updatedArtwork.getLabel());
-        existingArtwork.setPrice(updatedArtwork.getPrice());
+        return transactionTemplate.execute(status -> {
+            List<String> inUse = new ArrayList<>();
+            for (int i = 0; i < artworks.size(); i++) {
+                StoredImages acquired = acquireImages(images.get(i));
+                if (acquired.isFresh()) {
+                    inUse.addAll(acquired.allUrls());
+                }
+                applyImages(artworks.get(i), acquired);
+            }
+            storageCleanupService.cancelDeletion(inUse);
 
-        return artworkRepository.update(existingArtwork);
+            List<Artwork> saved = artworkRepository.saveAll(artworks);
+            TransactionCallbacks.afterCommit(() -> saved.forEach(artwork -> {
+                artworkCache.evict(artwork.getId());
+                artworkListingCache.apply(artwork);
+            }));
+            return saved;
+        });
     }
 
     /**
@@ -87,7 +197,7 @@ public class ArtworkServiceImpl implements ArtworkService {
     @Override
     public Optional<Artwork> findById(int id) {
         // We return Optional here so the Controller can choose to throw the exception
-        return artworkRepository.findById(id);
+        return artworkCache.findById(id, () -> artworkRepository.findById(id));
     }
 
     /**
@@ -102,8 +212,57 @@ public class ArtworkServiceImpl implements ArtworkService {
      * {@inheritDoc}
      */
     @Override
-    public List<Artwork> findByCategory(String category) {
-        return artworkRepository.findByCategory(category);
+    public List<Artwork> findByCategory(ArtCategory category) {
+        return artworkCache.findByCategory(category, () -> artworkRepository.findByCategory(category));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ArtworkSummaryDTO> findSummariesByCategory(ArtCategory category) {
+        return artworkRepository.findSummariesByCategoryOrderByPrice(category);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ArtworkPage findPage(ArtworkPageQuery query, String cursor) {
+        if (cursor != null && !cursor.isBlank()) {
+            applyCursor(query, cursor);
+        }
+
+        List<Artwork> rows = artworkRepository.findPage(query);
+        if (rows.size() <= query.getLimit()) {
+            return new ArtworkPage(rows, null);
+        }
+
+        // The repository fetched one extra row only to detect that another page exists
+        List<Artwork> items = rows.subList(0, query.getLimit());
+        return new ArtworkPage(items, encodeCursor(query.getSort(), items.get(items.size() - 1)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ArtworkSearchResult search(String text, ArtCategory category, int limit, int offset) {
+        String tsQuery = toPrefixTsQuery(text);
+        List<Artwork> items = artworkRepository.search(tsQuery, category, limit, offset);
+        Map<ArtCategory, Long> counts = artworkRepository.countSearchMatchesByCategory(tsQuery);
+        return new ArtworkSearchResult(items, counts);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setStock(int id, int stock) {
+        // Stock is not part of any cached response, so no cache needs refreshing
+        if (!stockRepository.setStock(id, stock)) {
+            throw new ResourceNotFoundException("Artwork not found with id: " + id);
+        }
     }
 
     /**
@@ -113,9 +272,177 @@ public class ArtworkServiceImpl implements ArtworkService {
     public void deleteById(int id) {
         Artwork artwork = artworkRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cannot delete: Artwork not found with id: " + id));
-        // Delete image from storage
-        fileStorageService.delete(artwork.getImgUrl());
         // Delete from DB
         artworkRepository.deleteById(id);
+        // Release image; its files are queued for deletion if no other artwork uses them
+        releaseImages(artwork);
+        TransactionCallbacks.afterCommit(() -> {
+            artworkCache.evict(id);
+            artworkListingCache.remove(id);
+        });
+    }
+
+    // ---------------- IMAGES ----------------
+
+    /**
+     * Stores an uploaded image (reusing an identical stored one when possible) and then
+     * runs the database write with it. Without an image the write simply runs in a transaction.
+     *
+     * @param imageFile Uploaded image, may be null or empty
+     * @param write     Database work receiving the acquired images (null without an image)
+     * @return Result of {@code write}
+     */
+    private Artwork storeAndPersist(MultipartFile imageFile, Function<StoredImages, Artwork> write) {
+        if (imageFile == null || imageFile.isEmpty()) {
+            return transactionTemplate.execute(status -> write.apply(null));
+        }
+        StoredImages images = imageDerivativeService.store(imageFile);
+        try {
+            return persistWithImages(images, write);
+        } catch (StaleImageException e) {
+            // The reused image lost its last reference in between and is being deleted
+            return persistWithImages(imageDerivativeService.storeNew(imageFile), write);
+        }
+    }
+
+    /**
+     * Persists an artwork that references stored images, in two phases.
+     *
+     * <ol>
+     *   <li>Freshly uploaded objects are reserved for deletion after the orphan grace period,
+     *       in a short transaction of their own.</li>
+     *   <li>The image reference is acquired, the artwork written and the reservation
+     *       cancelled in one transaction.</li>
+     * </ol>
+     *
+     * <p>If the second phase fails, or the process dies before it commits, the reservation
+     * stays and the deletion worker reclaims the orphaned objects. Failures seen here make
+     * the reservation due immediately.</p>
+     *
+     * @param images Stored images, fresh or reused
+     * @param write  Database work, run inside the transaction
+     * @return Result of {@code write}
+     */
+    private Artwork persistWithImages(StoredImages images, Function<StoredImages, Artwork> write) {
+        List<Integer> reservation = images.isFresh()
+                ? storageCleanupService.reserveDeletion(images.allUrls())
+                : List.of();
+        try {
+            return transactionTemplate.execute(status -> {
+                StoredImages acquired = acquireImages(images);
+                if (acquired.isFresh()) {
+                    storageCleanupService.cancelDeletion(acquired.allUrls());
+                }
+                return write.apply(acquired);
+            });
+        } catch (RuntimeException e) {
+            if (!reservation.isEmpty()) {
+                try {
+                    storageCleanupService.expediteDeletion(reservation);
+                } catch (RuntimeException expediteFailure) {
+                    // The reservation matures on its own; keep the original failure
+                    e.addSuppressed(expediteFailure);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Adds a reference to the images in the dedup index.
+     * A fresh upload that lost a race against an identical one resolves to the winner's
+     * files; its own objects stay reserved and are reclaimed.
+     */
+    private StoredImages acquireImages(StoredImages images) {
+        if (!images.isFresh()) {
+            if (!imageAssetRepository.acquireExisting(images.getContentHash())) {
+                throw new StaleImageException();
+            }
+            return images;
+        }
+        ImageAsset asset = imageAssetRepository.acquireOrInsert(images.toAsset());
+        return asset.getOriginalUrl().equals(images.getOriginalUrl()) ? images : StoredImages.of(asset);
+    }
+
+    /**
+     * Drops the artwork's reference to its images, queueing the files for deletion when
+     * no other artwork uses them. Must run inside the transaction that changes the artwork.
+     */
+    private void releaseImages(Artwork artwork) {
+        if (artwork.getImageHash() == null) {
+            // Stored before deduplication, so the files are not shared
+            storageCleanupService.scheduleDeletion(imageUrls(artwork));
+            return;
+        }
+        imageAssetRepository.release(artwork.getImageHash())
+                .ifPresent(asset -> storageCleanupService.scheduleDeletion(StoredImages.of(asset).allUrls()));
+    }
+
+    private void applyImages(Artwork artwork, StoredImages images) {
+        artwork.setImageHash(images.getContentHash());
+        artwork.setImgUrl(images.getOriginalUrl());
+        artwork.setThumbnailUrl(images.getUrl(ImageVariant.THUMBNAIL));
+        artwork.setMediumUrl(images.getUrl(ImageVariant.MEDIUM));
+        artwork.setFullUrl(images.getUrl(ImageVariant.FULL));
+    }
+
+    private List<String> imageUrls(Artwork artwork) {
+        return Arrays.asList(artwork.getImgUrl(), artwork.getThumbnailUrl(),
+                artwork.getMediumUrl(), artwork.getFullUrl());
+    }
+
+    // ---------------- SEARCH ----------------
+
+    /**
+     * Turns free text into an AND-ed prefix tsquery, e.g. "Blue  sea!" becomes "blue:* & sea:*".
+     * Only letters and digits are kept, so user input can never produce tsquery syntax errors.
+     */
+    private String toPrefixTsQuery(String text) {
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = SEARCH_WORD.matcher(text == null ? "" : text);
+        while (matcher.find() && terms.size() < MAX_SEARCH_WORDS) {
+            terms.add(matcher.group().toLowerCase(Locale.ROOT) + ":*");
+        }
+        if (terms.isEmpty()) {
+            throw new InvalidRequestException("Search query must contain at least one letter or digit");
+        }
+        return String.join(" & ", terms);
+    }
+
+    /** Signals that a reused image was released concurrently; the caller re-uploads. */
+    private static class StaleImageException extends RuntimeException {
+    }
+
+    // ---------------- CURSOR ----------------
+    // Cursor format before encoding: "ID:<id>" or "PRICE:<price>:<id>"
+
+    private String encodeCursor(ArtworkSort sort, Artwork last) {
+        String raw = sort == ArtworkSort.PRICE
+                ? sort.name() + ":" + last.getPrice().toPlainString() + ":" + last.getId()
+                : sort.name() + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void applyCursor(ArtworkPageQuery query, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            ArtworkSort sort = ArtworkSort.valueOf(parts[0]);
+            if (sort != query.getSort()) {
+                throw new InvalidRequestException("Cursor does not match the requested sort order");
+            }
+            if (sort == ArtworkSort.PRICE && parts.length == 3) {
+                query.setAfterPrice(new BigDecimal(parts[1]));
+                query.setAfterId(Integer.parseInt(parts[2]));
+            } else if (sort == ArtworkSort.ID && parts.length == 2) {
+                query.setAfterId(Integer.parseInt(parts[1]));
+            } else {
+                throw new InvalidRequestException("Invalid page cursor");
+            }
+        } catch (IllegalArgumentException e) {
+            // Covers bad Base64, unknown sort names and unparsable numbers
+            throw new InvalidRequestException("Invalid page cursor");
+        }
     }
-}
\ No newline at end of file
+}
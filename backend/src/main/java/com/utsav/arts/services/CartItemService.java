@@ -1,5 +1,6 @@
 package com.utsav.arts.services;
 
+import com.utsav.arts.dtos.cartItemDTO.CartLineChangeDTO;
 import com.utsav.arts.exceptions.InvalidRequestException;
 import com.utsav.arts.exceptions.ResourceNotFoundException;
 import com.utsav.arts.models.Cart;
@@ -77,6 +78,18 @@ public interface CartItemService {
      */
     void deleteByCartId(int cartId);
 
+    /**
+     * Applies several line changes to a cart in one transaction, then recomputes the cart
+     * totals once. Either all changes are applied or none.
+     *
+     * @param cartId  The ID of the cart
+     * @param changes Line changes, applied in the given order
+     * @return The cart with its resulting items and totals
+     * @throws ResourceNotFoundException if the cart or an added artwork does not exist
+     * @throws InvalidRequestException   if a change has an invalid quantity
+     */
+    Cart applyChanges(int cartId, List<CartLineChangeDTO> changes);
+
     /**
      * Checks if a specific user is the owner of the cart item.
      *
@@ -1,38 +1,56 @@
 package com.utsav.arts.services;
 
+import com.utsav.arts.cache.CartStore;
+import com.utsav.arts.dtos.cartItemDTO.CartLineChangeDTO;
 import com.utsav.arts.exceptions.InvalidRequestException;
 import com.utsav.arts.exceptions.ResourceNotFoundException;
 import com.utsav.arts.models.Cart;
 import com.utsav.arts.models.CartItem;
 import com.utsav.arts.repository.CartItemRepository;
+import com.utsav.arts.repository.CartRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 /**
  * Implementation of {@link CartItemService}.
  * Handles the business logic for managing cart items,
  * including adding, updating, deleting, and adjusting quantities.
+ *
+ * <p>Every quantity change is a single atomic statement that also recomputes the stored
+ * cart totals at current prices and bumps the cart version, so concurrent clicks never
+ * lose updates and totals never drift from the prices. Every write locks the cart row
+ * before any item row, so concurrent writers to one cart cannot deadlock.</p>
+ *
+ * <p>With the {@link CartStore} enabled, reads and quantity changes of existing items are
+ * served from memory and written back in the background instead; every other write
+ * first writes the cart's pending changes through.</p>
  */
 @Service("cartItemService")
 @Transactional
 public class CartItemServiceImpl implements CartItemService {
 
     private final CartItemRepository cartItemRepository;
-    private final CartService cartService;
+    private final CartRepository cartRepository;
+    private final CartStore cartStore;
 
     /**
      * Constructs CartItemServiceImpl with dependencies.
      *
      * @param cartItemRepository Repository for CRUD operations on CartItem
-     * @param cartService        Service for managing Cart entities
+     * @param cartRepository     Repository holding the cart totals
+     * @param cartStore          Buffers quantity changes in memory when enabled
      */
     public CartItemServiceImpl(CartItemRepository cartItemRepository,
-                               CartService cartService) {
+                               CartRepository cartRepository,
+                               CartStore cartStore) {
         this.cartItemRepository = cartItemRepository;
-        this.cartService = cartService;
+        this.cartRepository = cartRepository;
+        this.cartStore = cartStore;
     }
 
     /**
@@ -46,21 +64,10 @@ public class CartItemServiceImpl implements CartItemService {
             throw new InvalidRequestException("Quantity must be at least 1 when adding to cart");
         }
 
-        // If item exists, increase quantity; else save new
-        CartItem result = cartItemRepository
-                .findByCartIdAndArtworkId(cart.getId(), cartItem.getArtwork().getId())
-                .map(existingItem -> {
-                    existingItem.setQuantity(existingItem.getQuantity() + cartItem.getQuantity());
-                    return cartItemRepository.update(existingItem);
-                })
-                .orElseGet(() -> {
-                    cartItem.setCart(cart);
-                    cart.getItems().add(cartItem); // sync list
-                    return cartItemRepository.save(cartItem);
-                });
-
-        recalculateCart(cart);
-        return result;
+        // If item exists, increase quantity; else insert it. Atomic under the cart lock either way
+        cartStore.writeThrough(cart.getId());
+        cartItem.setCart(cart);
+        return cartItemRepository.addOrIncrement(cartItem);
     }
 
     /**
@@ -68,31 +75,78 @@ public class CartItemServiceImpl implements CartItemService {
      */
     @Override
     public CartItem update(CartItem cartItem, Cart cart) {
-        CartItem existingItem = cartItemRepository.findById(cartItem.getId())
+        CartItem existingItem = cartStore.findItem(cartItem.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Cart item not found with id: " + cartItem.getId()));
 
         int qty = cartItem.getQuantity();
         validateQuantity(qty);
 
+        // Sets the quantity (deleting at zero) and moves the cart totals in one statement
+        if (!cartStore.setQuantity(existingItem.getId(), qty)) {
+            throw new ResourceNotFoundException("Cart item not found with id: " + cartItem.getId());
+        }
         if (qty == 0) {
-            cart.getItems().remove(existingItem); // keep cart.items in sync
-            cartItemRepository.deleteById(existingItem.getId());
-            recalculateCart(cart);
             return null;
         }
 
-        existingItem.setQuantity(qty);
-        CartItem updatedItem = cartItemRepository.update(existingItem);
-        recalculateCart(cart);
+        // Copy for the response; changing the managed item would write it a second time
+        CartItem updatedItem = new CartItem(existingItem.getCart(), existingItem.getArtwork(), qty);
+        updatedItem.setId(existingItem.getId());
         return updatedItem;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Changes are first folded into one net change per artwork, so each line is written
+     * once. Lines are written in artwork ID order, so concurrent batches lock them in the
+     * same order and cannot deadlock.
+     */
+    @Override
+    public Cart applyChanges(int cartId, List<CartLineChangeDTO> changes) {
+        // Writes pending changes in a transaction of its own, so before this one locks the cart
+        cartStore.writeThrough(cartId);
+        if (!cartRepository.lockById(cartId)) {
+            throw new ResourceNotFoundException("Cart not found with id: " + cartId);
+        }
+
+        Map<Integer, LineChange> net = new TreeMap<>();
+        for (CartLineChangeDTO change : changes) {
+            int artworkId = change.getArtworkId();
+            switch (change.getOp()) {
+                case ADD -> {
+                    if (change.getQuantity() == 0) {
+                        throw new InvalidRequestException("Quantity must be at least 1 when adding to cart");
+                    }
+                    net.merge(artworkId, new LineChange(change.getQuantity(), false), LineChange::then);
+                }
+                case SET -> net.put(artworkId, new LineChange(change.getQuantity(), true));
+                case REMOVE -> net.put(artworkId, new LineChange(0, true));
+            }
+        }
+
+        for (Map.Entry<Integer, LineChange> entry : net.entrySet()) {
+            int artworkId = entry.getKey();
+            LineChange line = entry.getValue();
+            if (line.quantity() == 0) {
+                cartItemRepository.deleteLine(cartId, artworkId);
+            } else if (!cartItemRepository.mergeLine(cartId, artworkId, line.quantity(), line.replace())) {
+                throw new ResourceNotFoundException("Artwork not found with id: " + artworkId);
+            }
+        }
+
+        // Items were written around the persistence context, so the cart is only loaded now
+        cartRepository.recalculateTotals(cartId);
+        return cartRepository.findById(cartId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart not found with id: " + cartId));
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Optional<CartItem> findById(int id) {
-        return cartItemRepository.findById(id);
+        return cartStore.findItem(id);
     }
 
     /**
@@ -100,7 +154,7 @@ public class CartItemServiceImpl implements CartItemService {
      */
     @Override
     public List<CartItem> findByCartId(int cartId) {
-        return cartItemRepository.findByCartId(cartId);
+        return cartStore.findItemsByCartId(cartId);
     }
 
     /**
@@ -108,7 +162,9 @@ public class CartItemServiceImpl implements CartItemService {
      */
     @Override
     public Optional<CartItem> findByCartIdAndArtworkId(int cartId, int artworkId) {
-        return cartItemRepository.findByCartIdAndArtworkId(cartId, artworkId);
+        return cartStore.findItemsByCartId(cartId).stream()
+                .filter(item -> item.getArtwork().getId() == artworkId)
+                .findFirst();
     }
 
     /**
@@ -116,14 +172,10 @@ public class CartItemServiceImpl implements CartItemService {
      */
     @Override
     public void deleteById(int id) {
-        CartItem item = cartItemRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Cannot delete: Cart item not found with id: " + id));
-
-        Cart cart = item.getCart();
-        cart.getItems().remove(item); // sync list
-        cartItemRepository.deleteById(id);
-
-        recalculateCart(cart);
+        // Deletes the item and subtracts it from the cart totals in one statement
+        if (!cartStore.setQuantity(id, 0)) {
+            throw new ResourceNotFoundException("Cannot delete: Cart item not found with id: " + id);
+        }
     }
 
     /**
@@ -131,12 +183,13 @@ public class CartItemServiceImpl implements CartItemService {
      */
     @Override
     public void deleteByCartId(int cartId) {
-        Cart cart = cartService.findById(cartId)
-                .orElseThrow(() -> new ResourceNotFoundException("Cannot clear items: Cart not found with id: " + cartId));
-
-        cart.getItems().clear(); // clear items in memory
+        cartStore.discard(cartId);
+        // Resetting the totals locks the cart row before any item row, like every cart write,
+        // so concurrent item changes wait for the clear
+        if (!cartRepository.resetTotals(cartId)) {
+            throw new ResourceNotFoundException("Cannot clear items: Cart not found with id: " + cartId);
+        }
         cartItemRepository.deleteByCartId(cartId);
-        recalculateCart(cart);
     }
 
     /**
@@ -144,21 +197,10 @@ public class CartItemServiceImpl implements CartItemService {
      */
     @Override
     public void decreaseQuantity(int cartItemId) {
-        CartItem item = cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart item not found with id: " + cartItemId));
-
-        Cart cart = item.getCart();
-        int newQty = item.getQuantity() - 1;
-
-        if (newQty <= 0) {
-            cart.getItems().remove(item);
-            cartItemRepository.deleteById(cartItemId);
-        } else {
-            item.setQuantity(newQty);
-            cartItemRepository.update(item);
+        // Removes the item when it reaches zero
+        if (!cartStore.adjustQuantity(cartItemId, -1)) {
+            throw new ResourceNotFoundException("Cart item not found with id: " + cartItemId);
         }
-
-        recalculateCart(cart);
     }
 
     /**
@@ -166,22 +208,18 @@ public class CartItemServiceImpl implements CartItemService {
      */
     @Override
     public void increaseQuantity(int cartItemId) {
-        CartItem item = cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart item not found with id: " + cartItemId));
-
-        Cart cart = item.getCart();
-        item.setQuantity(item.getQuantity() + 1);
-        cartItemRepository.update(item);
-
-        recalculateCart(cart);
+        if (!cartStore.adjustQuantity(cartItemId, 1)) {
+            throw new ResourceNotFoundException("Cart item not found with id: " + cartItemId);
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     public boolean isOwner(int cartItemId, int userId) {
-        return cartItemRepository.findById(cartItemId)
-                .map(item -> item.getCart().getUser().getId() == userId)
+        // Only the owner column is read, not the item with its cart
+        return cartStore.findItemOwnerId(cartItemId)
+                .map(ownerId -> ownerId == userId)
                 .orElse(false);
     }
 
@@ -199,12 +237,13 @@ public class CartItemServiceImpl implements CartItemService {
     }
 
     /**
-     * Recalculates totals for the cart and saves it.
-     *
-     * @param cart The cart to recalculate
+     * Net change of one cart line: a quantity to add, or with {@code replace} the new quantity.
      */
-    private void recalculateCart(Cart cart) {
-        cart.recalculateTotals();
-        cartService.save(cart);
+    private record LineChange(int quantity, boolean replace) {
+
+        /** Combines this change with a later one for the same artwork. */
+        LineChange then(LineChange later) {
+            return later.replace ? later : new LineChange(quantity + later.quantity, replace);
+        }
     }
 }
\ No newline at end of file
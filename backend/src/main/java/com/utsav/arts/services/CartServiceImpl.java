@@ -1,5 +1,6 @@
 package com.utsav.arts.services;
 
+import com.utsav.arts.cache.CartStore;
 import com.utsav.arts.exceptions.ResourceAlreadyExistsException;
 import com.utsav.arts.exceptions.ResourceNotFoundException;
 import com.utsav.arts.models.Cart;
@@ -12,20 +13,26 @@ import java.util.Optional;
 /**
  * Implementation of {@link CartService}.
  * Handles business logic for creating, updating, retrieving, and deleting shopping carts.
+ *
+ * <p>Reads go through {@link CartStore}, which serves active carts from memory when
+ * enabled and otherwise reads the database.</p>
  */
 @Service("cartService")
 @Transactional
 public class CartServiceImpl implements CartService {
 
     private final CartRepository cartRepository;
+    private final CartStore cartStore;
 
     /**
      * Constructs a CartServiceImpl with the given repository.
      *
      * @param cartRepository Repository for CRUD operations on Cart entities
+     * @param cartStore      Serves active carts from memory when enabled
      */
-    public CartServiceImpl(CartRepository cartRepository) {
+    public CartServiceImpl(CartRepository cartRepository, CartStore cartStore) {
         this.cartRepository = cartRepository;
+        this.cartStore = cartStore;
     }
 
     /**
@@ -50,6 +57,9 @@ public class CartServiceImpl implements CartService {
             }
         }
 
+        if (cart.getId() != 0) {
+            cartStore.writeThrough(cart.getId());
+        }
         cart.recalculateTotals();
         return cartRepository.save(cart);
     }
@@ -60,7 +70,7 @@ public class CartServiceImpl implements CartService {
     @Override
     public Optional<Cart> findById(int id) {
         // Optional is returned so the Controller can throw ResourceNotFound if empty
-        return cartRepository.findById(id);
+        return cartStore.findById(id);
     }
 
     /**
@@ -68,7 +78,7 @@ public class CartServiceImpl implements CartService {
      */
     @Override
     public Optional<Cart> findByUserId(int userId) {
-        return cartRepository.findByUserId(userId);
+        return cartStore.findByUserId(userId);
     }
 
     /**
@@ -82,6 +92,7 @@ public class CartServiceImpl implements CartService {
         if (cartRepository.findById(id).isEmpty()) {
             throw new ResourceNotFoundException("Cannot delete: Cart not found with id: " + id);
         }
+        cartStore.discard(id);
         cartRepository.deleteById(id);
     }
 
@@ -89,8 +100,9 @@ public class CartServiceImpl implements CartService {
      * {@inheritDoc}
      */
     public boolean isOwner(int cartId, int userId) {
-        return cartRepository.findById(cartId)
-                .map(cart -> cart.getUser().getId() == userId)
+        // Only the owner column is read, not the cart with its items
+        return cartStore.findOwnerId(cartId)
+                .map(ownerId -> ownerId == userId)
                 .orElse(false);
     }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.utsav.arts.services;
 
+import com.utsav.arts.dtos.ordersDTO.OrdersResponseDTO;
 import com.utsav.arts.exceptions.InvalidRequestException;
+import com.utsav.arts.exceptions.OutOfStockException;
 import com.utsav.arts.exceptions.ResourceNotFoundException;
 import com.utsav.arts.models.OrderStatus;
 import com.utsav.arts.models.Orders;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,12 +23,14 @@ public interface OrdersService {
      * - Converts the user's cart items into order items.
      * - Calculates the total price.
      * - Sets the order status to PENDING.
+     * - Reserves the ordered units; they return to stock if the order is cancelled.
      *
      * @param userId  ID of the user placing the order
      * @param address Shipping address for the order
      * @return The created order
      * @throws ResourceNotFoundException if the user or their cart does not exist
      * @throws InvalidRequestException   if the user's cart is empty
+     * @throws OutOfStockException       if an artwork in the cart lacks stock
      */
     Orders placeOrder(int userId, String address);
 
@@ -60,7 +65,8 @@ public interface OrdersService {
     Orders deliverOrder(int orderId);
 
     /**
-     * Cancels an order.
+     * Cancels an order and puts its units back into stock.
+     * Its Stripe PaymentIntent, if any, is cancelled once the cancellation commits.
      *
      * @param orderId ID of the order to cancel
      * @return The updated order
@@ -69,6 +75,17 @@ public interface OrdersService {
      */
     Orders cancelOrder(int orderId);
 
+    /**
+     * Cancels a batch of orders still PENDING after {@code cutoff} and releases their stock.
+     * Their Stripe PaymentIntents are cancelled once the batch commits.
+     * Orders currently locked by another transaction are left for a later call.
+     *
+     * @param cutoff Orders placed before this time are expired
+     * @param limit  Maximum number of orders to cancel
+     * @return Number of orders cancelled
+     */
+    int expirePendingOrders(LocalDateTime cutoff, int limit);
+
     /**
      * Finds an order by its ID.
      *
@@ -84,6 +101,14 @@ public interface OrdersService {
      */
     List<Orders> findAll();
 
+    /**
+     * Returns all orders as read-only response DTOs, newest first.
+     * Intended for list views; no entities are loaded.
+     *
+     * @return List of all orders as DTOs
+     */
+    List<OrdersResponseDTO> findAllSummaries();
+
     /**
      * Returns all orders for a specific user.
      *
@@ -1,15 +1,22 @@
 package com.utsav.arts.services;
 
+import com.stripe.exception.StripeException;
+import com.utsav.arts.cache.CartStore;
+import com.utsav.arts.dtos.ordersDTO.OrdersResponseDTO;
 import com.utsav.arts.exceptions.InvalidRequestException;
+import com.utsav.arts.exceptions.OutOfStockException;
 import com.utsav.arts.exceptions.ResourceNotFoundException;
 import com.utsav.arts.models.*;
 import com.utsav.arts.repository.CartRepository;
 import com.utsav.arts.repository.OrdersRepository;
+import com.utsav.arts.repository.StockRepository;
 import com.utsav.arts.repository.UserRepository;
+import com.utsav.arts.stripepayment.StripeService;
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -22,9 +29,14 @@ import java.util.Optional;
 @Transactional
 public class OrdersServiceImpl implements OrdersService {
 
+    private static final Logger logger = LoggerFactory.getLogger(OrdersServiceImpl.class);
+
     private final OrdersRepository ordersRepository;
     private final CartRepository cartRepository;
     private final UserRepository userRepository;
+    private final StockRepository stockRepository;
+    private final CartStore cartStore;
+    private final StripeService stripeService;
 
     /**
      * Constructs an OrdersServiceImpl with required repositories.
@@ -32,13 +44,22 @@ public class OrdersServiceImpl implements OrdersService {
      * @param ordersRepository Repository for order CRUD operations
      * @param cartRepository   Repository for user cart operations
      * @param userRepository   Repository for user operations
+     * @param stockRepository  Reserves and releases artwork stock
+     * @param cartStore        Writes buffered cart changes back before checkout
+     * @param stripeService    Cancels the PaymentIntents of cancelled orders
      */
     public OrdersServiceImpl(OrdersRepository ordersRepository,
                              CartRepository cartRepository,
-                             UserRepository userRepository) {
+                             UserRepository userRepository,
+                             StockRepository stockRepository,
+                             CartStore cartStore,
+                             StripeService stripeService) {
         this.ordersRepository = ordersRepository;
         this.cartRepository = cartRepository;
         this.userRepository = userRepository;
+        this.stockRepository = stockRepository;
+        this.cartStore = cartStore;
+        this.stripeService = stripeService;
     }
 
     /**
@@ -46,39 +67,22 @@ public class OrdersServiceImpl implements OrdersService {
      */
     @Override
     public Orders placeOrder(int userId, String address) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("No active cart found for user id: " + userId));
+        // The database must hold the cart's latest quantities before it is read
+        cartStore.writeThroughUser(userId);
 
-        if (cart.getItems() == null || cart.getItems().isEmpty()) {
-            throw new InvalidRequestException("Cannot place order: Your cart is empty.");
+        // Reserve first: a failure rolls back before any order row exists
+        List<Integer> outOfStock = stockRepository.reserveForCart(userId);
+        if (!outOfStock.isEmpty()) {
+            throw new OutOfStockException(outOfStock);
         }
 
-        Orders order = new Orders();
-        order.setUser(user);
-        order.setAddress(address);
-        order.setStatus(OrderStatus.PENDING);
-        order.setOrderedAt(LocalDateTime.now());
-
-        BigDecimal total = BigDecimal.ZERO;
-
-        for (CartItem cartItem : cart.getItems()) {
-            OrderItem orderItem = new OrderItem();
-            orderItem.setArtwork(cartItem.getArtwork());
-            orderItem.setQuantity(cartItem.getQuantity());
-            orderItem.setPriceAtPurchase(cartItem.getArtwork().getPrice());
-            order.addOrderItem(orderItem);
-
-            total = total.add(cartItem.getArtwork().getPrice()
-                    .multiply(BigDecimal.valueOf(cartItem.getQuantity())));
+        // Order and lines are built from the cart inside the database, in one statement
+        Optional<Integer> orderId = ordersRepository.insertFromCart(userId, address, LocalDateTime.now());
+        if (orderId.isEmpty()) {
+            throw emptyCheckoutError(userId);
         }
-
-        order.setTotalPrice(total);
-
-        // Save order first
-        return ordersRepository.save(order);
+        return ordersRepository.findById(orderId.get())
+                .orElseThrow(() -> new IllegalStateException("Order " + orderId.get() + " vanished after insert"));
     }
 
     /**
@@ -86,17 +90,7 @@ public class OrdersServiceImpl implements OrdersService {
      */
     @Override
     public Orders confirmOrder(int orderId) {
-        Orders order = ordersRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
-
-        if (order.getStatus().canTransitionTo(OrderStatus.CONFIRMED)) {
-            throw new InvalidRequestException(
-                    "Cannot confirm order from current status: " + order.getStatus()
-            );
-        }
-
-        order.setStatus(OrderStatus.CONFIRMED);
-        return ordersRepository.update(order);
+        return transition(orderId, OrderStatus.CONFIRMED, "confirm");
     }
 
     /**
@@ -104,15 +98,7 @@ public class OrdersServiceImpl implements OrdersService {
      */
     @Override
     public Orders shipOrder(int orderId) {
-        Orders order = ordersRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
-
-        if (order.getStatus().canTransitionTo(OrderStatus.SHIPPED)) {
-            throw new InvalidRequestException("Cannot ship order from current status: " + order.getStatus());
-        }
-
-        order.setStatus(OrderStatus.SHIPPED);
-        return ordersRepository.update(order);
+        return transition(orderId, OrderStatus.SHIPPED, "ship");
     }
 
     /**
@@ -120,15 +106,7 @@ public class OrdersServiceImpl implements OrdersService {
      */
     @Override
     public Orders deliverOrder(int orderId) {
-        Orders order = ordersRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
-
-        if (order.getStatus().canTransitionTo(OrderStatus.DELIVERED)) {
-            throw new InvalidRequestException("Cannot deliver order from current status: " + order.getStatus());
-        }
-
-        order.setStatus(OrderStatus.DELIVERED);
-        return ordersRepository.update(order);
+        return transition(orderId, OrderStatus.DELIVERED, "deliver");
     }
 
     /**
@@ -136,15 +114,23 @@ public class OrdersServiceImpl implements OrdersService {
      */
     @Override
     public Orders cancelOrder(int orderId) {
-        Orders order = ordersRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
-
-        if (order.getStatus().canTransitionTo(OrderStatus.CANCELLED)) {
-            throw new InvalidRequestException("Cannot cancel order from current status: " + order.getStatus());
-        }
+        // Only PENDING orders can be cancelled, and transition() fails unless this call is the
+        // one that moved the order out of PENDING, so the stock is released exactly once
+        Orders order = transition(orderId, OrderStatus.CANCELLED, "cancel");
+        stockRepository.releaseForOrders(List.of(orderId));
+        cancelPaymentIntentsAfterCommit(List.of(orderId));
+        return order;
+    }
 
-        order.setStatus(OrderStatus.CANCELLED);
-        return ordersRepository.update(order);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int expirePendingOrders(LocalDateTime cutoff, int limit) {
+        List<Integer> expired = ordersRepository.expirePending(cutoff, limit);
+        stockRepository.releaseForOrders(expired);
+        cancelPaymentIntentsAfterCommit(expired);
+        return expired.size();
     }
 
     /**
@@ -163,6 +149,14 @@ public class OrdersServiceImpl implements OrdersService {
         return ordersRepository.findAll();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<OrdersResponseDTO> findAllSummaries() {
+        return ordersRepository.findAllSummaries();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -196,8 +190,61 @@ public class OrdersServiceImpl implements OrdersService {
      */
     @Override
     public boolean isOwner(int orderId, int userId) {
-        return ordersRepository.findById(orderId)
-                .map(order -> order.getUser().getId() == userId)
+        // Only the owner column is read, not the order with its items
+        return ordersRepository.findOwnerId(orderId)
+                .map(ownerId -> ownerId == userId)
                 .orElse(false);
     }
-}
\ No newline at end of file
+
+    // ---------------- INTERNAL ----------------
+
+    /**
+     * Moves an order to {@code to} with a conditional update on its current status, so of
+     * two racing changes (a payment, the expiry sweep, an admin action) only one applies.
+     */
+    private Orders transition(int orderId, OrderStatus to, String action) {
+        Orders order = ordersRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+
+        OrderStatus from = order.getStatus();
+        if (!from.canTransitionTo(to)) {
+            throw new InvalidRequestException("Cannot " + action + " order from current status: " + from);
+        }
+        if (!ordersRepository.transitionStatus(orderId, from, to)) {
+            throw new InvalidRequestException("Order status changed concurrently, please retry");
+        }
+        order.setStatus(to);
+        return order;
+    }
+
+    /**
+     * Cancels the Stripe PaymentIntents of cancelled orders once the cancellation commits,
+     * so a customer can no longer pay for an order whose stock was released. An intent paid
+     * before it could be cancelled is refunded when its success webhook arrives.
+     */
+    private void cancelPaymentIntentsAfterCommit(List<Integer> orderIds) {
+        List<String> intentIds = ordersRepository.findPaymentIntentIds(orderIds);
+        if (intentIds.isEmpty()) return;
+
+        TransactionCallbacks.afterCommit(() -> {
+            for (String intentId : intentIds) {
+                try {
+                    stripeService.cancelPaymentIntent(intentId);
+                } catch (StripeException e) {
+                    logger.warn("Could not cancel PaymentIntent {}: {}", intentId, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /** Explains why checkout created no order: unknown user, no cart, or an empty cart. */
+    private RuntimeException emptyCheckoutError(int userId) {
+        if (userRepository.findById(userId).isEmpty()) {
+            return new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        if (cartRepository.findByUserId(userId).isEmpty()) {
+            return new ResourceNotFoundException("No active cart found for user id: " + userId);
+        }
+        return new InvalidRequestException("Cannot place order: Your cart is empty.");
+    }
+}
@@ -1,5 +1,8 @@
 package com.utsav.arts.services;
 
+import com.stripe.exception.StripeException;
+import com.utsav.arts.dtos.paymentDTO.PaymentResponseDTO;
+import com.utsav.arts.exceptions.InvalidRequestException;
 import com.utsav.arts.exceptions.ResourceNotFoundException;
 import com.utsav.arts.models.Payment;
 import com.utsav.arts.models.PaymentStatus;
@@ -19,12 +22,32 @@ public interface PaymentService {
      * - If createdAt is null, it sets the current timestamp.
      * - If status is null, it sets the status to PENDING.
      * - If the payment is saved with SUCCESS status, it confirms the related order.
+     * - If that order is no longer PENDING (expired, cancelled or already paid), the payment
+     *   is refunded through Stripe and saved as REFUNDED, or as REFUND_REQUIRED if the
+     *   refund cannot be made.
      *
      * @param payment The payment to save
      * @return The saved payment
      */
     Payment save(Payment payment);
 
+    /**
+     * Returns a Stripe PaymentIntent to pay an order that is still PENDING.
+     * <p>
+     * The intent recorded on the order is reused while it can still be paid with the same
+     * amount and currency; otherwise a new one is created and recorded. If the order stops
+     * being PENDING meanwhile, the new intent is cancelled again.
+     *
+     * @param orderId  ID of the order to pay
+     * @param userId   ID of the paying user
+     * @param currency 3-letter ISO currency code
+     * @return The client secret of the PaymentIntent
+     * @throws ResourceNotFoundException if the order does not exist
+     * @throws InvalidRequestException   if the order is not PENDING
+     * @throws StripeException           if a Stripe API call fails
+     */
+    String createPaymentIntent(int orderId, int userId, String currency) throws StripeException;
+
     /**
      * Finds a payment by its ID.
      *
@@ -72,6 +95,14 @@ public interface PaymentService {
      */
     List<Payment> findAll();
 
+    /**
+     * Returns all payments as read-only response DTOs, newest first.
+     * Intended for list views; no entities are loaded.
+     *
+     * @return List of all payments as DTOs
+     */
+    List<PaymentResponseDTO> findAllSummaries();
+
     /**
      * Deletes a payment by its ID.
      *
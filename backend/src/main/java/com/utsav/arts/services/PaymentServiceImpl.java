@@ -1,5 +1,9 @@
 package com.utsav.arts.services;
 
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.utsav.arts.dtos.paymentDTO.PaymentResponseDTO;
+import com.utsav.arts.exceptions.InvalidRequestException;
 import com.utsav.arts.exceptions.ResourceNotFoundException;
 import com.utsav.arts.models.Orders; // Import Orders
 import com.utsav.arts.models.OrderStatus; // Import OrderStatus
@@ -7,12 +11,16 @@ import com.utsav.arts.models.Payment;
 import com.utsav.arts.models.PaymentStatus;
 import com.utsav.arts.repository.OrdersRepository; // Import Repo
 import com.utsav.arts.repository.PaymentRepository;
+import com.utsav.arts.stripepayment.StripeService;
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementation of {@link PaymentService}.
@@ -22,10 +30,17 @@ import java.util.Optional;
 @Transactional
 public class PaymentServiceImpl implements PaymentService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PaymentServiceImpl.class);
+
+    /** Stripe statuses of a PaymentIntent the customer can still complete. */
+    private static final Set<String> PAYABLE_INTENT_STATUSES =
+            Set.of("requires_payment_method", "requires_confirmation", "requires_action");
+
     private final PaymentRepository paymentRepository;
     private final OrdersRepository ordersRepository;
     private final CartService cartService;
     private final CartItemService cartItemService;
+    private final StripeService stripeService;
 
 
     /**
@@ -35,12 +50,14 @@ public class PaymentServiceImpl implements PaymentService {
      * @param ordersRepository  Repository for order operations
      * @param cartService       Service to manage user carts
      * @param cartItemService   Service to manage items in user carts
+     * @param stripeService     Creates, cancels and refunds Stripe PaymentIntents
      */
-    public PaymentServiceImpl(PaymentRepository paymentRepository, OrdersRepository ordersRepository, CartService cartService, CartItemService cartItemService) {
+    public PaymentServiceImpl(PaymentRepository paymentRepository, OrdersRepository ordersRepository, CartService cartService, CartItemService cartItemService, StripeService stripeService) {
         this.cartService = cartService;
         this.cartItemService = cartItemService;
         this.paymentRepository = paymentRepository;
         this.ordersRepository = ordersRepository;
+        this.stripeService = stripeService;
     }
 
     /**
@@ -58,11 +75,47 @@ public class PaymentServiceImpl implements PaymentService {
         // EDGE CASE: If a payment is created directly as SUCCESS (rare, but possible)
         Payment saved = paymentRepository.save(payment);
         if (saved.getStatus() == PaymentStatus.SUCCESS) {
-            confirmOrderInternal(saved.getOrder());
+            confirmOrderInternal(saved);
         }
         return saved;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Stripe is called outside any database transaction; only recording the intent on
+     * the order takes a short one.</p>
+     */
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public String createPaymentIntent(int orderId, int userId, String currency) throws StripeException {
+        Orders order = ordersRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+        if (order.getStatus() != OrderStatus.PENDING) {
+            throw new InvalidRequestException("Cannot pay order in current status: " + order.getStatus());
+        }
+
+        // A retried checkout reuses the open intent, so the order is not paid through two of them
+        if (order.getPaymentIntentId() != null) {
+            PaymentIntent existing = stripeService.retrievePaymentIntent(order.getPaymentIntentId());
+            if (PAYABLE_INTENT_STATUSES.contains(existing.getStatus())) {
+                if (existing.getCurrency().equalsIgnoreCase(currency.trim())
+                        && existing.getAmount() == StripeService.toCents(order.getTotalPrice())) {
+                    return existing.getClientSecret();
+                }
+                cancelPaymentIntent(existing.getId());
+            }
+        }
+
+        PaymentIntent intent = stripeService.createPaymentIntent(order.getTotalPrice(), currency, orderId, userId);
+        // Conditional on PENDING, so an order expired or cancelled meanwhile gets no payable intent
+        if (!ordersRepository.recordPaymentIntent(orderId, intent.getId())) {
+            cancelPaymentIntent(intent.getId());
+            throw new InvalidRequestException("Order is no longer awaiting payment");
+        }
+        return intent.getClientSecret();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -111,6 +164,14 @@ public class PaymentServiceImpl implements PaymentService {
         return paymentRepository.findAll();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<PaymentResponseDTO> findAllSummaries() {
+        return paymentRepository.findAllSummaries();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -127,8 +188,9 @@ public class PaymentServiceImpl implements PaymentService {
      */
     @Override
     public boolean isPaymentOwner(int paymentId, int userId) {
-        return findById(paymentId)
-                .map(payment -> payment.getUser().getId() == userId)
+        // Only the owner column is read, not the payment
+        return paymentRepository.findOwnerId(paymentId)
+                .map(ownerId -> ownerId == userId)
                 .orElse(false);
     }
 
@@ -136,20 +198,59 @@ public class PaymentServiceImpl implements PaymentService {
      * Confirms an order internally after successful payment.
      * <p>
      * - Sets the order status to CONFIRMED if it is still PENDING.
+     * - Otherwise refunds the payment (see {@link #refundUnpayableOrder}).
      * - Clears the user's cart to remove purchased items.
      *
-     * @param order The order associated with the successful payment
+     * @param payment The successful payment
      */
-    private void confirmOrderInternal(Orders order) {
-        if (order.getStatus() != OrderStatus.PENDING) return;
+    private void confirmOrderInternal(Payment payment) {
+        Orders order = payment.getOrder();
 
-        // Confirm the order
+        // Confirm the order, unless it was cancelled or expired meanwhile and its stock
+        // released, or was already paid through another intent
+        if (!ordersRepository.transitionStatus(order.getId(), OrderStatus.PENDING, OrderStatus.CONFIRMED)) {
+            refundUnpayableOrder(payment);
+            return;
+        }
         order.setStatus(OrderStatus.CONFIRMED);
-        ordersRepository.save(order);
 
         // Clear the user's cart after successful payment
         cartService.findByUserId(order.getUser().getId())
                 .ifPresent(cart -> cartItemService.deleteByCartId(cart.getId()));
     }
 
+    /**
+     * Refunds a payment for an order that can no longer be paid.
+     * <p>
+     * Only Stripe PaymentIntents are refunded automatically. If the refund fails, or the
+     * payment did not come from Stripe, it is saved as REFUND_REQUIRED, which the owner
+     * finds through the payment status filter.
+     *
+     * @param payment The successful payment
+     */
+    private void refundUnpayableOrder(Payment payment) {
+        String intentId = payment.getTransactionId();
+        logger.warn("Payment {} succeeded for order {} which is no longer pending; refunding",
+                intentId, payment.getOrder().getId());
+
+        if (intentId != null && intentId.startsWith("pi_")) {
+            try {
+                stripeService.refundPaymentIntent(intentId);
+                payment.setStatus(PaymentStatus.REFUNDED);
+                return;
+            } catch (StripeException e) {
+                logger.error("Refund of payment {} failed, flagged for a manual refund", intentId, e);
+            }
+        }
+        payment.setStatus(PaymentStatus.REFUND_REQUIRED);
+    }
+
+    /** Cancels an intent that must not be paid; if that fails, a late payment is refunded. */
+    private void cancelPaymentIntent(String intentId) {
+        try {
+            stripeService.cancelPaymentIntent(intentId);
+        } catch (StripeException e) {
+            logger.warn("Could not cancel PaymentIntent {}: {}", intentId, e.getMessage());
+        }
+    }
 }
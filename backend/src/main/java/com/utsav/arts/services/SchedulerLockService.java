@@ -0,0 +1,21 @@
+package com.utsav.arts.services;
+
+import java.time.Duration;
+
+/**
+ * Service running scheduled jobs on one node at a time, through a lock row per job in the
+ * database. Every replica can schedule the job; only the node that takes the lock runs it.
+ */
+public interface SchedulerLockService {
+
+    /**
+     * Runs the job if no other node is running it, or skips it.
+     *
+     * @param name       Job name, unique per job
+     * @param atMostFor  Upper bound of a run; a crashed holder's lock frees itself after this
+     * @param atLeastFor Minimum time the lock stays held, to absorb schedule skew between nodes
+     * @param job        The work to run
+     * @return true if the job ran on this node
+     */
+    boolean runExclusively(String name, Duration atMostFor, Duration atLeastFor, Runnable job);
+}
@@ -0,0 +1,54 @@
+package com.utsav.arts.services;
+
+import com.utsav.arts.repository.SchedulerLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Implementation of {@link SchedulerLockService}.
+ *
+ * <p>Taking and releasing the lock each commit on their own; the job itself runs outside
+ * those transactions and manages its own.</p>
+ */
+@Service
+public class SchedulerLockServiceImpl implements SchedulerLockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerLockServiceImpl.class);
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    /** "pid@host" of this JVM */
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+
+    /**
+     * Constructs the SchedulerLockServiceImpl with required dependencies.
+     *
+     * @param schedulerLockRepository Repository for the lock rows
+     */
+    public SchedulerLockServiceImpl(SchedulerLockRepository schedulerLockRepository) {
+        this.schedulerLockRepository = schedulerLockRepository;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean runExclusively(String name, Duration atMostFor, Duration atLeastFor, Runnable job) {
+        Optional<LocalDateTime> lockedAt = schedulerLockRepository.tryAcquire(name, owner, atMostFor);
+        if (lockedAt.isEmpty()) {
+            logger.debug("Skipping {}: running on another node", name);
+            return false;
+        }
+        try {
+            job.run();
+            return true;
+        } finally {
+            schedulerLockRepository.release(name, owner, lockedAt.get(), atLeastFor);
+        }
+    }
+}
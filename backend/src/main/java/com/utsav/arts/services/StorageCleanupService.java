@@ -0,0 +1,102 @@
+package com.utsav.arts.services;
+
+import com.utsav.arts.exceptions.StorageUnavailableException;
+import com.utsav.arts.models.PendingDeletion;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service interface for the deferred deletion of stored files.
+ *
+ * <p>Callers queue files inside their own transaction; the files are deleted from
+ * storage by a background worker only after that transaction has committed.
+ * Uploads made outside a transaction are protected by a delayed reservation that the
+ * persisting transaction cancels, so the same worker reclaims orphaned uploads.</p>
+ */
+public interface StorageCleanupService {
+
+    /**
+     * Queues files for deletion as part of the current transaction.
+     * Null and blank URLs are ignored.
+     *
+     * @param fileUrls Public URLs of the files to delete
+     */
+    void scheduleDeletion(Collection<String> fileUrls);
+
+    /**
+     * Reserves freshly uploaded files for deletion after the orphan grace period,
+     * in a transaction of its own. Unless the reservation is cancelled by the transaction
+     * that starts referencing the files, the worker deletes them as orphans.
+     *
+     * @param fileUrls Public URLs of the uploaded files
+     * @return IDs identifying the reservation
+     */
+    List<Integer> reserveDeletion(Collection<String> fileUrls);
+
+    /**
+     * Queues uploaded files that never became referenced for deletion right away, in a
+     * transaction of its own. Content-addressed storage may have returned files that other
+     * images already use; the worker leaves those in place.
+     *
+     * @param fileUrls Public URLs of the unused uploads
+     */
+    void discardUploads(Collection<String> fileUrls);
+
+    /**
+     * Cancels every queued deletion of the given files as part of the current transaction.
+     * Called when files become referenced: besides the caller's own reservation this drops
+     * deletions queued by a release just before identical content was stored again. A
+     * worker deciding about these files is waited for; seeing the caller's reservation, it
+     * leaves the files in place.
+     *
+     * @param fileUrls Public URLs of the files that are in use
+     * @throws StorageUnavailableException if the worker is already unlinking one of the files
+     */
+    void cancelDeletion(Collection<String> fileUrls);
+
+    /**
+     * Makes a reservation due immediately, e.g. after persisting the referencing data failed.
+     * Runs in a transaction of its own. If it fails, the reservation still matures on its own,
+     * so callers handling another failure attach this one to it rather than replacing it.
+     *
+     * @param reservation IDs returned by {@link #reserveDeletion}
+     */
+    void expediteDeletion(Collection<Integer> reservation);
+
+    /**
+     * Claims the next batch of due deletions for processing.
+     *
+     * @return Claimed deletions, leased to the caller
+     */
+    List<PendingDeletion> claimDue();
+
+    /**
+     * Deletes the files of claimed deletions and removes the deletions from the queue.
+     *
+     * <ol>
+     *   <li>A short transaction locks the image assets and queued deletions of the files.
+     *       Deletions cancelled since the claim are dropped. A file is left in place while an
+     *       image asset still references it or while another deletion of it is reserved or
+     *       claimed elsewhere; the claimed deletions of those files are dropped too. The rest
+     *       are marked as being deleted, after which they can no longer be cancelled.</li>
+     *   <li>The files are deleted from storage with no transaction open and no lock held.</li>
+     *   <li>A second short transaction removes the marked deletions from the queue.</li>
+     * </ol>
+     *
+     * @param deletions Deletions returned by {@link #claimDue}
+     * @return Number of files deleted from storage
+     * @throws RuntimeException if storage fails; the marked deletions then stay queued and
+     *                          marked, since some of their files may already be gone
+     */
+    int deleteClaimed(Collection<PendingDeletion> deletions);
+
+    /**
+     * Reschedules deletions that failed, with exponential backoff.
+     * Deletions that reached the maximum number of attempts are not retried again.
+     *
+     * @param deletions Deletions whose files could not be deleted
+     * @param error     Failure to record
+     */
+    void markFailed(Collection<PendingDeletion> deletions, Exception error);
+}
@@ -0,0 +1,220 @@
+package com.utsav.arts.services;
+
+import com.utsav.arts.configurations.StorageCleanupProperties;
+import com.utsav.arts.exceptions.StorageUnavailableException;
+import com.utsav.arts.models.ImageAsset;
+import com.utsav.arts.models.PendingDeletion;
+import com.utsav.arts.repository.ImageAssetRepository;
+import com.utsav.arts.repository.PendingDeletionRepository;
+import com.utsav.arts.storage.FileStorageService;
+import com.utsav.arts.storage.StoredImages;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of {@link StorageCleanupService} backed by the {@code pending_deletions} table.
+ * Every method runs in its own short transaction unless the caller already has one, except
+ * {@link #deleteClaimed}, which calls storage between two transactions of its own.
+ */
+@Service
+@Transactional
+public class StorageCleanupServiceImpl implements StorageCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageCleanupServiceImpl.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PendingDeletionRepository pendingDeletionRepository;
+    private final ImageAssetRepository imageAssetRepository;
+    private final FileStorageService fileStorageService;
+    private final StorageCleanupProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs the StorageCleanupServiceImpl with required dependencies.
+     *
+     * @param pendingDeletionRepository Repository of the deletion queue
+     * @param imageAssetRepository      Index of images, checked for files still in use
+     * @param fileStorageService        Storage the files are deleted from
+     * @param properties                Batch size, lease and retry settings
+     * @param transactionManager        Used to keep storage calls outside of transactions
+     */
+    public StorageCleanupServiceImpl(PendingDeletionRepository pendingDeletionRepository,
+                                     ImageAssetRepository imageAssetRepository,
+                                     FileStorageService fileStorageService,
+                                     StorageCleanupProperties properties,
+                                     PlatformTransactionManager transactionManager) {
+        this.pendingDeletionRepository = pendingDeletionRepository;
+        this.imageAssetRepository = imageAssetRepository;
+        this.fileStorageService = fileStorageService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void scheduleDeletion(Collection<String> fileUrls) {
+        LocalDateTime now = LocalDateTime.now();
+        for (String url : fileUrls) {
+            if (url != null && !url.isBlank()) {
+                pendingDeletionRepository.save(new PendingDeletion(url, now));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public List<Integer> reserveDeletion(Collection<String> fileUrls) {
+        LocalDateTime due = LocalDateTime.now().plus(properties.getOrphanGrace());
+        List<Integer> ids = new ArrayList<>();
+        for (String url : fileUrls) {
+            if (url != null && !url.isBlank()) {
+                ids.add(pendingDeletionRepository.save(new PendingDeletion(url, due)).getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void discardUploads(Collection<String> fileUrls) {
+        scheduleDeletion(fileUrls);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cancelDeletion(Collection<String> fileUrls) {
+        // Waits for a worker deciding about these files, then sees whether it marked them
+        pendingDeletionRepository.deleteByFileUrls(fileUrls);
+        if (pendingDeletionRepository.anyDeleting(fileUrls)) {
+            throw new StorageUnavailableException("A stored file of this image is being deleted, please retry");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void expediteDeletion(Collection<Integer> reservation) {
+        pendingDeletionRepository.reschedule(reservation, LocalDateTime.now());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<PendingDeletion> claimDue() {
+        return pendingDeletionRepository.claimDue(properties.getBatchSize(), properties.getLease());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public int deleteClaimed(Collection<PendingDeletion> deletions) {
+        List<PendingDeletion> deleting = transactionTemplate.execute(status -> markDeleting(deletions));
+        Set<String> fileUrls = new LinkedHashSet<>();
+        List<Integer> ids = new ArrayList<>();
+        for (PendingDeletion deletion : deleting) {
+            fileUrls.add(deletion.getFileUrl());
+            ids.add(deletion.getId());
+        }
+
+        // No connection or row lock is held while storage works
+        fileStorageService.deleteAll(List.copyOf(fileUrls));
+        transactionTemplate.executeWithoutResult(status -> pendingDeletionRepository.deleteByIds(ids));
+        return fileUrls.size();
+    }
+
+    /**
+     * First phase of {@link #deleteClaimed}: drops the claimed deletions whose files are
+     * still in use and marks the others as being deleted.
+     *
+     * @return the marked deletions
+     */
+    private List<PendingDeletion> markDeleting(Collection<PendingDeletion> deletions) {
+        Set<Integer> claimed = new HashSet<>();
+        Set<String> fileUrls = new LinkedHashSet<>();
+        for (PendingDeletion deletion : deletions) {
+            claimed.add(deletion.getId());
+            fileUrls.add(deletion.getFileUrl());
+        }
+
+        // Assets before queue rows: the same lock order as acquiring and releasing images
+        Set<String> inUse = new HashSet<>();
+        for (ImageAsset asset : imageAssetRepository.lockByFileUrls(fileUrls)) {
+            if (asset.getRefCount() > 0) {
+                inUse.addAll(StoredImages.of(asset).allUrls());
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingDeletion> queued = pendingDeletionRepository.lockByFileUrls(fileUrls);
+        for (PendingDeletion other : queued) {
+            if (!claimed.contains(other.getId())
+                    && other.getNextAttemptAt() != null && other.getNextAttemptAt().isAfter(now)) {
+                // Reserved by an upload about to be referenced, or claimed by another worker
+                inUse.add(other.getFileUrl());
+            }
+        }
+
+        List<Integer> dropped = new ArrayList<>();
+        List<PendingDeletion> deleting = new ArrayList<>();
+        for (PendingDeletion deletion : queued) {
+            if (!claimed.contains(deletion.getId())) continue;
+            // Marked by an earlier attempt that failed: the file may be half gone, so finish it
+            if (deletion.getDeletingSince() == null && inUse.contains(deletion.getFileUrl())) {
+                dropped.add(deletion.getId());
+            } else {
+                deleting.add(deletion);
+            }
+        }
+        pendingDeletionRepository.deleteByIds(dropped);
+        pendingDeletionRepository.markDeleting(deleting.stream().map(PendingDeletion::getId).toList());
+        return deleting;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void markFailed(Collection<PendingDeletion> deletions, Exception error) {
+        String message = String.valueOf(error.getMessage());
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (PendingDeletion deletion : deletions) {
+            int attempts = deletion.getAttempts() + 1;
+            LocalDateTime next = null;
+            if (attempts < properties.getMaxAttempts()) {
+                next = now.plus(properties.backoffAfter(attempts));
+            } else {
+                logger.error("Giving up deleting {} after {} attempts", deletion.getFileUrl(), attempts);
+            }
+            pendingDeletionRepository.markFailed(deletion.getId(), next, message);
+        }
+    }
+}
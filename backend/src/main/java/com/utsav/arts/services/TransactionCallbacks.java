@@ -0,0 +1,34 @@
+package com.utsav.arts.services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for running work at the end of the current transaction.
+ *
+ * <p>Used for cache updates and side effects, which must never become visible for a
+ * write that is later rolled back.</p>
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Runs the action once the current transaction commits, or immediately when none is active.
+     *
+     * @param action Work to run after the commit; not run at all on rollback
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
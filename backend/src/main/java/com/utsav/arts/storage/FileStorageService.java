@@ -2,14 +2,36 @@ package com.utsav.arts.storage;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 public interface FileStorageService {
     /**
      * Uploads a file and returns the public URL.
      */
     String upload(MultipartFile file);
 
+    /**
+     * Uploads a file under the given object key and returns the public URL.
+     */
+    String upload(String key, MultipartFile file);
+
+    /**
+     * Uploads in-memory content under the given object key and returns the public URL.
+     */
+    String upload(String key, byte[] content, String contentType);
+
     /**
      * Deletes a file given its URL (or filename).
      */
     void delete(String fileUrl);
-}
\ No newline at end of file
+
+    /**
+     * Deletes several files given their URLs.
+     * Implementations may override this with a single batch request.
+     */
+    default void deleteAll(List<String> fileUrls) {
+        for (String fileUrl : fileUrls) {
+            delete(fileUrl);
+        }
+    }
+}
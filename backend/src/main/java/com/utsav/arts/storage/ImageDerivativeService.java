@@ -0,0 +1,297 @@
+package com.utsav.arts.storage;
+
+import com.utsav.arts.exceptions.InvalidRequestException;
+import com.utsav.arts.exceptions.StorageUnavailableException;
+import com.utsav.arts.models.ImageAsset;
+import com.utsav.arts.repository.ImageAssetRepository;
+import com.utsav.arts.services.StorageCleanupService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Image-processing stage in front of {@link FileStorageService}.
+ *
+ * <p>Stores the uploaded original unchanged and, from a single decode of it, a resized
+ * and recompressed copy for every {@link ImageVariant}. All objects of one upload share
+ * a random base key, and each variant's key is derived from it deterministically
+ * ({@code <base>-thumb.jpg}, {@code <base>-medium.jpg}, ...).</p>
+ *
+ * <p>Variants are encoded as JPEG, or as PNG when the source has transparency.</p>
+ *
+ * <p>Uploads are deduplicated by the SHA-256 of the original bytes against the
+ * {@link ImageAsset} index; reference counting of the index is up to the caller. Since
+ * storage may be content-addressed, an upload can resolve to a file that already backs
+ * another image, so files are never deleted here directly but only through
+ * {@link StorageCleanupService}, whose worker skips files that are still referenced.</p>
+ *
+ * <p>At most {@code app.upload.max-concurrent} uploads are processed at once. Each one
+ * holds a decoded raster plus its variants in memory, so this bounds the heap used by
+ * uploads; callers that cannot get a slot within the acquire timeout are rejected with
+ * {@link StorageUnavailableException} instead of queueing indefinitely.</p>
+ */
+@Service
+public class ImageDerivativeService {
+
+    private final FileStorageService fileStorageService;
+    private final ImageAssetRepository imageAssetRepository;
+    private final StorageCleanupService storageCleanupService;
+    private final float jpegQuality;
+    private final Semaphore uploadSlots;
+    private final Duration acquireTimeout;
+
+    /**
+     * Constructs the ImageDerivativeService.
+     *
+     * @param fileStorageService   Storage the original and the variants are written to
+     * @param imageAssetRepository Index of already stored images, by content hash
+     * @param storageCleanupService Queue reclaiming the objects of failed uploads
+     * @param jpegQuality          JPEG compression quality between 0 and 1
+     * @param maxConcurrent        Maximum number of uploads processed at the same time
+     * @param acquireTimeout       How long an upload waits for a free slot before being rejected
+     */
+    public ImageDerivativeService(FileStorageService fileStorageService,
+                                  ImageAssetRepository imageAssetRepository,
+                                  StorageCleanupService storageCleanupService,
+                                  @Value("${app.images.jpeg-quality:0.82}") float jpegQuality,
+                                  @Value("${app.upload.max-concurrent:4}") int maxConcurrent,
+                                  @Value("${app.upload.acquire-timeout:10s}") Duration acquireTimeout) {
+        this.fileStorageService = fileStorageService;
+        this.imageAssetRepository = imageAssetRepository;
+        this.storageCleanupService = storageCleanupService;
+        this.jpegQuality = jpegQuality;
+        this.uploadSlots = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * Returns the stored images for an upload, reusing an identical image if one is stored.
+     *
+     * <p>The upload is hashed first (streaming SHA-256 over the spooled part). If the
+     * hash is already indexed, its files are returned and nothing is decoded or transferred;
+     * otherwise the image is stored as by {@link #storeNew}.</p>
+     *
+     * @param file Uploaded image
+     * @return URLs of the original and of every variant
+     * @throws InvalidRequestException     if the file is not a decodable image
+     * @throws StorageUnavailableException if no upload slot frees up in time
+     */
+    public StoredImages store(MultipartFile file) {
+        String contentHash = sha256(file);
+        Optional<ImageAsset> existing = imageAssetRepository.findByHash(contentHash);
+        if (existing.isPresent()) {
+            return StoredImages.of(existing.get());
+        }
+        return storeNew(file, contentHash);
+    }
+
+    /**
+     * Stores an uploaded image and all its variants, without looking for an identical image.
+     * If any upload fails, the objects already stored for this image are queued for deletion.
+     *
+     * @param file Uploaded image
+     * @return URLs of the original and of every variant
+     * @throws InvalidRequestException     if the file is not a decodable image
+     * @throws StorageUnavailableException if no upload slot frees up in time
+     */
+    public StoredImages storeNew(MultipartFile file) {
+        return storeNew(file, sha256(file));
+    }
+
+    private StoredImages storeNew(MultipartFile file, String contentHash) {
+        acquireSlot();
+        try {
+            return storeWithinSlot(file, contentHash);
+        } finally {
+            uploadSlots.release();
+        }
+    }
+
+    private StoredImages storeWithinSlot(MultipartFile file, String contentHash) {
+        BufferedImage source = decode(file);
+        String baseKey = UUID.randomUUID().toString();
+
+        List<String> uploaded = new ArrayList<>();
+        try {
+            String originalUrl = fileStorageService.upload(baseKey + "-" + sanitize(file.getOriginalFilename()), file);
+            uploaded.add(originalUrl);
+
+            Map<ImageVariant, String> variantUrls = new EnumMap<>(ImageVariant.class);
+            boolean alpha = source.getColorModel().hasAlpha();
+            for (ImageVariant variant : ImageVariant.values()) {
+                BufferedImage resized = resize(source, variant.getMaxDimension(), alpha);
+                String url = alpha
+                        ? fileStorageService.upload(variant.keyFor(baseKey, "png"), encodePng(resized), "image/png")
+                        : fileStorageService.upload(variant.keyFor(baseKey, "jpg"), encodeJpeg(resized), "image/jpeg");
+                uploaded.add(url);
+                variantUrls.put(variant, url);
+            }
+            return new StoredImages(contentHash, originalUrl, variantUrls, true);
+        } catch (RuntimeException e) {
+            // An object may have existed before this upload and still back another image
+            try {
+                storageCleanupService.discardUploads(uploaded);
+            } catch (RuntimeException cleanupFailure) {
+                e.addSuppressed(cleanupFailure);
+            }
+            throw e;
+        }
+    }
+
+    // ---------------- INTERNAL ----------------
+
+    private static String sha256(MultipartFile file) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new InvalidRequestException("Image file could not be read");
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void acquireSlot() {
+        try {
+            if (!uploadSlots.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new StorageUnavailableException("Too many uploads in progress, please retry shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageUnavailableException("Upload was interrupted");
+        }
+    }
+
+    /**
+     * Decodes the image, subsampling while reading so the raster is never much larger than
+     * the biggest variant. The step is rounded down, so the longest side still decodes to at
+     * least {@link ImageVariant#FULL}: a 9000px original is read every third pixel, at 3000px
+     * instead of at full resolution, which is where most of the heap of an upload goes.
+     */
+    private BufferedImage decode(MultipartFile file) {
+        try (InputStream in = file.getInputStream();
+             ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = iis == null ? null : ImageIO.getImageReaders(iis);
+            if (readers == null || !readers.hasNext()) {
+                throw new InvalidRequestException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longestSide / ImageVariant.FULL.getMaxDimension());
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new InvalidRequestException("Image file could not be read");
+        }
+    }
+
+    /**
+     * Fits the image inside maxDimension x maxDimension. Large reductions are done in
+     * successive halving steps, which keeps bilinear scaling sharp without a costly filter.
+     */
+    private BufferedImage resize(BufferedImage source, int maxDimension, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            if (scale == 1.0) {
+                // No downscaling needed; only normalize the pixel format
+                width = targetWidth;
+                height = targetHeight;
+            }
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, width, height, null);
+            g.dispose();
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] encodePng(BufferedImage image) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sanitize(String filename) {
+        if (filename == null || filename.isBlank()) {
+            return "image";
+        }
+        // Keep object keys URL- and path-safe
+        return filename.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
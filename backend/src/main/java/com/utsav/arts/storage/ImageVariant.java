@@ -0,0 +1,35 @@
+package com.utsav.arts.storage;
+
+/**
+ * Enum representing the resized derivatives generated for every uploaded artwork image.
+ * Each variant is fitted inside a square of {@code maxDimension} pixels, keeping the
+ * aspect ratio and never upscaling.
+ */
+public enum ImageVariant {
+    THUMBNAIL("thumb", 400),    // Gallery grid tiles
+    MEDIUM("medium", 1200),     // Detail page
+    FULL("full", 2560);         // Zoom / lightbox
+
+    private final String suffix;
+    private final int maxDimension;
+
+    ImageVariant(String suffix, int maxDimension) {
+        this.suffix = suffix;
+        this.maxDimension = maxDimension;
+    }
+
+    public String getSuffix() { return suffix; }
+
+    public int getMaxDimension() { return maxDimension; }
+
+    /**
+     * Builds the deterministic object key of this variant for an upload.
+     *
+     * @param baseKey   Key shared by the original and all its variants
+     * @param extension File extension of the encoded variant, without the dot
+     * @return Object key, e.g. {@code <baseKey>-thumb.jpg}
+     */
+    public String keyFor(String baseKey, String extension) {
+        return baseKey + "-" + suffix + "." + extension;
+    }
+}
@@ -0,0 +1,216 @@
+package com.utsav.arts.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of {@link FileStorageService} on the local file system, enabled with
+ * {@code app.storage.type=local}.
+ *
+ * <p>Files are content-addressed: each one is named after the SHA-256 of its bytes plus
+ * the extension of the requested key, and stored under two levels of shard directories
+ * taken from the hash ({@code ab/cd/abcd….jpg}) so no directory grows unbounded. Storing
+ * identical bytes twice therefore yields the same file and URL.</p>
+ *
+ * <p>Writes are crash-safe: content is streamed into a temp file inside the storage root,
+ * forced to disk, and then atomically renamed into place, followed by a sync of the shard
+ * directory. A reader never observes a partially written file.</p>
+ *
+ * <p>Files are served by {@link com.utsav.arts.controllers.FileController} under
+ * {@code /api/files/{name}}.</p>
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class LocalFileStorageImpl implements FileStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalFileStorageImpl.class);
+
+    /** Public file names: 64 hex chars of SHA-256, a dot and a short extension. */
+    private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]{1,5}");
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,5}");
+
+    private final Path root;
+    private final Path tempDir;
+    private final String publicBaseUrl;
+
+    /**
+     * Constructs a {@code LocalFileStorageImpl} and creates the storage directories.
+     *
+     * @param root          Directory all files are stored under
+     * @param publicBaseUrl Base URL of this server, used to build public file URLs
+     */
+    public LocalFileStorageImpl(@Value("${app.storage.local.root}") String root,
+                                @Value("${app.storage.local.public-base-url}") String publicBaseUrl) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        // Same file system as the shards, so the final move can be atomic
+        this.tempDir = this.root.resolve("tmp");
+        this.publicBaseUrl = publicBaseUrl.endsWith("/")
+                ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1)
+                : publicBaseUrl;
+        try {
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create local storage directory " + tempDir, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String upload(MultipartFile file) {
+        return upload(file.getOriginalFilename() == null ? "file" : file.getOriginalFilename(), file);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Only the extension of the key is used; the file name is the content hash.
+     */
+    @Override
+    public String upload(String key, MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            return store(key, in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store file locally", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Only the extension of the key is used; the file name is the content hash.
+     */
+    @Override
+    public String upload(String key, byte[] content, String contentType) {
+        try (InputStream in = new ByteArrayInputStream(content)) {
+            return store(key, in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store file locally", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Since storage is content-addressed, one file may back several images. Application
+     * code therefore never calls this directly but queues files in
+     * {@link com.utsav.arts.services.StorageCleanupService}, whose worker skips files that
+     * are still referenced.
+     */
+    @Override
+    public void delete(String fileUrl) {
+        if (fileUrl == null || fileUrl.isBlank()) return;
+
+        String name = fileUrl.substring(fileUrl.lastIndexOf('/') + 1);
+        Optional<Path> path = resolve(name);
+        if (path.isEmpty()) {
+            logger.warn("Ignoring delete of unknown local file URL {}", fileUrl);
+            return;
+        }
+        try {
+            Files.deleteIfExists(path.get());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete local file " + name, e);
+        }
+    }
+
+    /**
+     * Resolves a public file name to its path on disk.
+     * Only well-formed content-hash names are accepted, so the name can never
+     * escape the storage root.
+     *
+     * @param name File name as it appears in the public URL
+     * @return Path of the file, or empty if the name is malformed
+     */
+    public Optional<Path> resolve(String name) {
+        if (name == null || !FILE_NAME.matcher(name).matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(root.resolve(name.substring(0, 2)).resolve(name.substring(2, 4)).resolve(name));
+    }
+
+    // ---------------- INTERNAL ----------------
+
+    private String store(String key, InputStream in) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 OutputStream out = new DigestOutputStream(Channels.newOutputStream(channel), digest)) {
+                in.transferTo(out);
+                out.flush();
+                channel.force(true);
+            }
+
+            String name = HexFormat.of().formatHex(digest.digest()) + "." + extensionOf(key);
+            Path target = resolve(name).orElseThrow();
+            Path shard = target.getParent();
+            Files.createDirectories(shard);
+
+            if (Files.exists(target)) {
+                // Same content already stored
+                return publicUrl(name);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // A concurrent upload of the same content won the rename
+                return publicUrl(name);
+            }
+            syncDirectory(shard);
+            return publicUrl(name);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** Makes the rename itself durable. Not every platform allows opening a directory. */
+    private void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            logger.debug("Directory sync not supported for {}", directory, e);
+        }
+    }
+
+    private String publicUrl(String name) {
+        return publicBaseUrl + "/api/files/" + name;
+    }
+
+    private static String extensionOf(String key) {
+        int dot = key.lastIndexOf('.');
+        String extension = dot < 0 ? "" : key.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(extension).matches() ? extension : "bin";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.utsav.arts.storage;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * {@link MultipartFile} view of a file on disk, so images that did not arrive as a
+ * multipart part (e.g. extracted from an import archive) can go through the regular
+ * upload pipeline. The content type is derived from the original file name.
+ */
+public class PathMultipartFile implements MultipartFile {
+
+    private final Path path;
+    private final String originalFilename;
+
+    public PathMultipartFile(Path path, String originalFilename) {
+        this.path = path;
+        this.originalFilename = originalFilename;
+    }
+
+    @Override
+    public String getName() { return "image"; }
+
+    @Override
+    public String getOriginalFilename() { return originalFilename; }
+
+    @Override
+    public String getContentType() {
+        return MediaTypeFactory.getMediaType(originalFilename)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
+    }
+
+    @Override
+    public boolean isEmpty() { return getSize() == 0; }
+
+    @Override
+    public long getSize() {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException { return Files.readAllBytes(path); }
+
+    @Override
+    public InputStream getInputStream() throws IOException { return Files.newInputStream(path); }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,74 @@
+package com.utsav.arts.storage;
+
+import com.utsav.arts.models.ImageAsset;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Public URLs of an uploaded original image and of its derivatives, identified by the
+ * SHA-256 of the original bytes.
+ *
+ * <p>{@code fresh} is true when the files were uploaded for this request, and false when
+ * an identical image was already stored and is being reused.</p>
+ */
+public class StoredImages {
+
+    private final String contentHash;
+    private final String originalUrl;
+    private final Map<ImageVariant, String> variantUrls;
+    private final boolean fresh;
+
+    public StoredImages(String contentHash, String originalUrl, Map<ImageVariant, String> variantUrls, boolean fresh) {
+        this.contentHash = contentHash;
+        this.originalUrl = originalUrl;
+        this.variantUrls = new EnumMap<>(variantUrls);
+        this.fresh = fresh;
+    }
+
+    /**
+     * Wraps an already stored asset.
+     *
+     * @param asset Stored asset
+     * @return Non-fresh images pointing at the asset's files
+     */
+    public static StoredImages of(ImageAsset asset) {
+        Map<ImageVariant, String> variantUrls = new EnumMap<>(ImageVariant.class);
+        variantUrls.put(ImageVariant.THUMBNAIL, asset.getThumbnailUrl());
+        variantUrls.put(ImageVariant.MEDIUM, asset.getMediumUrl());
+        variantUrls.put(ImageVariant.FULL, asset.getFullUrl());
+        return new StoredImages(asset.getContentHash(), asset.getOriginalUrl(), variantUrls, false);
+    }
+
+    /**
+     * Builds the index entry for these images.
+     *
+     * @return Unsaved asset with all URLs
+     */
+    public ImageAsset toAsset() {
+        return new ImageAsset(contentHash, originalUrl, getUrl(ImageVariant.THUMBNAIL),
+                getUrl(ImageVariant.MEDIUM), getUrl(ImageVariant.FULL));
+    }
+
+    public String getContentHash() { return contentHash; }
+
+    public String getOriginalUrl() { return originalUrl; }
+
+    public String getUrl(ImageVariant variant) { return variantUrls.get(variant); }
+
+    public boolean isFresh() { return fresh; }
+
+    /**
+     * Returns every stored URL, original first.
+     *
+     * @return All URLs of this upload
+     */
+    public List<String> allUrls() {
+        List<String> urls = new ArrayList<>();
+        urls.add(originalUrl);
+        urls.addAll(variantUrls.values());
+        return urls;
+    }
+}
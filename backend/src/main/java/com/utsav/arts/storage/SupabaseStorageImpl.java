@@ -1,11 +1,16 @@
 package com.utsav.arts.storage;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -15,8 +20,12 @@ import java.util.UUID;
  * <p>Provides functionality to upload and delete files in a Supabase storage bucket.
  * Files are stored with unique filenames to avoid collisions, and uploaded files
  * can be accessed via a public URL.
+ *
+ * <p>This is the default backend; {@code app.storage.type=local} selects
+ * {@link LocalFileStorageImpl} instead.
  */
 @Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "supabase", matchIfMissing = true)
 public class SupabaseStorageImpl implements FileStorageService {
 
     @Value("${supabase.url}")
@@ -51,27 +60,65 @@ public class SupabaseStorageImpl implements FileStorageService {
      */
     @Override
     public String upload(MultipartFile file) {
-        try {
-            // Generate a unique filename to avoid collisions
-            String filename = UUID.randomUUID() + "-" + file.getOriginalFilename();
-
-            // Supabase Storage API Endpoint
-            String url = supabaseUrl + "/storage/v1/object/" + bucketName + "/" + filename;
-
-            restClient.post()
-                    .uri(url)
-                    .header("Authorization", "Bearer " + supabaseKey)
-                    .header("Content-Type", Objects.requireNonNull(file.getContentType()))
-                    .body(file.getBytes())
-                    .retrieve()
-                    .toBodilessEntity();
-
-            // Return the public URL
-            return supabaseUrl + "/storage/v1/object/public/" + bucketName + "/" + filename;
-
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to upload image to Supabase", e);
-        }
+        // Generate a unique filename to avoid collisions
+        return upload(UUID.randomUUID() + "-" + file.getOriginalFilename(), file);
+    }
+
+    /**
+     * Uploads a file to Supabase storage under the given object key.
+     *
+     * <p>The multipart content is streamed from its (disk-backed) part straight into the
+     * request body through a small copy buffer, so the file is never held in the heap as
+     * a whole. The length is sent up front so the body is not chunk-encoded.
+     *
+     * @param key  the object key (filename) inside the bucket
+     * @param file the {@link MultipartFile} to upload
+     * @return the public URL of the uploaded file
+     * @throws org.springframework.web.client.RestClientException if the file cannot be read or uploaded
+     */
+    @Override
+    public String upload(String key, MultipartFile file) {
+        String url = supabaseUrl + "/storage/v1/object/" + bucketName + "/" + key;
+
+        restClient.post()
+                .uri(url)
+                .header("Authorization", "Bearer " + supabaseKey)
+                .contentType(MediaType.parseMediaType(Objects.requireNonNull(file.getContentType())))
+                .contentLength(file.getSize())
+                .body(outputStream -> {
+                    try (InputStream in = file.getInputStream()) {
+                        in.transferTo(outputStream);
+                    }
+                })
+                .retrieve()
+                .toBodilessEntity();
+
+        return supabaseUrl + "/storage/v1/object/public/" + bucketName + "/" + key;
+    }
+
+    /**
+     * Uploads in-memory content to Supabase storage under the given object key.
+     *
+     * @param key         the object key (filename) inside the bucket
+     * @param content     the bytes to store
+     * @param contentType the MIME type of the content
+     * @return the public URL of the uploaded file
+     */
+    @Override
+    public String upload(String key, byte[] content, String contentType) {
+        // Supabase Storage API Endpoint
+        String url = supabaseUrl + "/storage/v1/object/" + bucketName + "/" + key;
+
+        restClient.post()
+                .uri(url)
+                .header("Authorization", "Bearer " + supabaseKey)
+                .header("Content-Type", contentType)
+                .body(content)
+                .retrieve()
+                .toBodilessEntity();
+
+        // Return the public URL
+        return supabaseUrl + "/storage/v1/object/public/" + bucketName + "/" + key;
     }
 
     /**
@@ -98,4 +145,31 @@ public class SupabaseStorageImpl implements FileStorageService {
                 .retrieve()
                 .toBodilessEntity();
     }
-}
\ No newline at end of file
+
+    /**
+     * Deletes several files from Supabase storage with a single request.
+     *
+     * @param fileUrls the public URLs of the files to delete
+     */
+    @Override
+    public void deleteAll(List<String> fileUrls) {
+        List<String> filenames = fileUrls.stream()
+                .filter(fileUrl -> fileUrl != null && !fileUrl.isBlank())
+                .map(SupabaseStorageImpl::filenameOf)
+                .toList();
+        if (filenames.isEmpty()) return;
+
+        restClient.method(HttpMethod.DELETE)
+                .uri(supabaseUrl + "/storage/v1/object/" + bucketName)
+                .header("Authorization", "Bearer " + supabaseKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("prefixes", filenames))
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    // URL format: .../public/bucketName/filename
+    private static String filenameOf(String fileUrl) {
+        return fileUrl.substring(fileUrl.lastIndexOf('/') + 1);
+    }
+}
@@ -1,8 +1,12 @@
 package com.utsav.arts.stripepayment;
 
 import com.stripe.Stripe;
+import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
+import com.stripe.model.Refund;
+import com.stripe.net.RequestOptions;
 import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.RefundCreateParams;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import jakarta.annotation.PostConstruct;
@@ -12,7 +16,8 @@ import java.math.RoundingMode;
 /**
  * Service for interacting with Stripe APIs to manage payments.
  *
- * <p>Currently supports creating Stripe PaymentIntents with automatic payment methods enabled.
+ * <p>Creates, looks up and cancels Stripe PaymentIntents (with automatic payment methods
+ * enabled), and refunds them.
  *
  * <p>Stripe API key is injected from application properties and initialized after construction.
  */
@@ -42,25 +47,22 @@ public class StripeService {
      * @param currency the 3-letter ISO currency code (e.g., EUR, USD)
      * @param orderId the ID of the order being paid
      * @param userId the ID of the user making the payment
-     * @return the client secret of the created PaymentIntent
+     * @return the created PaymentIntent
      * @throws IllegalArgumentException if the amount is zero or negative
-     * @throws Exception if Stripe API call fails
+     * @throws StripeException if Stripe API call fails
      */
-    public String createPaymentIntent(
+    public PaymentIntent createPaymentIntent(
             BigDecimal amount,
             String currency,
             int orderId,
             int userId
-    ) throws Exception {
+    ) throws StripeException {
 
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Invalid payment amount");
         }
 
-        long amountInCents = amount
-                .movePointRight(2)
-                .setScale(0, RoundingMode.HALF_UP)
-                .longValueExact();
+        long amountInCents = toCents(amount);
 
         PaymentIntentCreateParams params =
                 PaymentIntentCreateParams.builder()
@@ -77,8 +79,67 @@ public class StripeService {
                         .putMetadata("user_id", String.valueOf(userId))
                         .build();
 
-        PaymentIntent intent = PaymentIntent.create(params);
-        return intent.getClientSecret();
+        return PaymentIntent.create(params);
+    }
+
+    /**
+     * Retrieves a PaymentIntent.
+     *
+     * @param paymentIntentId the ID of the PaymentIntent
+     * @return the PaymentIntent
+     * @throws StripeException if Stripe API call fails
+     */
+    public PaymentIntent retrievePaymentIntent(String paymentIntentId) throws StripeException {
+        return PaymentIntent.retrieve(paymentIntentId);
+    }
+
+    /**
+     * Cancels a PaymentIntent so it can no longer be paid.
+     * An intent that already succeeded or was cancelled is left as it is.
+     *
+     * @param paymentIntentId the ID of the PaymentIntent
+     * @return {@code true} if the intent is cancelled, {@code false} if it had already succeeded
+     * @throws StripeException if Stripe API call fails
+     */
+    public boolean cancelPaymentIntent(String paymentIntentId) throws StripeException {
+        PaymentIntent intent = PaymentIntent.retrieve(paymentIntentId);
+        switch (intent.getStatus()) {
+            case "canceled" -> { return true; }
+            case "succeeded" -> { return false; }
+            default -> {
+                intent.cancel();
+                return true;
+            }
+        }
     }
 
+    /**
+     * Refunds a PaymentIntent in full.
+     *
+     * <p>The refund is idempotent per intent, so a webhook delivered again refunds only once.
+     *
+     * @param paymentIntentId the ID of the succeeded PaymentIntent
+     * @return the ID of the refund
+     * @throws StripeException if Stripe API call fails
+     */
+    public String refundPaymentIntent(String paymentIntentId) throws StripeException {
+        Refund refund = Refund.create(
+                RefundCreateParams.builder().setPaymentIntent(paymentIntentId).build(),
+                RequestOptions.builder().setIdempotencyKey("refund-" + paymentIntentId).build()
+        );
+        return refund.getId();
+    }
+
+    /**
+     * Converts an amount in standard units to the smallest currency unit (e.g., cents).
+     *
+     * @param amount the amount in standard units
+     * @return the amount in the smallest currency unit
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount
+                .movePointRight(2)
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.utsav.arts.tasks;
+
+import com.utsav.arts.cache.CartStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background worker of the write-behind {@link CartStore}.
+ *
+ * <p>Every {@code app.cart.store.flush-interval} it writes the buffered quantity changes
+ * of all carts back to the database, then drops idle carts, carts older than the max
+ * age and any beyond the maximum.
+ * A change therefore stays memory-only for at most about one interval. Does nothing
+ * while the store is disabled.</p>
+ */
+@Component
+public class CartWriteBehindTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartWriteBehindTask.class);
+
+    private final CartStore cartStore;
+
+    public CartWriteBehindTask(CartStore cartStore) {
+        this.cartStore = cartStore;
+    }
+
+    @Scheduled(fixedDelayString = "${app.cart.store.flush-interval:5s}")
+    public void flush() {
+        if (!cartStore.isEnabled()) return;
+
+        int flushed = cartStore.flushDirty();
+        int evicted = cartStore.evictIdle();
+        if (flushed > 0 || evicted > 0) {
+            logger.debug("Cart store wrote back {} carts and dropped {}", flushed, evicted);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.utsav.arts.tasks;
+
+import com.utsav.arts.models.PendingDeletion;
+import com.utsav.arts.services.StorageCleanupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Background worker that deletes queued files from storage.
+ *
+ * <p>Each run claims a batch in one short transaction. A second short transaction re-checks,
+ * under row locks, that no image still references the files and marks the rest as being
+ * deleted; the files are then deleted with a single storage call while no connection or
+ * lock is held, and a third transaction removes the batch from the queue. Runs repeat
+ * until no due deletions are left.</p>
+ */
+@Component
+public class PendingDeletionTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingDeletionTask.class);
+
+    private final StorageCleanupService storageCleanupService;
+
+    public PendingDeletionTask(StorageCleanupService storageCleanupService) {
+        this.storageCleanupService = storageCleanupService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.cleanup.interval:30s}")
+    public void deletePendingFiles() {
+        List<PendingDeletion> batch;
+        while (!(batch = storageCleanupService.claimDue()).isEmpty()) {
+            int deleted;
+            try {
+                deleted = storageCleanupService.deleteClaimed(batch);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to delete {} stored files, will retry", batch.size(), e);
+                storageCleanupService.markFailed(batch, e);
+                // Storage is likely unavailable; try again on the next run
+                return;
+            }
+            logger.info("Deleted {} stored files for {} queued deletions", deleted, batch.size());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.utsav.arts.tasks;
+
+import com.utsav.arts.configurations.OrderExpiryProperties;
+import com.utsav.arts.services.OrdersService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Background worker that cancels orders left PENDING because payment never completed,
+ * returning their reserved stock and cancelling their Stripe PaymentIntents.
+ *
+ * <p>Each batch is one short transaction that skips orders locked by a concurrent
+ * checkout, payment or cancellation, so several nodes can run the sweep at once
+ * without blocking each other or live traffic. Skipped orders are retried next run.</p>
+ */
+@Component
+public class PendingOrderExpiryTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingOrderExpiryTask.class);
+
+    private final OrdersService ordersService;
+    private final OrderExpiryProperties properties;
+
+    public PendingOrderExpiryTask(OrdersService ordersService, OrderExpiryProperties properties) {
+        this.ordersService = ordersService;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.expiry.interval:1m}")
+    public void expirePendingOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getPendingTtl());
+        int total = 0;
+        int expired;
+        do {
+            expired = ordersService.expirePendingOrders(cutoff, properties.getBatchSize());
+            total += expired;
+        } while (expired == properties.getBatchSize());
+
+        if (total > 0) {
+            logger.info("Cancelled {} unpaid orders placed before {}", total, cutoff);
+        }
+    }
+}
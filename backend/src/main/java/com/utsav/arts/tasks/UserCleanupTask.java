@@ -1,46 +1,67 @@
 package com.utsav.arts.tasks;
 
-import com.utsav.arts.models.User;
-import com.utsav.arts.models.VerificationCode;
+import com.utsav.arts.configurations.UserCleanupProperties;
 import com.utsav.arts.repository.UserRepository;
-import com.utsav.arts.repository.VerificationCodeRepository;
+import com.utsav.arts.services.SchedulerLockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
 
+/**
+ * Nightly purge of accounts that were never verified.
+ *
+ * <p>Accounts are deleted {@code app.users.cleanup.batch-size} at a time (see
+ * {@link UserCleanupProperties}), each batch a single DELETE in its own short transaction,
+ * so a wave of bot sign-ups neither loads entities nor holds one huge transaction. The purge
+ * is scheduled on every replica but runs on one node only, guarded by a database lock (see
+ * {@link SchedulerLockService}).</p>
+ */
 @Component
 public class UserCleanupTask {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserCleanupTask.class);
+    private static final String LOCK_NAME = "user-cleanup";
+
     private final UserRepository userRepository;
-    private final VerificationCodeRepository codeRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final UserCleanupProperties properties;
 
-    public UserCleanupTask(UserRepository userRepository, VerificationCodeRepository codeRepository) {
+    public UserCleanupTask(UserRepository userRepository, SchedulerLockService schedulerLockService,
+                           UserCleanupProperties properties) {
         this.userRepository = userRepository;
-        this.codeRepository = codeRepository;
+        this.schedulerLockService = schedulerLockService;
+        this.properties = properties;
     }
 
-    // Runs every 24 hours
-    @Scheduled(cron = "0 0 0 * * ?")
-    @Transactional
+    // Runs every 24 hours by default
+    @Scheduled(cron = "${app.users.cleanup.cron:0 0 0 * * ?}")
     public void purgeUnverifiedUsers() {
-        // Users must verify within 24 hours or be deleted
-        LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
-
-        // Find all codes where the expiry date is before 'now'
-        // AND the user was created before the 'cutoff'
-        List<VerificationCode> expiredCodes =
-                codeRepository.findExpiredUnverified(LocalDateTime.now(), cutoff);
-
-        for (VerificationCode vCode : expiredCodes) {
-            User user = vCode.getUser();
-
-            if (!user.isEnabled()) {
-                codeRepository.delete(vCode);
-                userRepository.deleteById(user.getId());
-            }
-        }
+        schedulerLockService.runExclusively(LOCK_NAME,
+                properties.getLockAtMostFor(), properties.getLockAtLeastFor(), this::purge);
+    }
+
+    private void purge() {
+        // Users must verify within unverified-ttl or be deleted
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(properties.getUnverifiedTtl());
+        int batchSize = properties.getBatchSize();
+        long started = System.nanoTime();
+
+        int total = 0;
+        int batches = 0;
+        int deleted;
+        do {
+            deleted = userRepository.deleteUnverified(now, cutoff, batchSize);
+            total += deleted;
+            batches++;
+            logger.debug("Unverified user purge: batch {} deleted {}, {} so far", batches, deleted, total);
+        } while (deleted == batchSize);
+
+        logger.info("Unverified user purge deleted {} accounts in {} batches, {} ms",
+                total, batches, Duration.ofNanos(System.nanoTime() - started).toMillis());
     }
-}
\ No newline at end of file
+}
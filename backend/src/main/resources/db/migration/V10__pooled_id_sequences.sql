@@ -0,0 +1,8 @@
+-- Hibernate allocates IDs in blocks of 50 (pooled-lo); must match each entity's allocationSize.
+-- Existing rows are below the current sequence value, so the next block cannot collide with them.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE artworks_id_seq INCREMENT BY 50;
+ALTER SEQUENCE cart_items_id_seq INCREMENT BY 50;
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
+ALTER SEQUENCE payments_id_seq INCREMENT BY 50;
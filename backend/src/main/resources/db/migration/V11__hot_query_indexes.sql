@@ -0,0 +1,29 @@
+-- Indexes for queries that previously fell back to sequential scans.
+-- IF NOT EXISTS keeps the migration safe on databases that were tuned by hand.
+
+-- Payment webhook looks payments up by the provider's transaction id
+CREATE INDEX IF NOT EXISTS idx_payments_transaction_id ON payments (transaction_id);
+-- A user's payments, newest first
+CREATE INDEX IF NOT EXISTS idx_payments_user_created ON payments (user_id, created_at DESC);
+-- Admin filter by status, newest first
+CREATE INDEX IF NOT EXISTS idx_payments_status_created ON payments (status, created_at DESC);
+
+-- A user's orders, newest first; supersedes the plain user_id index
+CREATE INDEX IF NOT EXISTS idx_orders_user_ordered ON orders (user_id, ordered_at DESC);
+DROP INDEX IF EXISTS idx_orders_user_id;
+-- Admin filter by status, newest first
+CREATE INDEX IF NOT EXISTS idx_orders_status_ordered ON orders (status, ordered_at DESC);
+
+-- Fetch-joining an order's lines
+CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+-- Sales per artwork, and the FK check when an artwork is deleted
+CREATE INDEX IF NOT EXISTS idx_order_items_artwork_id ON order_items (artwork_id);
+
+-- uq_cart_artwork (cart_id, artwork_id) already serves lookups by cart, so the
+-- single-column index only cost writes
+DROP INDEX IF EXISTS idx_cart_items_cart_id;
+-- FK check when an artwork is deleted
+CREATE INDEX IF NOT EXISTS idx_cart_items_artwork_id ON cart_items (artwork_id);
+
+-- Nightly cleanup of expired, unverified accounts
+CREATE INDEX IF NOT EXISTS idx_verification_codes_expiry ON verification_codes (expiry_date);
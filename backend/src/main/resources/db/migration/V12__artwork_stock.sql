@@ -0,0 +1,6 @@
+-- Units available for sale; existing artworks are one-of-a-kind originals.
+-- Reserved at checkout and released on cancel with conditional updates, and the
+-- CHECK makes overselling impossible even for a buggy caller.
+ALTER TABLE artworks
+    ADD COLUMN stock INT NOT NULL DEFAULT 1,
+    ADD CONSTRAINT chk_artworks_stock CHECK (stock >= 0);
@@ -0,0 +1,9 @@
+-- One row per scheduled job that must run on a single node at a time.
+-- A node owns the job while locked_until is in the future (database clock).
+CREATE TABLE scheduler_locks
+(
+    name         VARCHAR(64) PRIMARY KEY,
+    locked_until TIMESTAMP    NOT NULL,
+    locked_at    TIMESTAMP    NOT NULL,
+    locked_by    VARCHAR(255) NOT NULL
+);
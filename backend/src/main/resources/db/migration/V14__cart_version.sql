@@ -0,0 +1,3 @@
+-- Optimistic lock for carts: bumped by every item change, so a stale full write of a cart
+-- is rejected instead of silently overwriting totals maintained by concurrent changes.
+ALTER TABLE cart ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Stripe PaymentIntent that pays the order, so an expired or cancelled order's intent
+-- can be cancelled and a retried checkout reuses it instead of opening another one
+ALTER TABLE orders ADD COLUMN payment_intent_id VARCHAR(255);
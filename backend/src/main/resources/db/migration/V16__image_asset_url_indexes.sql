@@ -0,0 +1,5 @@
+-- Finds the assets still using a file before the deletion worker unlinks it
+CREATE INDEX IF NOT EXISTS idx_image_assets_original_url ON image_assets (original_url);
+CREATE INDEX IF NOT EXISTS idx_image_assets_thumbnail_url ON image_assets (thumbnail_url);
+CREATE INDEX IF NOT EXISTS idx_image_assets_medium_url ON image_assets (medium_url);
+CREATE INDEX IF NOT EXISTS idx_image_assets_full_url ON image_assets (full_url);
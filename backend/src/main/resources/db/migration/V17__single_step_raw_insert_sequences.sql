@@ -0,0 +1,13 @@
+-- cart_items, orders and order_items are inserted by set-based SQL that takes IDs from the
+-- column default. With INCREMENT BY 50 every such row used up a whole block of 50 IDs, so
+-- the INT keys would run out 50 times sooner. Hibernate no longer batch-inserts these
+-- tables, so their sequences go back to single steps (allocationSize = 1 in the entities).
+-- Each sequence is first moved past the last block Hibernate may have handed out.
+SELECT setval('cart_items_id_seq', last_value + 49) FROM cart_items_id_seq;
+ALTER SEQUENCE cart_items_id_seq INCREMENT BY 1;
+
+SELECT setval('orders_id_seq', last_value + 49) FROM orders_id_seq;
+ALTER SEQUENCE orders_id_seq INCREMENT BY 1;
+
+SELECT setval('order_items_id_seq', last_value + 49) FROM order_items_id_seq;
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 1;
@@ -0,0 +1,3 @@
+-- Set once the worker has decided to unlink the file, before it calls storage without holding
+-- locks. Such a deletion can no longer be cancelled: the file may already be gone.
+ALTER TABLE pending_deletions ADD COLUMN deleting_since TIMESTAMP;
@@ -0,0 +1,44 @@
+-- Before Flyway, the application ran with ddl-auto=update. CartItem had no @Table, so Hibernate
+-- created and wrote a cart_item table, next to the cart_items table of schema.sql, or alone when
+-- schema.sql was never applied. Runs right after the version 1 baseline, so every later
+-- migration finds the tables and indexes of schema.sql.
+
+CREATE TABLE IF NOT EXISTS cart_items
+(
+    id         SERIAL PRIMARY KEY,
+    cart_id    INT NOT NULL,
+    artwork_id INT NOT NULL,
+    quantity   INT NOT NULL CHECK (quantity >= 1),
+    CONSTRAINT fk_cartitem_cart
+        FOREIGN KEY (cart_id)
+            REFERENCES cart (id)
+            ON DELETE CASCADE,
+    CONSTRAINT fk_cartitem_artwork
+        FOREIGN KEY (artwork_id)
+            REFERENCES artworks (id),
+    CONSTRAINT uq_cart_artwork UNIQUE (cart_id, artwork_id)
+);
+
+-- Indexes of schema.sql that later migrations keep (V11 drops the other two)
+CREATE INDEX IF NOT EXISTS idx_artworks_category ON artworks (category);
+CREATE INDEX IF NOT EXISTS idx_payments_order_id ON payments (order_id);
+
+-- The live cart lines are in cart_item. Hibernate allowed the same artwork twice in a cart,
+-- so duplicates are merged; lines without a cart or an artwork were unusable and are dropped.
+DO
+$$
+    BEGIN
+        IF to_regclass('cart_item') IS NOT NULL THEN
+            INSERT INTO cart_items (cart_id, artwork_id, quantity)
+            SELECT cart_id, artwork_id, SUM(quantity)
+            FROM cart_item
+            WHERE cart_id IS NOT NULL
+              AND artwork_id IS NOT NULL
+              AND quantity >= 1
+            GROUP BY cart_id, artwork_id
+            ON CONFLICT (cart_id, artwork_id)
+                DO UPDATE SET quantity = cart_items.quantity + EXCLUDED.quantity;
+            DROP TABLE cart_item;
+        END IF;
+    END
+$$;
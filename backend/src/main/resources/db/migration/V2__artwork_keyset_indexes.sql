@@ -0,0 +1,3 @@
+-- Keyset paging of the artwork listing: the row position is (sort key, id)
+CREATE INDEX IF NOT EXISTS idx_artworks_category_id ON artworks (category, id);  -- within a category
+CREATE INDEX IF NOT EXISTS idx_artworks_price_id ON artworks (price, id);        -- by price
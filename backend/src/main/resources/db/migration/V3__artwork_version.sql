@@ -0,0 +1,5 @@
+-- Optimistic lock and HTTP validators for artworks.
+-- IF NOT EXISTS covers databases where Hibernate already added the columns.
+ALTER TABLE artworks
+    ADD COLUMN IF NOT EXISTS version    BIGINT    NOT NULL DEFAULT 0,                  -- optimistic lock, HTTP ETag
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;  -- HTTP Last-Modified
@@ -0,0 +1,11 @@
+-- Full-text search document, maintained by Postgres on every insert/update.
+-- A plain column left behind by Hibernate is replaced, as it would never be filled.
+ALTER TABLE artworks DROP COLUMN IF EXISTS search_vector;
+ALTER TABLE artworks
+    ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(label, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+    ) STORED;
+
+CREATE INDEX idx_artworks_search ON artworks USING GIN (search_vector);
@@ -0,0 +1,4 @@
+-- Covers the category summary projection: index-only scan already ordered by price.
+-- Replaces the plain category index, which it serves as well.
+DROP INDEX IF EXISTS idx_artworks_category;
+CREATE INDEX idx_artworks_category ON artworks (category, price, id) INCLUDE (title, img_url);
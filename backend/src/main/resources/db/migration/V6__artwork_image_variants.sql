@@ -0,0 +1,9 @@
+-- Resized derivatives of the original upload in img_url
+ALTER TABLE artworks
+    ADD COLUMN IF NOT EXISTS thumbnail_url TEXT,
+    ADD COLUMN IF NOT EXISTS medium_url    TEXT,
+    ADD COLUMN IF NOT EXISTS full_url      TEXT;
+
+-- Summaries show the thumbnail, so the covering index must hold it
+DROP INDEX IF EXISTS idx_artworks_category;
+CREATE INDEX idx_artworks_category ON artworks (category, price, id) INCLUDE (title, img_url, thumbnail_url);
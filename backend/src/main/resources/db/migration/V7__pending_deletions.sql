@@ -0,0 +1,14 @@
+-- Outbox of stored files to delete after the owning change committed
+CREATE TABLE IF NOT EXISTS pending_deletions
+(
+    id              SERIAL PRIMARY KEY,
+    file_url        TEXT      NOT NULL,
+    attempts        INT       NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP,            -- NULL once retries are exhausted
+    last_error      TEXT,
+    created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- The worker only scans rows that are still due for an attempt
+CREATE INDEX IF NOT EXISTS idx_pending_deletions_due ON pending_deletions (next_attempt_at)
+    WHERE next_attempt_at IS NOT NULL;
@@ -0,0 +1,19 @@
+-- Deduplicated images, keyed by the SHA-256 of the original upload
+CREATE TABLE IF NOT EXISTS image_assets
+(
+    content_hash  VARCHAR(64) PRIMARY KEY,
+    original_url  TEXT      NOT NULL,
+    thumbnail_url TEXT,
+    medium_url    TEXT,
+    full_url      TEXT,
+    ref_count     INT       NOT NULL DEFAULT 0 CHECK (ref_count >= 0),  -- artworks using it
+    created_at    TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- NULL for pre-dedup uploads; checked at commit since assets are released mid-transaction
+ALTER TABLE artworks ADD COLUMN IF NOT EXISTS image_hash VARCHAR(64);
+ALTER TABLE artworks
+    ADD CONSTRAINT fk_artworks_image_asset
+        FOREIGN KEY (image_hash)
+            REFERENCES image_assets (content_hash)
+            DEFERRABLE INITIALLY DEFERRED;
@@ -0,0 +1,2 @@
+-- Looks up queued deletions by file, to cancel them when a file is reused
+CREATE INDEX IF NOT EXISTS idx_pending_deletions_file_url ON pending_deletions (file_url);
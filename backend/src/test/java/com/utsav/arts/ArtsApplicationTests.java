@@ -1,13 +1,12 @@
-//package com.utsav.arts;
-//
-//import org.junit.jupiter.api.Test;
-//import org.springframework.boot.test.context.SpringBootTest;
-//
-//@SpringBootTest
-//class ArtsApplicationTests {
-//
-//	@Test
-//	void contextLoads() {
-//	}
-//
-//}
+package com.utsav.arts;
+
+import com.utsav.arts.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+
+class ArtsApplicationTests extends PostgresIntegrationTest {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
@@ -0,0 +1,147 @@
+package com.utsav.arts.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utsav.arts.models.ArtCategory;
+import com.utsav.arts.models.Artwork;
+import com.utsav.arts.repository.ArtworkRepository;
+import com.utsav.arts.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArtworkListingCacheTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ArtworkRepository artworkRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void writesFromOtherNodesAreNotSeenWithinTheTtl() throws IOException {
+        ArtworkListingCache cache = cache(100, 60);
+        insertArtwork("Dawn", "10.00", 1);
+        assertEquals(1, size(cache.findAll()));
+
+        // Inserted behind the cache's back, as another node would
+        insertArtwork("Noon", "10.00", 1);
+
+        assertEquals(1, size(cache.findAll()));
+    }
+
+    @Test
+    void listingOlderThanTheTtlIsRebuilt() throws IOException {
+        ArtworkListingCache cache = cache(100, 0);
+        insertArtwork("Dawn", "10.00", 1);
+        assertEquals(1, size(cache.findAll()));
+
+        insertArtwork("Noon", "10.00", 1);
+
+        assertEquals(2, size(cache.findAll()));
+    }
+
+    @Test
+    void listingLargerThanTheBoundIsNotKept() throws IOException {
+        ArtworkListingCache cache = cache(1, 60);
+        insertArtwork("Dawn", "10.00", 1);
+        insertArtwork("Noon", "10.00", 1);
+        assertEquals(2, size(cache.findAll()));
+
+        insertArtwork("Dusk", "10.00", 1);
+
+        assertEquals(3, size(cache.findAll()));
+    }
+
+    @Test
+    void listingThatGrowsPastTheBoundIsDropped() throws IOException {
+        ArtworkListingCache cache = cache(1, 60);
+        insertArtwork("Dawn", "10.00", 1);
+        assertEquals(1, size(cache.findAll()));
+
+        cache.apply(artworkRepository.findById(insertArtwork("Noon", "10.00", 1)).orElseThrow());
+        insertArtwork("Dusk", "10.00", 1);
+
+        assertEquals(3, size(cache.findAll()));
+    }
+
+    @Test
+    void lastModifiedMovesForwardWhenTheNewestArtworkIsDeleted() {
+        ArtworkListingCache cache = cache(100, 0);
+        insertArtwork("Dawn", "10.00", 1);
+        int newest = insertArtwork("Noon", "10.00", 1);
+        ArtworkListingCache.CachedListing before = cache.findAll();
+
+        jdbc.update("DELETE FROM artworks WHERE id = ?", newest);
+        ArtworkListingCache.CachedListing after = cache.findAll();
+
+        assertNotEquals(before.etag(), after.etag());
+        assertTrue(after.lastModified() > before.lastModified(),
+                "Last-Modified went from " + before.lastModified() + " to " + after.lastModified());
+    }
+
+    @Test
+    void rebuildWithTheSameBodyKeepsLastModified() throws InterruptedException {
+        ArtworkListingCache cache = cache(100, 0);
+        insertArtwork("Dawn", "10.00", 1);
+        ArtworkListingCache.CachedListing before = cache.findAll();
+
+        Thread.sleep(1100);
+        ArtworkListingCache.CachedListing after = cache.findAll();
+
+        assertEquals(before.etag(), after.etag());
+        assertEquals(before.lastModified(), after.lastModified());
+    }
+
+    @Test
+    void olderUpdateAppliedLastIsIgnored() {
+        ArtworkListingCache cache = cache(100, 60);
+        int id = insertArtwork("Dawn", "10.00", 1);
+        cache.findAll();
+        Artwork older = artworkRepository.findById(id).orElseThrow();
+        jdbc.update("UPDATE artworks SET title = 'Dusk', version = version + 1 WHERE id = ?", id);
+        Artwork newer = artworkRepository.findById(id).orElseThrow();
+
+        // Two concurrent updates whose after-commit callbacks ran in the opposite order
+        cache.apply(newer);
+        cache.apply(older);
+
+        assertTrue(body(cache.findAll()).contains("Dusk"));
+    }
+
+    @Test
+    void updateAppliedAfterTheDeleteDoesNotBringTheArtworkBack() throws IOException {
+        ArtworkListingCache cache = cache(100, 60);
+        int id = insertArtwork("Dawn", "10.00", 1);
+        insertArtwork("Noon", "10.00", 1);
+        cache.findAll();
+        Artwork updated = artworkRepository.findById(id).orElseThrow();
+
+        jdbc.update("DELETE FROM artworks WHERE id = ?", id);
+        cache.remove(id);
+        cache.apply(updated);
+
+        assertEquals(1, size(cache.findAll()));
+        assertFalse(body(cache.findByCategory(ArtCategory.PAINTING)).contains("Dawn"));
+    }
+
+    // ---------------- HELPERS ----------------
+
+    private ArtworkListingCache cache(int maxArtworks, long ttlSeconds) {
+        return new ArtworkListingCache(artworkRepository, objectMapper, maxArtworks, ttlSeconds);
+    }
+
+    private static String body(ArtworkListingCache.CachedListing listing) {
+        return new String(listing.body(), StandardCharsets.UTF_8);
+    }
+
+    private int size(ArtworkListingCache.CachedListing listing) throws IOException {
+        return objectMapper.readTree(listing.body()).size();
+    }
+}
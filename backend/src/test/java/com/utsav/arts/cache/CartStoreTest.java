@@ -0,0 +1,227 @@
+package com.utsav.arts.cache;
+
+import com.utsav.arts.configurations.CartStoreProperties;
+import com.utsav.arts.models.Cart;
+import com.utsav.arts.repository.CartItemRepository;
+import com.utsav.arts.repository.CartRepository;
+import com.utsav.arts.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CartStoreTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CartStoreProperties properties = new CartStoreProperties();
+
+    // ---------------- WRITE-BEHIND ----------------
+
+    @Test
+    void quantityChangesAreWrittenOnlyOnFlush() {
+        properties.setRevalidateInterval(Duration.ZERO);
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int item = insertCartItem(cart, insertArtwork("Print", "25.00", 10), 1);
+        CartStore store = store();
+
+        store.adjustQuantity(item, 1);
+        store.adjustQuantity(item, 1);
+
+        assertEquals(1, quantityOf(item));
+        assertEquals(3, store.findItem(item).orElseThrow().getQuantity());
+        assertEquals(1, store.flushDirty());
+        assertEquals(3, quantityOf(item));
+        assertEquals(0, store.flushDirty());
+
+        store.findById(cart);
+        assertEquals(0, store.stats().getInvalidations(), "its own write-back must not invalidate the cart");
+    }
+
+    @Test
+    void discardDropsPendingChangesOnceTheClearCommits() {
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int item = insertCartItem(cart, insertArtwork("Print", "25.00", 10), 1);
+        CartStore store = store();
+        store.adjustQuantity(item, 4);
+
+        inTransaction(status -> {
+            store.discard(cart);
+            jdbc.update("DELETE FROM cart_items WHERE cart_id = ?", cart);
+        });
+
+        assertEquals(0, store.flushDirty());
+        assertEquals(0, store.stats().getSize());
+    }
+
+    @Test
+    void discardKeepsPendingChangesWhenTheClearRollsBack() {
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int item = insertCartItem(cart, insertArtwork("Print", "25.00", 10), 1);
+        CartStore store = store();
+        store.adjustQuantity(item, 4);
+
+        inTransaction(status -> {
+            store.discard(cart);
+            jdbc.update("DELETE FROM cart_items WHERE cart_id = ?", cart);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1, store.flushDirty());
+        assertEquals(5, quantityOf(item));
+    }
+
+    // ---------------- REVALIDATION ----------------
+
+    @Test
+    void cartWrittenElsewhereIsReloadedAfterWritingBackPendingChanges() {
+        properties.setRevalidateInterval(Duration.ZERO);
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int print = insertCartItem(cart, insertArtwork("Print", "25.00", 10), 1);
+        int canvas = insertCartItem(cart, insertArtwork("Canvas", "300.00", 10), 1);
+        CartStore store = store();
+        store.adjustQuantity(print, 1);
+
+        // As another node would write it
+        cartItemRepository.setQuantity(canvas, 5);
+
+        Cart reloaded = store.findById(cart).orElseThrow();
+        assertEquals(7, reloaded.getTotalItems());
+        assertEquals(2, quantityOf(print));
+        assertEquals(1, store.stats().getInvalidations());
+    }
+
+    @Test
+    void priceChangeIsPickedUpOnTheNextRead() {
+        properties.setRevalidateInterval(Duration.ZERO);
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int print = insertArtwork("Print", "25.00", 10);
+        insertCartItem(cart, print, 2);
+        CartStore store = store();
+        store.findById(cart);
+
+        jdbc.update("UPDATE artworks SET price = 30.00, version = version + 1 WHERE id = ?", print);
+
+        assertPrice("60.00", store.findById(cart).orElseThrow());
+    }
+
+    @Test
+    void heldCartIsRevalidatedAtMostOncePerInterval() {
+        properties.setRevalidateInterval(Duration.ofHours(1));
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int item = insertCartItem(cart, insertArtwork("Print", "25.00", 10), 1);
+        CartStore store = store();
+        store.findById(cart);
+
+        cartItemRepository.setQuantity(item, 5);
+
+        assertEquals(1, store.findItem(item).orElseThrow().getQuantity());
+        assertEquals(0, store.stats().getInvalidations());
+    }
+
+    @Test
+    void artworkUpdateDropsTheHeldCartsContainingIt() {
+        properties.setRevalidateInterval(Duration.ofHours(1));
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int print = insertArtwork("Print", "25.00", 10);
+        int item = insertCartItem(cart, print, 2);
+        int other = insertCart(insertUser("other@example.com"));
+        insertCartItem(other, insertArtwork("Canvas", "300.00", 10), 1);
+        CartStore store = store();
+        store.adjustQuantity(item, 1);
+        store.findById(other);
+
+        jdbc.update("UPDATE artworks SET price = 30.00, version = version + 1 WHERE id = ?", print);
+        store.evictArtwork(print);
+
+        assertPrice("90.00", store.findById(cart).orElseThrow());
+        assertEquals(3, quantityOf(item), "pending changes are written back first");
+        assertEquals(1, store.stats().getInvalidations());
+    }
+
+    // ---------------- EVICTION ----------------
+
+    @Test
+    void idleCartsAreWrittenBackAndDropped() {
+        properties.setIdleTtl(Duration.ZERO);
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int item = insertCartItem(cart, insertArtwork("Print", "25.00", 10), 1);
+        CartStore store = store();
+        store.adjustQuantity(item, 1);
+
+        assertEquals(1, store.evictIdle());
+
+        assertEquals(2, quantityOf(item));
+        assertEquals(0, store.stats().getSize());
+    }
+
+    @Test
+    void cartLoadedLongerAgoThanTheMaxAgeIsReloaded() {
+        properties.setMaxAge(Duration.ZERO);
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int item = insertCartItem(cart, insertArtwork("Print", "25.00", 10), 1);
+        CartStore store = store();
+        store.findById(cart);
+
+        // Bypasses the version, so only the age can reveal it
+        jdbc.update("UPDATE cart_items SET quantity = 3 WHERE id = ?", item);
+
+        assertEquals(3, store.findItem(item).orElseThrow().getQuantity());
+        assertEquals(1, store.stats().getExpirations());
+    }
+
+    @Test
+    void leastRecentlyUsedCartsAreDroppedBeyondTheMaximum() {
+        properties.setMaxCarts(1);
+        int first = insertCart(insertUser("first@example.com"));
+        int second = insertCart(insertUser("second@example.com"));
+        CartStore store = store();
+        store.findById(first);
+        store.findById(second);
+
+        assertEquals(1, store.evictIdle());
+
+        assertEquals(1, store.stats().getSize());
+        store.findById(second);
+        assertEquals(1, store.stats().getHits());
+    }
+
+    // ---------------- HELPERS ----------------
+
+    private CartStore store() {
+        properties.setEnabled(true);
+        return new CartStore(cartRepository, cartItemRepository, properties);
+    }
+
+    private void inTransaction(Consumer<TransactionStatus> work) {
+        new TransactionTemplate(transactionManager).execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                work.accept(status);
+            }
+        });
+    }
+
+    private int quantityOf(int itemId) {
+        return jdbc.queryForObject("SELECT quantity FROM cart_items WHERE id = ?", Integer.class, itemId);
+    }
+
+    private static void assertPrice(String expected, Cart cart) {
+        assertEquals(0, new BigDecimal(expected).compareTo(cart.getTotalPrice()), "total was " + cart.getTotalPrice());
+    }
+}
@@ -0,0 +1,79 @@
+package com.utsav.arts.repository;
+
+import com.utsav.arts.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchedulerLockRepositoryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Test
+    void liveLockIsNotTakenByAnotherNode() {
+        assertTrue(schedulerLockRepository.tryAcquire("job", "node-a", Duration.ofHours(1)).isPresent());
+
+        assertFalse(schedulerLockRepository.tryAcquire("job", "node-b", Duration.ofHours(1)).isPresent());
+        assertFalse(schedulerLockRepository.tryAcquire("job", "node-a", Duration.ofHours(1)).isPresent());
+    }
+
+    @Test
+    void releasedLockCanBeTakenAgain() {
+        LocalDateTime lockedAt = schedulerLockRepository.tryAcquire("job", "node-a", Duration.ofHours(1)).orElseThrow();
+
+        schedulerLockRepository.release("job", "node-a", lockedAt, Duration.ZERO);
+
+        assertTrue(schedulerLockRepository.tryAcquire("job", "node-b", Duration.ofHours(1)).isPresent());
+    }
+
+    @Test
+    void releaseKeepsTheLockForAtLeastTheMinimumHold() {
+        LocalDateTime lockedAt = schedulerLockRepository.tryAcquire("job", "node-a", Duration.ofHours(1)).orElseThrow();
+
+        schedulerLockRepository.release("job", "node-a", lockedAt, Duration.ofMinutes(5));
+
+        assertFalse(schedulerLockRepository.tryAcquire("job", "node-b", Duration.ofHours(1)).isPresent());
+    }
+
+    @Test
+    void expiredLockIsTakenOver() {
+        jdbc.update("""
+                INSERT INTO scheduler_locks (name, locked_until, locked_at, locked_by)
+                VALUES ('job', LOCALTIMESTAMP - INTERVAL '1 minute', LOCALTIMESTAMP - INTERVAL '2 hours', 'dead-node')
+                """);
+
+        assertTrue(schedulerLockRepository.tryAcquire("job", "node-b", Duration.ofHours(1)).isPresent());
+    }
+
+    @Test
+    void otherNodesCannotReleaseTheLock() {
+        LocalDateTime lockedAt = schedulerLockRepository.tryAcquire("job", "node-a", Duration.ofHours(1)).orElseThrow();
+
+        schedulerLockRepository.release("job", "node-b", lockedAt, Duration.ZERO);
+
+        assertFalse(schedulerLockRepository.tryAcquire("job", "node-b", Duration.ofHours(1)).isPresent());
+    }
+
+    @Test
+    void lateReleaseOfAnExpiredHoldKeepsTheNewHold() {
+        LocalDateTime firstHold = schedulerLockRepository.tryAcquire("job", "node-a", Duration.ofHours(1)).orElseThrow();
+        // The first run outlived its lease, and the same node took the lock again
+        jdbc.update("""
+                UPDATE scheduler_locks
+                SET locked_until = LOCALTIMESTAMP - INTERVAL '1 minute', locked_at = LOCALTIMESTAMP - INTERVAL '2 hours'
+                """);
+        LocalDateTime secondHold = schedulerLockRepository.tryAcquire("job", "node-a", Duration.ofHours(1)).orElseThrow();
+
+        schedulerLockRepository.release("job", "node-a", firstHold, Duration.ZERO);
+
+        assertNotEquals(firstHold, secondHold);
+        assertFalse(schedulerLockRepository.tryAcquire("job", "node-b", Duration.ofHours(1)).isPresent());
+    }
+}
@@ -0,0 +1,158 @@
+package com.utsav.arts.schema;
+
+import com.utsav.arts.support.RequiresDatabase;
+import com.utsav.arts.support.TestDatabase;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Upgrades the databases existing installations were running on, the way they are adopted:
+ * baselined at version 1, then migrated to the latest version. Before Flyway the application
+ * ran with {@code ddl-auto=update}, so a database was built from the original
+ * {@code schema.sql} plus the tables Hibernate added, or by Hibernate alone.
+ */
+@RequiresDatabase
+class MigrationUpgradeTest {
+
+    private static final String SCHEMA = "legacy_upgrade";
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void createEmptySchema() {
+        String url = TestDatabase.url();
+        url += (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA;
+        dataSource = new SingleConnectionDataSource(url, TestDatabase.username(), TestDatabase.password(), true);
+        jdbc = new JdbcTemplate(dataSource);
+
+        jdbc.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        jdbc.execute("CREATE SCHEMA " + SCHEMA);
+    }
+
+    @AfterEach
+    void dropSchema() {
+        jdbc.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        dataSource.destroy();
+    }
+
+    @Test
+    void baselinedDatabaseReceivesEveryLaterMigration() throws IOException {
+        // V1 is exactly the schema.sql existing databases were created from
+        runScript("db/migration/V1__initial_schema.sql");
+        jdbc.update("INSERT INTO artworks (title, category, label, price) VALUES ('Red sunset', 'PAINTING', 'oil', 120.00)");
+
+        Flyway flyway = migrate();
+
+        assertEquals("1", flyway.info().applied()[0].getVersion().getVersion(), "adopted as version 1");
+        // Columns added since, with defaults for existing rows
+        assertEquals(1, jdbc.queryForObject(
+                "SELECT stock FROM artworks WHERE title = 'Red sunset'", Integer.class));
+        assertEquals(0L, jdbc.queryForObject(
+                "SELECT version FROM artworks WHERE title = 'Red sunset'", Long.class));
+        assertEquals(1, jdbc.queryForObject(
+                "SELECT count(*) FROM artworks WHERE search_vector @@ plainto_tsquery('simple', 'sunset')",
+                Integer.class), "search vector is generated for existing rows");
+        // Sequences match the entities' allocation: pooled where Hibernate batches inserts,
+        // single steps where set-based SQL inserts through the column default
+        assertEquals(50L, incrementOf("artworks_id_seq"));
+        assertEquals(1L, incrementOf("orders_id_seq"));
+        assertEquals(1L, incrementOf("cart_items_id_seq"));
+        assertDoesNotThrow(() -> new SchemaIndexValidator(jdbc).run(null));
+    }
+
+    @Test
+    void cartLinesHibernateWroteToCartItemAreMoved() throws IOException {
+        runScript("db/migration/V1__initial_schema.sql");
+        runScript("db/legacy/hibernate_update_cart_item.sql");
+        int cart = insertCart();
+        int print = insertArtwork("Print");
+        int canvas = insertArtwork("Canvas");
+        insertLegacyCartItem(cart, print, 2);
+        insertLegacyCartItem(cart, canvas, 1);
+        // Hibernate did not stop the same artwork being added twice
+        insertLegacyCartItem(cart, canvas, 3);
+
+        migrate();
+
+        assertNull(jdbc.queryForObject("SELECT to_regclass('cart_item')", String.class), "the old table is dropped");
+        assertEquals(2, quantityInCart(cart, print));
+        assertEquals(4, quantityInCart(cart, canvas));
+    }
+
+    @Test
+    void databaseBuiltByHibernateAloneIsAdopted() throws IOException {
+        runScript("db/legacy/hibernate_update_schema.sql");
+        int cart = insertCart();
+        int print = insertArtwork("Print");
+        insertLegacyCartItem(cart, print, 2);
+
+        migrate();
+
+        assertEquals(2, quantityInCart(cart, print));
+        assertEquals(1L, incrementOf("cart_items_id_seq"));
+        assertDoesNotThrow(() -> new SchemaIndexValidator(jdbc).run(null));
+    }
+
+    // ---------------- HELPERS ----------------
+
+    private void runScript(String path) throws IOException {
+        jdbc.execute(new ClassPathResource(path).getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private Flyway migrate() {
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+        flyway.migrate();
+        assertEquals(0, flyway.info().pending().length);
+        return flyway;
+    }
+
+    private int insertCart() {
+        int user = jdbc.queryForObject("""
+                INSERT INTO users (first_name, last_name, email, password, role, enabled)
+                VALUES ('Ada', 'Buyer', 'buyer@example.com', 'x', 'ROLE_USER', true) RETURNING id
+                """, Integer.class);
+        return jdbc.queryForObject(
+                "INSERT INTO cart (user_id, total_items, total_price) VALUES (?, 0, 0) RETURNING id",
+                Integer.class, user);
+    }
+
+    private int insertArtwork(String title) {
+        return jdbc.queryForObject(
+                "INSERT INTO artworks (title, category, price) VALUES (?, 'PAINTING', 10.00) RETURNING id",
+                Integer.class, title);
+    }
+
+    private void insertLegacyCartItem(int cart, int artwork, int quantity) {
+        jdbc.update("INSERT INTO cart_item (cart_id, artwork_id, quantity) VALUES (?, ?, ?)", cart, artwork, quantity);
+    }
+
+    private int quantityInCart(int cart, int artwork) {
+        return jdbc.queryForObject(
+                "SELECT quantity FROM cart_items WHERE cart_id = ? AND artwork_id = ?", Integer.class, cart, artwork);
+    }
+
+    private Long incrementOf(String sequence) {
+        return jdbc.queryForObject(
+                "SELECT increment_by FROM pg_sequences WHERE schemaname = ? AND sequencename = ?",
+                Long.class, SCHEMA, sequence);
+    }
+}
@@ -0,0 +1,103 @@
+package com.utsav.arts.services;
+
+import com.utsav.arts.dtos.artworkDTO.ArtworkImportEventDTO;
+import com.utsav.arts.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ArtworkImportServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ArtworkImportService artworkImportService;
+
+    @Test
+    void validRowsAreSavedInOneBatch() throws IOException {
+        List<ArtworkImportEventDTO> events = runImport("Dawn", "Noon", "Dusk");
+
+        assertEquals(List.of("CREATED", "CREATED", "CREATED"), statusesOfRows(events));
+        assertEquals(3, artworkCount());
+    }
+
+    @Test
+    void rowRejectedByTheDatabaseFailsAlone() throws IOException {
+        // Stands in for any constraint the manifest validation does not cover
+        jdbc.execute("ALTER TABLE artworks ADD CONSTRAINT test_no_broken CHECK (title <> 'Broken')");
+        try {
+            List<ArtworkImportEventDTO> events = runImport("Dawn", "Broken", "Dusk");
+
+            assertEquals(List.of("CREATED", "FAILED", "CREATED"), statusesOfRows(events));
+            assertEquals(1, events.get(events.size() - 1).getFailed());
+            assertEquals(2, artworkCount());
+        } finally {
+            jdbc.execute("ALTER TABLE artworks DROP CONSTRAINT test_no_broken");
+        }
+    }
+
+    // ---------------- HELPERS ----------------
+
+    private List<ArtworkImportEventDTO> runImport(String... titles) throws IOException {
+        List<ArtworkImportEventDTO> events = new ArrayList<>();
+        artworkImportService.run(artworkImportService.open(archive(titles)), events::add);
+        return events;
+    }
+
+    /** Row events ordered by row, without the final summary. */
+    private static List<String> statusesOfRows(List<ArtworkImportEventDTO> events) {
+        return events.stream()
+                .filter(event -> event.getRow() != null)
+                .sorted((a, b) -> Integer.compare(a.getRow(), b.getRow()))
+                .map(ArtworkImportEventDTO::getStatus)
+                .toList();
+    }
+
+    private int artworkCount() {
+        return jdbc.queryForObject("SELECT count(*) FROM artworks", Integer.class);
+    }
+
+    private static ByteArrayInputStream archive(String... titles) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            StringBuilder manifest = new StringBuilder("[");
+            for (int i = 0; i < titles.length; i++) {
+                String image = "image-" + i + ".png";
+                zip.putNextEntry(new ZipEntry(image));
+                zip.write(png(new Color(40 * i, 80, 120)));
+                zip.closeEntry();
+                manifest.append(i == 0 ? "" : ",").append("""
+                        {"title": "%s", "description": "Imported", "category": "PAINTING",
+                         "price": 10.00, "image": "%s"}
+                        """.formatted(titles[i], image));
+            }
+            zip.putNextEntry(new ZipEntry("manifest.json"));
+            zip.write(manifest.append("]").toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+
+    private static byte[] png(Color color) throws IOException {
+        BufferedImage image = new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, 8, 8);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
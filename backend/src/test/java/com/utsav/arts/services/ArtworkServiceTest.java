@@ -0,0 +1,129 @@
+package com.utsav.arts.services;
+
+import com.utsav.arts.exceptions.InvalidRequestException;
+import com.utsav.arts.models.ArtCategory;
+import com.utsav.arts.models.Artwork;
+import com.utsav.arts.models.ArtworkSort;
+import com.utsav.arts.repository.ArtworkPageQuery;
+import com.utsav.arts.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ArtworkServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ArtworkService artworkService;
+
+    // ---------------- KEYSET PAGES ----------------
+
+    @Test
+    void pagesByIdVisitEveryArtworkOnceInOrder() {
+        List<Integer> ids = new ArrayList<>();
+        for (String title : List.of("Dawn", "Noon", "Dusk", "Night", "Midnight")) {
+            ids.add(insertArtwork(title, "10.00", 1));
+        }
+
+        List<List<Integer>> pages = allPages(query(ArtworkSort.ID, 2));
+
+        assertEquals(List.of(ids.subList(0, 2), ids.subList(2, 4), ids.subList(4, 5)), pages);
+    }
+
+    @Test
+    void pagesByPriceBreakTiesById() {
+        int dawn = insertArtwork("Dawn", "20.00", 1);
+        int noon = insertArtwork("Noon", "5.00", 1);
+        int dusk = insertArtwork("Dusk", "20.00", 1);
+        int night = insertArtwork("Night", "20.00", 1);
+        int midnight = insertArtwork("Midnight", "10.00", 1);
+
+        List<Integer> order = allPages(query(ArtworkSort.PRICE, 2)).stream().flatMap(List::stream).toList();
+
+        assertEquals(List.of(noon, midnight, dawn, dusk, night), order);
+    }
+
+    @Test
+    void filtersApplyOnEveryPage() {
+        insertArtwork("Cheap", "5.00", 1);
+        int first = insertArtwork("First", "50.00", 1);
+        int drawing = insertArtwork("Drawing", "60.00", 1);
+        int second = insertArtwork("Second", "70.00", 1);
+        int third = insertArtwork("Third", "80.00", 1);
+        jdbc.update("UPDATE artworks SET category = 'DRAWING' WHERE id = ?", drawing);
+
+        ArtworkPageQuery query = query(ArtworkSort.PRICE, 1);
+        query.setCategory(ArtCategory.PAINTING);
+        query.setMinPrice(new BigDecimal("10.00"));
+
+        assertEquals(List.of(List.of(first), List.of(second), List.of(third)), allPages(query));
+    }
+
+    @Test
+    void deletingFromAnEarlierPageDoesNotShiftTheNextOne() {
+        int dawn = insertArtwork("Dawn", "10.00", 1);
+        int noon = insertArtwork("Noon", "10.00", 1);
+        int dusk = insertArtwork("Dusk", "10.00", 1);
+        int night = insertArtwork("Night", "10.00", 1);
+        ArtworkPage first = artworkService.findPage(query(ArtworkSort.ID, 2), null);
+        assertEquals(List.of(dawn, noon), ids(first));
+
+        jdbc.update("DELETE FROM artworks WHERE id = ?", dawn);
+        ArtworkPage second = artworkService.findPage(query(ArtworkSort.ID, 2), first.getNextCursor());
+
+        assertEquals(List.of(dusk, night), ids(second));
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void cursorOfAnotherSortIsRejected() {
+        insertArtwork("Dawn", "10.00", 1);
+        insertArtwork("Noon", "20.00", 1);
+        String byId = artworkService.findPage(query(ArtworkSort.ID, 1), null).getNextCursor();
+
+        assertThrows(InvalidRequestException.class,
+                () -> artworkService.findPage(query(ArtworkSort.PRICE, 1), byId));
+        assertThrows(InvalidRequestException.class,
+                () -> artworkService.findPage(query(ArtworkSort.ID, 1), "not-a-cursor"));
+    }
+
+    // ---------------- HELPERS ----------------
+
+    private static ArtworkPageQuery query(ArtworkSort sort, int limit) {
+        ArtworkPageQuery query = new ArtworkPageQuery();
+        query.setSort(sort);
+        query.setLimit(limit);
+        return query;
+    }
+
+    /** Follows the cursors to the last page, with a fresh query per page as the controller builds one per request. */
+    private List<List<Integer>> allPages(ArtworkPageQuery query) {
+        List<List<Integer>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            ArtworkPage page = artworkService.findPage(copy(query), cursor);
+            pages.add(ids(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return pages;
+    }
+
+    private static ArtworkPageQuery copy(ArtworkPageQuery query) {
+        ArtworkPageQuery copy = query(query.getSort(), query.getLimit());
+        copy.setCategory(query.getCategory());
+        copy.setMinPrice(query.getMinPrice());
+        copy.setMaxPrice(query.getMaxPrice());
+        copy.setLabel(query.getLabel());
+        return copy;
+    }
+
+    private static List<Integer> ids(ArtworkPage page) {
+        return page.getItems().stream().map(Artwork::getId).toList();
+    }
+}
@@ -0,0 +1,258 @@
+package com.utsav.arts.services;
+
+import com.utsav.arts.dtos.cartItemDTO.CartLineChangeDTO;
+import com.utsav.arts.exceptions.GlobalExceptionHandler;
+import com.utsav.arts.exceptions.ResourceNotFoundException;
+import com.utsav.arts.models.Cart;
+import com.utsav.arts.models.CartItem;
+import com.utsav.arts.repository.ArtworkRepository;
+import com.utsav.arts.repository.CartRepository;
+import com.utsav.arts.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CartItemServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private CartItemService cartItemService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private ArtworkRepository artworkRepository;
+
+    // ---------------- TOTALS ----------------
+
+    @Test
+    void quantityChangesRecomputeTotalsAtCurrentPrices() {
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int print = insertArtwork("Print", "25.00", 10);
+        int canvas = insertArtwork("Canvas", "300.00", 1);
+        int printItem = insertCartItem(cart, print, 2);
+        insertCartItem(cart, canvas, 1);
+        jdbc.update("UPDATE artworks SET price = 30.00 WHERE id = ?", print);
+
+        cartItemService.increaseQuantity(printItem);
+
+        assertTotals(cart, 4, "390.00");
+    }
+
+    @Test
+    void addingToTheCartRecomputesTotalsAtCurrentPrices() {
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int print = insertArtwork("Print", "25.00", 10);
+        int canvas = insertArtwork("Canvas", "300.00", 1);
+        insertCartItem(cart, canvas, 1);
+        jdbc.update("UPDATE artworks SET price = 250.00 WHERE id = ?", canvas);
+
+        cartItemService.save(newItem(print, 2), cartOf(cart));
+
+        assertTotals(cart, 3, "300.00");
+    }
+
+    @Test
+    void removingTheLastLinesZeroesTheTotals() {
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int print = insertArtwork("Print", "25.00", 10);
+        int item = insertCartItem(cart, print, 1);
+
+        cartItemService.decreaseQuantity(item);
+
+        assertTotals(cart, 0, "0.00");
+        assertEquals(0, jdbc.queryForObject("SELECT count(*) FROM cart_items", Integer.class));
+    }
+
+    // ---------------- BULK CHANGES ----------------
+
+    @Test
+    void bulkChangesAreNettedPerArtworkAndRecomputeTotals() {
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int print = insertArtwork("Print", "25.00", 10);
+        int canvas = insertArtwork("Canvas", "300.00", 1);
+        int sketch = insertArtwork("Sketch", "40.00", 10);
+        insertCartItem(cart, print, 2);
+        insertCartItem(cart, canvas, 1);
+
+        Cart result = cartItemService.applyChanges(cart, List.of(
+                change(CartLineChangeDTO.Operation.SET, print, 5),
+                change(CartLineChangeDTO.Operation.REMOVE, canvas, 0),
+                change(sketch, 1),
+                change(sketch, 2)));
+
+        assertEquals(5, quantityOf(cart, print));
+        assertEquals(3, quantityOf(cart, sketch));
+        assertEquals(2, jdbc.queryForObject("SELECT count(*) FROM cart_items", Integer.class));
+        assertTotals(cart, 8, "245.00");
+        assertEquals(8, result.getTotalItems());
+    }
+
+    @Test
+    void bulkChangeSettingZeroRemovesTheLine() {
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int print = insertArtwork("Print", "25.00", 10);
+        int canvas = insertArtwork("Canvas", "300.00", 1);
+        insertCartItem(cart, print, 2);
+        insertCartItem(cart, canvas, 1);
+
+        cartItemService.applyChanges(cart, List.of(change(CartLineChangeDTO.Operation.SET, canvas, 0)));
+
+        assertEquals(0, jdbc.queryForObject(
+                "SELECT count(*) FROM cart_items WHERE artwork_id = ?", Integer.class, canvas));
+        assertTotals(cart, 2, "50.00");
+    }
+
+    @Test
+    void bulkChangeWithAnUnknownArtworkChangesNothing() {
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int print = insertArtwork("Print", "25.00", 10);
+        insertCartItem(cart, print, 2);
+
+        assertThrows(ResourceNotFoundException.class, () -> cartItemService.applyChanges(cart, List.of(
+                change(CartLineChangeDTO.Operation.SET, print, 5),
+                change(print + 1000, 1))));
+
+        assertEquals(2, quantityOf(cart, print));
+        assertTotals(cart, 2, "50.00");
+    }
+
+    // ---------------- CONCURRENCY ----------------
+
+    @Test
+    void concurrentWritesToOneCartNeitherDeadlockNorDrift() throws Exception {
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int print = insertArtwork("Print", "25.00", 100);
+        int canvas = insertArtwork("Canvas", "300.00", 100);
+        int printItem = insertCartItem(cart, print, 1);
+        int canvasItem = insertCartItem(cart, canvas, 1);
+
+        // Single-line changes lock one item, batches lock several in artwork order
+        List<Callable<Object>> writes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            writes.add(() -> { cartItemService.increaseQuantity(printItem); return null; });
+            writes.add(() -> { cartItemService.increaseQuantity(canvasItem); return null; });
+            writes.add(() -> cartItemService.save(newItem(print, 1), cartOf(cart)));
+            writes.add(() -> cartItemService.applyChanges(cart, List.of(
+                    change(canvas, 1), change(print, 1))));
+        }
+        runConcurrently(writes);
+
+        assertEquals(13, quantityOf(cart, print));
+        assertEquals(9, quantityOf(cart, canvas));
+        assertTotals(cart, 22, "3025.00");
+    }
+
+    @Test
+    void concurrentAddsOfTheSameArtworkAreSummedIntoOneLine() throws Exception {
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int print = insertArtwork("Print", "25.00", 100);
+        insertCartItem(cart, insertArtwork("Canvas", "300.00", 1), 1);
+        long idsBefore = lastCartItemId();
+
+        List<Callable<Object>> adds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            adds.add(() -> cartItemService.save(newItem(print, 1), cartOf(cart)));
+        }
+        runConcurrently(adds);
+
+        assertEquals(8, quantityOf(cart, print));
+        assertTotals(cart, 9, "500.00");
+        assertEquals(idsBefore + 1, lastCartItemId(), "only the insert of the line draws an ID");
+    }
+
+    @Test
+    void writeBasedOnAStaleCartIsReportedAsConflict() throws Exception {
+        int cart = insertCart(insertUser("buyer@example.com"));
+        int item = insertCartItem(cart, insertArtwork("Print", "25.00", 10), 1);
+        Cart stale = cartOf(cart);
+
+        cartItemService.increaseQuantity(item);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> cartService.save(stale));
+        Method handler = new ExceptionHandlerMethodResolver(GlobalExceptionHandler.class).resolveMethod(e);
+        assertNotNull(handler, "no handler for " + e);
+        ResponseEntity<?> response = (ResponseEntity<?>) handler.invoke(new GlobalExceptionHandler(), e);
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    // ---------------- HELPERS ----------------
+
+    private CartItem newItem(int artworkId, int quantity) {
+        CartItem item = new CartItem();
+        item.setArtwork(artworkRepository.findById(artworkId).orElseThrow());
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private Cart cartOf(int cartId) {
+        return cartRepository.findById(cartId).orElseThrow();
+    }
+
+    private static CartLineChangeDTO change(int artworkId, int quantity) {
+        return change(CartLineChangeDTO.Operation.ADD, artworkId, quantity);
+    }
+
+    private static CartLineChangeDTO change(CartLineChangeDTO.Operation op, int artworkId, int quantity) {
+        CartLineChangeDTO change = new CartLineChangeDTO();
+        change.setOp(op);
+        change.setArtworkId(artworkId);
+        change.setQuantity(quantity);
+        return change;
+    }
+
+    private static void runConcurrently(List<Callable<Object>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (Callable<Object> task : tasks) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Object> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private int quantityOf(int cartId, int artworkId) {
+        return jdbc.queryForObject("SELECT quantity FROM cart_items WHERE cart_id = ? AND artwork_id = ?",
+                Integer.class, cartId, artworkId);
+    }
+
+    private long lastCartItemId() {
+        return jdbc.queryForObject("SELECT last_value FROM cart_items_id_seq", Long.class);
+    }
+
+    private void assertTotals(int cartId, int items, String price) {
+        assertEquals(items, jdbc.queryForObject("SELECT total_items FROM cart WHERE id = ?", Integer.class, cartId));
+        assertEquals(0, new BigDecimal(price).compareTo(jdbc.queryForObject(
+                "SELECT total_price FROM cart WHERE id = ?", BigDecimal.class, cartId)));
+    }
+}
@@ -0,0 +1,104 @@
+package com.utsav.arts.services;
+
+import com.utsav.arts.mappers.OrdersMapper;
+import com.utsav.arts.mappers.PaymentMapper;
+import com.utsav.arts.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the bytes allocated by the admin list views when they hydrate managed entities
+ * and map them (as before) with the DTO projections they use now. Both paths run on the
+ * calling thread, so the thread's allocation counter covers the JDBC, Hibernate and
+ * mapping work of one listing. Measured with 400 orders of 3 items: orders about 2.7 MiB
+ * before and 1.2 MiB after, payments about 2.7 MiB before and 0.4 MiB after. Tagged as a
+ * benchmark, so the default build skips it.
+ */
+@Tag("benchmark")
+class ListViewAllocationTest extends PostgresIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListViewAllocationTest.class);
+
+    private static final int USERS = 10;
+    private static final int ORDERS_PER_USER = 40;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 10;
+
+    @Autowired
+    private OrdersService ordersService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void seedOrdersWithPayments() {
+        for (int i = 0; i < USERS; i++) {
+            insertUser("buyer" + i + "@example.com");
+        }
+        insertArtwork("Print", "25.00", 10);
+        insertArtwork("Canvas", "300.00", 10);
+        insertArtwork("Sketch", "40.00", 10);
+        jdbc.update("""
+                INSERT INTO orders (user_id, total_price, address, status, ordered_at)
+                SELECT u.id, 365.00, '1 Main St', 'CONFIRMED', LOCALTIMESTAMP - g * INTERVAL '1 minute'
+                FROM users u CROSS JOIN generate_series(1, ?) g
+                """, ORDERS_PER_USER);
+        jdbc.update("""
+                INSERT INTO order_items (order_id, artwork_id, quantity, price_at_purchase)
+                SELECT o.id, a.id, 1, a.price FROM orders o CROSS JOIN artworks a
+                """);
+        jdbc.update("""
+                INSERT INTO payments (order_id, user_id, amount, currency, method, status, transaction_id, created_at)
+                SELECT id, user_id, total_price, 'EUR', 'CARD', 'SUCCESS', 'pi_' || id, ordered_at FROM orders
+                """);
+    }
+
+    @Test
+    void orderListingProjectionAllocatesLessThanHydratingEntities() {
+        long hydrated = allocatedPerRun(() -> ordersService.findAll().stream().map(OrdersMapper::toDTO).toList());
+        long projected = allocatedPerRun(ordersService::findAllSummaries);
+
+        assertAllocatesLess(projected, hydrated);
+    }
+
+    @Test
+    void paymentListingProjectionAllocatesLessThanHydratingEntities() {
+        long hydrated = allocatedPerRun(() -> paymentService.findAll().stream().map(PaymentMapper::toResponseDTO).toList());
+        long projected = allocatedPerRun(paymentService::findAllSummaries);
+
+        assertAllocatesLess(projected, hydrated);
+    }
+
+    // ---------------- HELPERS ----------------
+
+    private static long allocatedPerRun(Supplier<List<?>> listing) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            assertEquals(USERS * ORDERS_PER_USER, listing.get().size());
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            listing.get();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED_RUNS;
+    }
+
+    private static void assertAllocatesLess(long projected, long hydrated) {
+        String measured = "projection %d KiB vs entities %d KiB per listing of %d rows"
+                .formatted(projected / 1024, hydrated / 1024, USERS * ORDERS_PER_USER);
+        logger.info(measured);
+        // Well below the measured ratios, so the check does not depend on the JVM or driver version
+        assertTrue(projected < hydrated * 3 / 4, measured);
+    }
+}
@@ -0,0 +1,192 @@
+package com.utsav.arts.services;
+
+import com.utsav.arts.exceptions.InvalidRequestException;
+import com.utsav.arts.exceptions.OutOfStockException;
+import com.utsav.arts.models.OrderStatus;
+import com.utsav.arts.models.Orders;
+import com.utsav.arts.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrdersServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private OrdersService ordersService;
+
+    // ---------------- CHECKOUT ----------------
+
+    @Test
+    void placeOrderCopiesTheCartAndReservesStock() {
+        int user = insertUser("buyer@example.com");
+        int cart = insertCart(user);
+        int print = insertArtwork("Print", "25.00", 10);
+        int canvas = insertArtwork("Canvas", "300.00", 1);
+        insertCartItem(cart, print, 3);
+        insertCartItem(cart, canvas, 1);
+
+        Orders order = ordersService.placeOrder(user, "1 Main St");
+
+        assertEquals(OrderStatus.PENDING, order.getStatus());
+        assertEquals(0, new BigDecimal("375.00").compareTo(order.getTotalPrice()));
+        assertEquals(2, jdbc.queryForObject(
+                "SELECT count(*) FROM order_items WHERE order_id = ?", Integer.class, order.getId()));
+        assertEquals(0, new BigDecimal("25.00").compareTo(jdbc.queryForObject(
+                "SELECT price_at_purchase FROM order_items WHERE order_id = ? AND artwork_id = ?",
+                BigDecimal.class, order.getId(), print)));
+        assertEquals(7, stockOf(print));
+        assertEquals(0, stockOf(canvas));
+    }
+
+    @Test
+    void placeOrderFailsWithoutReservingWhenAnItemIsShort() {
+        int user = insertUser("buyer@example.com");
+        int cart = insertCart(user);
+        int print = insertArtwork("Print", "25.00", 10);
+        int canvas = insertArtwork("Canvas", "300.00", 1);
+        insertCartItem(cart, print, 3);
+        insertCartItem(cart, canvas, 2);
+
+        OutOfStockException e = assertThrows(OutOfStockException.class,
+                () -> ordersService.placeOrder(user, "1 Main St"));
+
+        assertEquals(List.of(canvas), e.getArtworkIds());
+        assertEquals(10, stockOf(print));
+        assertEquals(1, stockOf(canvas));
+        assertEquals(0, jdbc.queryForObject("SELECT count(*) FROM orders", Integer.class));
+    }
+
+    @Test
+    void concurrentCheckoutsNeverOversell() throws Exception {
+        int canvas = insertArtwork("Canvas", "300.00", 1);
+        List<Integer> buyers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            int user = insertUser("buyer" + i + "@example.com");
+            insertCartItem(insertCart(user), canvas, 1);
+            buyers.add(user);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(buyers.size());
+        List<Future<Orders>> results = new ArrayList<>();
+        try {
+            for (int user : buyers) {
+                Callable<Orders> checkout = () -> {
+                    start.await();
+                    return ordersService.placeOrder(user, "1 Main St");
+                };
+                results.add(pool.submit(checkout));
+            }
+            start.countDown();
+
+            int placed = 0;
+            for (Future<Orders> result : results) {
+                try {
+                    result.get();
+                    placed++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(OutOfStockException.class, e.getCause());
+                }
+            }
+            assertEquals(1, placed);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(0, stockOf(canvas));
+        assertEquals(1, jdbc.queryForObject("SELECT count(*) FROM orders", Integer.class));
+    }
+
+    @Test
+    void checkoutsTakeConsecutiveIds() {
+        int first = placeSingleItemOrder();
+        int second = placeSingleItemOrder();
+
+        assertEquals(first + 1, second, "set-based inserts must not consume a block of IDs per row");
+    }
+
+    // ---------------- STATUS TRANSITIONS ----------------
+
+    @Test
+    void ordersMoveThroughTheirLifecycle() {
+        int orderId = placeSingleItemOrder();
+
+        assertEquals(OrderStatus.CONFIRMED, ordersService.confirmOrder(orderId).getStatus());
+        assertEquals(OrderStatus.SHIPPED, ordersService.shipOrder(orderId).getStatus());
+        assertEquals(OrderStatus.DELIVERED, ordersService.deliverOrder(orderId).getStatus());
+        assertEquals("DELIVERED", statusOf(orderId));
+    }
+
+    @Test
+    void invalidTransitionsAreRejected() {
+        int orderId = placeSingleItemOrder();
+
+        assertThrows(InvalidRequestException.class, () -> ordersService.shipOrder(orderId));
+        assertThrows(InvalidRequestException.class, () -> ordersService.deliverOrder(orderId));
+        ordersService.confirmOrder(orderId);
+        assertThrows(InvalidRequestException.class, () -> ordersService.confirmOrder(orderId));
+        assertThrows(InvalidRequestException.class, () -> ordersService.cancelOrder(orderId));
+        assertEquals("CONFIRMED", statusOf(orderId));
+    }
+
+    @Test
+    void cancelReleasesStockOnce() {
+        int orderId = placeSingleItemOrder();
+        int artwork = jdbc.queryForObject(
+                "SELECT artwork_id FROM order_items WHERE order_id = ?", Integer.class, orderId);
+        assertEquals(0, stockOf(artwork));
+
+        ordersService.cancelOrder(orderId);
+        assertThrows(InvalidRequestException.class, () -> ordersService.cancelOrder(orderId));
+
+        assertEquals("CANCELLED", statusOf(orderId));
+        assertEquals(1, stockOf(artwork));
+    }
+
+    @Test
+    void expiryCancelsOnlyStalePendingOrders() {
+        int stale = placeSingleItemOrder();
+        int fresh = placeSingleItemOrder();
+        int paid = placeSingleItemOrder();
+        ordersService.confirmOrder(paid);
+        jdbc.update("UPDATE orders SET ordered_at = ? WHERE id IN (?, ?)",
+                LocalDateTime.now().minusHours(2), stale, paid);
+
+        int expired = ordersService.expirePendingOrders(LocalDateTime.now().minusHours(1), 10);
+
+        assertEquals(1, expired);
+        assertEquals("CANCELLED", statusOf(stale));
+        assertEquals("PENDING", statusOf(fresh));
+        assertEquals("CONFIRMED", statusOf(paid));
+        assertEquals(1, jdbc.queryForObject("""
+                SELECT a.stock FROM artworks a JOIN order_items oi ON oi.artwork_id = a.id
+                WHERE oi.order_id = ?
+                """, Integer.class, stale));
+    }
+
+    // ---------------- HELPERS ----------------
+
+    private int placeSingleItemOrder() {
+        int user = insertUser("buyer" + System.nanoTime() + "@example.com");
+        int artwork = insertArtwork("Canvas", "300.00", 1);
+        insertCartItem(insertCart(user), artwork, 1);
+        return ordersService.placeOrder(user, "1 Main St").getId();
+    }
+
+    private String statusOf(int orderId) {
+        return jdbc.queryForObject("SELECT status FROM orders WHERE id = ?", String.class, orderId);
+    }
+}
@@ -0,0 +1,168 @@
+package com.utsav.arts.services;
+
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.model.PaymentIntent;
+import com.utsav.arts.exceptions.InvalidRequestException;
+import com.utsav.arts.models.Payment;
+import com.utsav.arts.models.PaymentStatus;
+import com.utsav.arts.repository.OrdersRepository;
+import com.utsav.arts.repository.UserRepository;
+import com.utsav.arts.stripepayment.StripeService;
+import com.utsav.arts.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentServiceTest extends PostgresIntegrationTest {
+
+    @MockitoBean
+    private StripeService stripeService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OrdersService ordersService;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // ---------------- PAYMENT INTENTS ----------------
+
+    @Test
+    void intentIsCreatedOnceAndReusedForAPendingOrder() throws Exception {
+        int orderId = placeOrder();
+        when(stripeService.createPaymentIntent(any(), anyString(), anyInt(), anyInt()))
+                .thenReturn(intent("pi_1", "requires_payment_method", 30000));
+        when(stripeService.retrievePaymentIntent("pi_1"))
+                .thenReturn(intent("pi_1", "requires_payment_method", 30000));
+
+        assertEquals("pi_1_secret", paymentService.createPaymentIntent(orderId, ownerOf(orderId), "EUR"));
+        assertEquals("pi_1_secret", paymentService.createPaymentIntent(orderId, ownerOf(orderId), "EUR"));
+
+        verify(stripeService, times(1)).createPaymentIntent(any(), anyString(), anyInt(), anyInt());
+        assertEquals("pi_1", jdbc.queryForObject(
+                "SELECT payment_intent_id FROM orders WHERE id = ?", String.class, orderId));
+    }
+
+    @Test
+    void intentIsRefusedForAnOrderThatIsNotPending() throws Exception {
+        int orderId = placeOrder();
+        ordersService.cancelOrder(orderId);
+
+        assertThrows(InvalidRequestException.class,
+                () -> paymentService.createPaymentIntent(orderId, ownerOf(orderId), "EUR"));
+
+        verify(stripeService, never()).createPaymentIntent(any(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void expiryCancelsTheOrdersIntent() throws Exception {
+        int orderId = placeOrder();
+        when(stripeService.createPaymentIntent(any(), anyString(), anyInt(), anyInt()))
+                .thenReturn(intent("pi_1", "requires_payment_method", 30000));
+        paymentService.createPaymentIntent(orderId, ownerOf(orderId), "EUR");
+        jdbc.update("UPDATE orders SET ordered_at = ? WHERE id = ?", LocalDateTime.now().minusHours(2), orderId);
+
+        ordersService.expirePendingOrders(LocalDateTime.now().minusHours(1), 10);
+
+        verify(stripeService).cancelPaymentIntent("pi_1");
+    }
+
+    // ---------------- WEBHOOK PAYMENTS ----------------
+
+    @Test
+    void successfulPaymentConfirmsAPendingOrder() {
+        int orderId = placeOrder();
+
+        Payment payment = paymentService.save(successfulPayment(orderId, "pi_1"));
+
+        assertEquals(PaymentStatus.SUCCESS, payment.getStatus());
+        assertEquals("CONFIRMED", statusOf(orderId));
+    }
+
+    @Test
+    void latePaymentForACancelledOrderIsRefunded() throws Exception {
+        int orderId = placeOrder();
+        ordersService.cancelOrder(orderId);
+        when(stripeService.refundPaymentIntent("pi_1")).thenReturn("re_1");
+
+        paymentService.save(successfulPayment(orderId, "pi_1"));
+
+        verify(stripeService).refundPaymentIntent("pi_1");
+        assertEquals("REFUNDED", paymentStatusOf("pi_1"));
+        assertEquals("CANCELLED", statusOf(orderId));
+    }
+
+    @Test
+    void secondPaymentForAPaidOrderIsFlaggedWhenTheRefundFails() throws Exception {
+        int orderId = placeOrder();
+        paymentService.save(successfulPayment(orderId, "pi_1"));
+        when(stripeService.refundPaymentIntent("pi_2")).thenThrow(new ApiConnectionException("Stripe unreachable"));
+
+        paymentService.save(successfulPayment(orderId, "pi_2"));
+
+        assertEquals("SUCCESS", paymentStatusOf("pi_1"));
+        assertEquals("REFUND_REQUIRED", paymentStatusOf("pi_2"));
+        assertEquals("CONFIRMED", statusOf(orderId));
+    }
+
+    // ---------------- HELPERS ----------------
+
+    private int placeOrder() {
+        int user = insertUser("buyer" + System.nanoTime() + "@example.com");
+        int artwork = insertArtwork("Canvas", "300.00", 1);
+        insertCartItem(insertCart(user), artwork, 1);
+        return ordersService.placeOrder(user, "1 Main St").getId();
+    }
+
+    private int ownerOf(int orderId) {
+        return ordersRepository.findOwnerId(orderId).orElseThrow();
+    }
+
+    private Payment successfulPayment(int orderId, String intentId) {
+        Payment payment = new Payment();
+        payment.setOrder(ordersRepository.findById(orderId).orElseThrow());
+        payment.setUser(userRepository.findById(ownerOf(orderId)).orElseThrow());
+        payment.setAmount(new BigDecimal("300.00"));
+        payment.setCurrency("EUR");
+        payment.setMethod("CARD");
+        payment.setTransactionId(intentId);
+        payment.setStatus(PaymentStatus.SUCCESS);
+        return payment;
+    }
+
+    private static PaymentIntent intent(String id, String status, long amount) {
+        PaymentIntent intent = new PaymentIntent();
+        intent.setId(id);
+        intent.setStatus(status);
+        intent.setAmount(amount);
+        intent.setCurrency("eur");
+        intent.setClientSecret(id + "_secret");
+        return intent;
+    }
+
+    private String statusOf(int orderId) {
+        return jdbc.queryForObject("SELECT status FROM orders WHERE id = ?", String.class, orderId);
+    }
+
+    private String paymentStatusOf(String intentId) {
+        return jdbc.queryForObject("SELECT status FROM payments WHERE transaction_id = ?", String.class, intentId);
+    }
+}
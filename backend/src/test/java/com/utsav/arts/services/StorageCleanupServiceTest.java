@@ -0,0 +1,184 @@
+package com.utsav.arts.services;
+
+import com.utsav.arts.configurations.StorageCleanupProperties;
+import com.utsav.arts.exceptions.StorageUnavailableException;
+import com.utsav.arts.models.PendingDeletion;
+import com.utsav.arts.repository.ImageAssetRepository;
+import com.utsav.arts.repository.PendingDeletionRepository;
+import com.utsav.arts.storage.FileStorageService;
+import com.utsav.arts.storage.LocalFileStorageImpl;
+import com.utsav.arts.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StorageCleanupServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private StorageCleanupService storageCleanupService;
+
+    @Autowired
+    private LocalFileStorageImpl fileStorage;
+
+    @Autowired
+    private PendingDeletionRepository pendingDeletionRepository;
+
+    @Autowired
+    private ImageAssetRepository imageAssetRepository;
+
+    @Autowired
+    private StorageCleanupProperties properties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void unreferencedFileIsDeleted() {
+        String url = storeFile();
+        storageCleanupService.discardUploads(List.of(url));
+
+        assertEquals(1, storageCleanupService.deleteClaimed(storageCleanupService.claimDue()));
+
+        assertFalse(exists(url));
+        assertEquals(0, queued());
+    }
+
+    @Test
+    void fileStillUsedByAnImageIsKept() {
+        String url = storeFile();
+        jdbc.update("""
+                INSERT INTO image_assets (content_hash, original_url, ref_count) VALUES ('abc', ?, 1)
+                """, url);
+        // A failed upload of the same content
+        storageCleanupService.discardUploads(List.of(url));
+
+        assertEquals(0, storageCleanupService.deleteClaimed(storageCleanupService.claimDue()));
+
+        assertTrue(exists(url));
+        assertEquals(0, queued(), "the deletion is dropped, not retried");
+    }
+
+    @Test
+    void fileReservedByAnotherUploadIsKept() {
+        String url = storeFile();
+        storageCleanupService.reserveDeletion(List.of(url));
+        storageCleanupService.discardUploads(List.of(url));
+
+        assertEquals(0, storageCleanupService.deleteClaimed(storageCleanupService.claimDue()));
+
+        assertTrue(exists(url));
+        assertEquals(1, queued(), "the reservation stays");
+    }
+
+    @Test
+    void deletionCancelledAfterTheClaimIsSkipped() {
+        String url = storeFile();
+        storageCleanupService.discardUploads(List.of(url));
+        List<PendingDeletion> claimed = storageCleanupService.claimDue();
+
+        storageCleanupService.cancelDeletion(List.of(url));
+
+        assertEquals(0, storageCleanupService.deleteClaimed(claimed));
+        assertTrue(exists(url));
+    }
+
+    // ---------------- STORAGE CALL ----------------
+
+    @Test
+    void storageIsCalledWithoutATransactionOrRowLocks() {
+        String url = storeFile();
+        storageCleanupService.discardUploads(List.of(url));
+        StorageCleanupService service = serviceDeletingWith(urls -> {
+            assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+            // Fails right away if the worker still held the queue row
+            jdbc.queryForList("SELECT id FROM pending_deletions FOR UPDATE NOWAIT");
+            assertThrows(StorageUnavailableException.class,
+                    () -> storageCleanupService.cancelDeletion(List.of(url)));
+            fileStorage.deleteAll(urls);
+        });
+
+        assertEquals(1, service.deleteClaimed(service.claimDue()));
+
+        assertFalse(exists(url));
+        assertEquals(0, queued());
+    }
+
+    @Test
+    void failedStorageCallKeepsTheDeletionMarkedUntilARetrySucceeds() {
+        String url = storeFile();
+        storageCleanupService.discardUploads(List.of(url));
+        StorageCleanupService failing = serviceDeletingWith(urls -> {
+            throw new IllegalStateException("storage down");
+        });
+        List<PendingDeletion> claimed = failing.claimDue();
+
+        assertThrows(IllegalStateException.class, () -> failing.deleteClaimed(claimed));
+        // A reservation made meanwhile no longer saves a file that may be half deleted
+        storageCleanupService.reserveDeletion(List.of(url));
+        assertThrows(StorageUnavailableException.class, () -> storageCleanupService.cancelDeletion(List.of(url)));
+
+        assertEquals(1, storageCleanupService.deleteClaimed(claimed));
+        assertFalse(exists(url));
+        assertEquals(1, queued(), "only the reservation is left");
+    }
+
+    // ---------------- HELPERS ----------------
+
+    /** The real service, except that deleting files from storage runs {@code deleteAll}. */
+    private StorageCleanupService serviceDeletingWith(Consumer<List<String>> deleteAll) {
+        FileStorageService storage = new FileStorageService() {
+            @Override
+            public String upload(MultipartFile file) {
+                return fileStorage.upload(file);
+            }
+
+            @Override
+            public String upload(String key, MultipartFile file) {
+                return fileStorage.upload(key, file);
+            }
+
+            @Override
+            public String upload(String key, byte[] content, String contentType) {
+                return fileStorage.upload(key, content, contentType);
+            }
+
+            @Override
+            public void delete(String fileUrl) {
+                deleteAll.accept(List.of(fileUrl));
+            }
+
+            @Override
+            public void deleteAll(List<String> fileUrls) {
+                deleteAll.accept(fileUrls);
+            }
+        };
+        return new StorageCleanupServiceImpl(pendingDeletionRepository, imageAssetRepository, storage,
+                properties, transactionManager);
+    }
+
+    private String storeFile() {
+        byte[] content = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+        return fileStorage.upload("image.jpg", content, "image/jpeg");
+    }
+
+    private boolean exists(String url) {
+        return fileStorage.resolve(url.substring(url.lastIndexOf('/') + 1)).map(Files::exists).orElseThrow();
+    }
+
+    private int queued() {
+        return jdbc.queryForObject("SELECT count(*) FROM pending_deletions", Integer.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.utsav.arts.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Base class for tests that run the application against PostgreSQL.
+ *
+ * <p>The schema is built by the Flyway migrations on startup, exactly as in production,
+ * and every table is emptied before each test. Tests are not transactional, so the code
+ * under test commits (and locks) as it would for a real request.</p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@RequiresDatabase
+public abstract class PostgresIntegrationTest {
+
+    @Autowired
+    protected JdbcTemplate jdbc;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", TestDatabase::url);
+        registry.add("spring.datasource.username", TestDatabase::username);
+        registry.add("spring.datasource.password", TestDatabase::password);
+    }
+
+    @BeforeEach
+    void truncateTables() {
+        // CASCADE empties cart, cart_items, orders, order_items, payments and verification_codes too
+        jdbc.execute("TRUNCATE users, artworks, image_assets, pending_deletions, scheduler_locks CASCADE");
+    }
+
+    // ---------------- FIXTURES ----------------
+
+    protected int insertUser(String email) {
+        return jdbc.queryForObject("""
+                INSERT INTO users (first_name, last_name, email, password, role, enabled)
+                VALUES ('Test', 'User', ?, 'x', 'ROLE_USER', true)
+                RETURNING id
+                """, Integer.class, email);
+    }
+
+    protected int insertArtwork(String title, String price, int stock) {
+        return jdbc.queryForObject("""
+                INSERT INTO artworks (title, category, price, stock)
+                VALUES (?, 'PAINTING', ?::numeric, ?)
+                RETURNING id
+                """, Integer.class, title, price, stock);
+    }
+
+    protected int insertCart(int userId) {
+        return jdbc.queryForObject("INSERT INTO cart (user_id) VALUES (?) RETURNING id", Integer.class, userId);
+    }
+
+    /** Adds a cart line and recomputes the cart totals, as the application maintains them. */
+    protected int insertCartItem(int cartId, int artworkId, int quantity) {
+        int id = jdbc.queryForObject(
+                "INSERT INTO cart_items (cart_id, artwork_id, quantity) VALUES (?, ?, ?) RETURNING id",
+                Integer.class, cartId, artworkId, quantity);
+        jdbc.update("""
+                UPDATE cart c SET total_items = t.items, total_price = t.price
+                FROM (SELECT SUM(ci.quantity) AS items, SUM(ci.quantity * a.price) AS price
+                      FROM cart_items ci JOIN artworks a ON a.id = ci.artwork_id
+                      WHERE ci.cart_id = ?) t
+                WHERE c.id = ?
+                """, cartId, cartId);
+        return id;
+    }
+
+    protected int stockOf(int artworkId) {
+        return jdbc.queryForObject("SELECT stock FROM artworks WHERE id = ?", Integer.class, artworkId);
+    }
+}
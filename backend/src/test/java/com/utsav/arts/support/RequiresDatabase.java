@@ -0,0 +1,21 @@
+package com.utsav.arts.support;
+
+import org.junit.jupiter.api.condition.EnabledIf;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Skips the annotated test class, and its subclasses, when no {@link TestDatabase} is available.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@EnabledIf("com.utsav.arts.support.TestDatabase#isAvailable")
+public @interface RequiresDatabase {
+}
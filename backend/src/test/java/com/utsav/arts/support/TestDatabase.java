@@ -0,0 +1,49 @@
+package com.utsav.arts.support;
+
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * PostgreSQL database shared by all integration tests of a run.
+ *
+ * <p>Uses the database named by {@code TEST_DATABASE_URL} (with {@code TEST_DATABASE_USER}
+ * and {@code TEST_DATABASE_PASSWORD}) when set, otherwise starts a Testcontainers
+ * PostgreSQL container once per JVM. Tests are skipped when neither is available.</p>
+ */
+public final class TestDatabase {
+
+    private static final String EXTERNAL_URL = System.getenv("TEST_DATABASE_URL");
+
+    private static PostgreSQLContainer container;
+
+    private TestDatabase() {}
+
+    /**
+     * @return {@code true} if an external database is configured or Docker is available
+     */
+    public static boolean isAvailable() {
+        return EXTERNAL_URL != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    public static String url() {
+        return EXTERNAL_URL != null ? EXTERNAL_URL : container().getJdbcUrl();
+    }
+
+    public static String username() {
+        return EXTERNAL_URL != null ? System.getenv().getOrDefault("TEST_DATABASE_USER", "postgres")
+                : container().getUsername();
+    }
+
+    public static String password() {
+        return EXTERNAL_URL != null ? System.getenv().getOrDefault("TEST_DATABASE_PASSWORD", "")
+                : container().getPassword();
+    }
+
+    private static synchronized PostgreSQLContainer container() {
+        if (container == null) {
+            container = new PostgreSQLContainer("postgres:16-alpine");
+            container.start();
+        }
+        return container;
+    }
+}
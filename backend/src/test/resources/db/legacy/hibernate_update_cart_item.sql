@@ -0,0 +1,20 @@
+-- The table Hibernate's ddl-auto=update added to a database created from schema.sql:
+-- CartItem had no @Table, so its rows went to cart_item instead of cart_items.
+
+create table cart_item (
+    artwork_id integer,
+    cart_id integer,
+    id integer generated by default as identity,
+    quantity integer not null,
+    primary key (id)
+);
+
+alter table if exists cart_item
+   add constraint FKk7my7avfdhn85npxyvlh6ndwv
+   foreign key (artwork_id)
+   references artworks;
+
+alter table if exists cart_item
+   add constraint FK1uobyhgl1wvgt1jpccia8xxs3
+   foreign key (cart_id)
+   references cart;
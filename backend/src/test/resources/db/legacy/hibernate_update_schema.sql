@@ -0,0 +1,128 @@
+-- The schema Hibernate's ddl-auto=update created from the original entities on an empty
+-- database, i.e. when schema.sql was never applied. Generated from those entity classes.
+
+create table artworks (
+    id integer generated by default as identity,
+    price numeric(38,2),
+    category varchar(255) not null check ((category in ('PAINTING','DRAWING','DIGITAL_ART','PHOTOGRAPHY','SCULPTURE','PRINT','ILLUSTRATION','MIXED_MEDIA','CRAFT','OTHER'))),
+    description varchar(255),
+    img_url varchar(255),
+    label varchar(255),
+    title varchar(255) not null,
+    primary key (id)
+);
+
+create table cart (
+    id integer generated by default as identity,
+    total_items integer not null,
+    total_price numeric(38,2),
+    user_id integer unique,
+    primary key (id)
+);
+
+create table cart_item (
+    artwork_id integer,
+    cart_id integer,
+    id integer generated by default as identity,
+    quantity integer not null,
+    primary key (id)
+);
+
+create table order_items (
+    artwork_id integer not null,
+    id integer generated by default as identity,
+    order_id integer not null,
+    price_at_purchase numeric(38,2),
+    quantity integer not null,
+    primary key (id)
+);
+
+create table orders (
+    id integer generated by default as identity,
+    total_price numeric(38,2),
+    user_id integer not null,
+    ordered_at timestamp(6),
+    address varchar(255),
+    status varchar(255) check ((status in ('PENDING','CONFIRMED','SHIPPED','DELIVERED','CANCELLED'))),
+    primary key (id)
+);
+
+create table payments (
+    amount numeric(38,2) not null,
+    id integer generated by default as identity,
+    order_id integer not null,
+    user_id integer not null,
+    created_at timestamp(6),
+    currency varchar(255) not null,
+    method varchar(255),
+    status varchar(255) check ((status in ('PENDING','SUCCESS','FAILED','REFUNDED','CANCELLED'))),
+    transaction_id varchar(255) not null unique,
+    primary key (id)
+);
+
+create table users (
+    enabled boolean not null,
+    id integer generated by default as identity,
+    created_at timestamp(6),
+    address varchar(255),
+    email varchar(255) not null unique,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    password varchar(255) not null,
+    phone_no varchar(255),
+    role varchar(255) not null check ((role in ('ROLE_OWNER','ROLE_USER','ROLE_GUEST'))),
+    primary key (id)
+);
+
+create table verification_codes (
+    id integer generated by default as identity,
+    user_id integer not null unique,
+    expiry_date timestamp(6) not null,
+    code varchar(255) not null,
+    primary key (id)
+);
+
+alter table if exists cart
+   add constraint FKg5uhi8vpsuy0lgloxk2h4w5o6
+   foreign key (user_id)
+   references users;
+
+alter table if exists cart_item
+   add constraint FKk7my7avfdhn85npxyvlh6ndwv
+   foreign key (artwork_id)
+   references artworks;
+
+alter table if exists cart_item
+   add constraint FK1uobyhgl1wvgt1jpccia8xxs3
+   foreign key (cart_id)
+   references cart;
+
+alter table if exists order_items
+   add constraint FKk3c4n2lxvontdta89lp4c73wl
+   foreign key (artwork_id)
+   references artworks;
+
+alter table if exists order_items
+   add constraint FKbioxgbv59vetrxe0ejfubep1w
+   foreign key (order_id)
+   references orders;
+
+alter table if exists orders
+   add constraint FK32ql8ubntj5uh44ph9659tiih
+   foreign key (user_id)
+   references users;
+
+alter table if exists payments
+   add constraint FK81gagumt0r8y3rmudcgpbk42l
+   foreign key (order_id)
+   references orders;
+
+alter table if exists payments
+   add constraint FKj94hgy9v5fw1munb90tar2eje
+   foreign key (user_id)
+   references users;
+
+alter table if exists verification_codes
+   add constraint FKa4qo6nts1xd94owirq5evcpda
+   foreign key (user_id)
+   references users;